@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Generates synthetic inputs for the benchmarks.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class BenchmarkData {
+    private static final String[] STATUSES = {"KILLED", "KILLED", "KILLED", "SURVIVED", "NO_COVERAGE", "TIMED_OUT"};
+
+    private BenchmarkData() {
+        // no-op
+    }
+
+    /**
+     * Returns the names of synthetic classes, spread across packages.
+     *
+     * @param count the number of classes
+     * @return the class names
+     */
+    static List<String> classNames(int count) {
+        var names = new ArrayList<String>(count);
+        for (var i = 0; i < count; i++) {
+            names.add("com.example.pkg" + (i % 20) + ".Class" + i);
+        }
+        return names;
+    }
+
+    /**
+     * Deletes a directory and its content.
+     *
+     * @param dir the directory
+     */
+    static void delete(Path dir) {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.delete(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a synthetic {@code mutations.xml} report.
+     *
+     * @param file      the report file
+     * @param classes   the mutated classes
+     * @param perClass  the number of mutations for each class
+     * @throws IOException if an I/O error occurs
+     */
+    static void writeReport(Path file, List<String> classes, int perClass) throws IOException {
+        try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<mutations partial=\"false\">\n");
+            var n = 0;
+            for (var className : classes) {
+                var simpleName = className.substring(className.lastIndexOf('.') + 1);
+                for (var i = 0; i < perClass; i++) {
+                    var status = STATUSES[n++ % STATUSES.length];
+                    var detected = !"SURVIVED".equals(status) && !"NO_COVERAGE".equals(status);
+                    writer.write("<mutation detected='" + detected + "' status='" + status
+                            + "' numberOfTestsRun='3'><sourceFile>" + simpleName + ".java</sourceFile>"
+                            + "<mutatedClass>" + className + "</mutatedClass><mutatedMethod>method" + i
+                            + "</mutatedMethod><methodDescription>(I)I</methodDescription><lineNumber>" + (10 + i)
+                            + "</lineNumber><mutator>org.pitest.mutationtest.engine.gregor.mutators"
+                            + ".ConditionalsBoundaryMutator</mutator><indexes><index>7</index></indexes><blocks>"
+                            + "<block>1</block></blocks><killingTest>" + (detected ? className + "Test.test" + i
+                            + "(" + className + "Test)" : "") + "</killingTest><description>changed conditional "
+                            + "boundary</description></mutation>\n");
+                }
+            }
+            writer.write("</mutations>\n");
+        }
+    }
+
+    /**
+     * Writes synthetic class files, each top-level class having a nested class.
+     *
+     * @param root    the classes directory
+     * @param classes the class names
+     * @param size    the size of each class file
+     * @throws IOException if an I/O error occurs
+     */
+    static void writeClasses(Path root, List<String> classes, int size) throws IOException {
+        var content = new byte[size];
+        for (var i = 0; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        for (var className : classes) {
+            var file = root.resolve(className.replace('.', '/') + ".class");
+            Files.createDirectories(file.getParent());
+            Files.write(file, content);
+            Files.write(file.resolveSibling(file.getFileName().toString().replace(".class", "$Inner.class")),
+                    content);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.openjdk.jmh.annotations.*;
+import rife.bld.BaseProject;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the construction of the PIT command line and the joining of option collections.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandLineBenchmark {
+    @Param({"10", "1000"})
+    public int classes;
+    private List<String> classNames_;
+    private PitestOperation op_;
+
+    @Setup
+    public void setup() {
+        classNames_ = BenchmarkData.classNames(classes);
+        op_ = new PitestOperation()
+                .fromProject(new BaseProject())
+                .reportDir("build/reports/mutations")
+                .sourceDirs("src/main/java")
+                .targetClasses(classNames_)
+                .targetTests("com.example.*")
+                .excludedMethods("hashCode", "equals", "toString")
+                .jvmArgs("-Xmx512m", "-XX:+UseParallelGC")
+                .mutators("STRONGER")
+                .outputFormats("HTML", "XML")
+                .threads(4)
+                .timestampedReports(false);
+    }
+
+    @Benchmark
+    public List<String> commandLine() {
+        return op_.executeConstructProcessCommandList();
+    }
+
+    @Benchmark
+    public PitestOperation targetClasses() {
+        return new PitestOperation().targetClasses(classNames_);
+    }
+}
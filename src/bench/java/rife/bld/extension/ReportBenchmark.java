@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the parsing and merging of mutation reports, and the fingerprinting of the build inputs.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBenchmark {
+    private static final int SHARDS = 4;
+    @Param({"1000", "50000"})
+    public int mutations;
+    private Path classes_;
+    private Path merged_;
+    private Path report_;
+    private Path root_;
+    private List<Path> shards_;
+
+    @Setup
+    public void setup() throws IOException {
+        root_ = Files.createTempDirectory("bench-reports");
+        var classNames = BenchmarkData.classNames(Math.max(1, mutations / 20));
+        report_ = root_.resolve(ReportMerger.MUTATIONS_XML);
+        BenchmarkData.writeReport(report_, classNames, 20);
+
+        shards_ = new ArrayList<>(SHARDS);
+        var perShard = Math.max(1, classNames.size() / SHARDS);
+        for (var i = 0; i < SHARDS; i++) {
+            var shard = root_.resolve("shard-" + i + ".xml");
+            var from = Math.min(classNames.size(), i * perShard);
+            var to = i == SHARDS - 1 ? classNames.size() : Math.min(classNames.size(), from + perShard);
+            BenchmarkData.writeReport(shard, classNames.subList(from, to), 20);
+            shards_.add(shard);
+        }
+        merged_ = root_.resolve("merged.xml");
+
+        classes_ = root_.resolve("classes");
+        BenchmarkData.writeClasses(classes_, classNames, 2048);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkData.delete(root_);
+    }
+
+    @Benchmark
+    public String fingerprint() throws IOException {
+        return Fingerprints.files(List.of(classes_.toFile()));
+    }
+
+    @Benchmark
+    public Path merge() throws IOException {
+        ReportMerger.mergeXml(shards_, merged_, false);
+        return merged_;
+    }
+
+    @Benchmark
+    public PitestResult parse() throws IOException {
+        var result = new PitestResult();
+        MutationReportParser.parseXml(report_, result::add);
+        return result;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import rife.bld.BaseProject;
+import rife.bld.operations.exceptions.ExitStatusException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * End-to-end scaling benchmark, running {@link PitestOperation} against synthetic projects.
+ * <p>
+ * Each combination of project size, threads, mutation unit size and execution mode is run once, and its wall time,
+ * CPU time and peak resident memory are appended to a CSV file. Options are comma-separated lists:
+ * <pre>
+ * --classes 10,100 --methods 5 --tests 2 --threads 1,2,4 --unitSizes 0,4 --modes default,shards
+ * --lib lib --output build/bench/scaling.csv
+ * </pre>
+ * A unit size of {@code 0} uses the PIT default. The {@code lib} directory must contain the {@code test} and
+ * {@code compile} dependencies of this project, which provide PIT and JUnit.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+public final class ScalingBenchmark {
+    private static final String HEADER = "classes,methods,tests,threads,mutationUnitSize,mode,exitStatus,"
+            + "wallMillis,cpuMillis,peakRssMb,mutations,mutationScore";
+
+    private ScalingBenchmark() {
+        // no-op
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = parse(args);
+        var lib = new File(options.getOrDefault("lib", "lib"));
+        var libTest = new File(lib, "test");
+        var libCompile = new File(lib, "compile");
+        var output = Path.of(options.getOrDefault("output", "build/bench/scaling.csv"));
+        var methods = Integer.parseInt(options.getOrDefault("methods", "5"));
+        var tests = Integer.parseInt(options.getOrDefault("tests", "2"));
+
+        var jars = new ArrayList<File>();
+        for (var dir : List.of(libTest, libCompile)) {
+            var files = dir.listFiles((d, name) -> name.endsWith(".jar"));
+            if (files != null) {
+                jars.addAll(Arrays.asList(files));
+            }
+        }
+        if (jars.isEmpty()) {
+            throw new IOException("No dependencies found in: " + lib.getAbsolutePath());
+        }
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (var csv = new PrintWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8))) {
+            csv.println(HEADER);
+            for (var classes : ints(options.getOrDefault("classes", "10,50"))) {
+                var dir = Files.createTempDirectory("pitest-scaling");
+                try {
+                    new SyntheticProject(classes, methods, tests).generate(dir, jars);
+                    var project = project(dir, libTest, libCompile);
+                    for (var threads : ints(options.getOrDefault("threads", "1,2,4"))) {
+                        for (var unitSize : ints(options.getOrDefault("unitSizes", "0"))) {
+                            for (var mode : options.getOrDefault("modes", "default").split(",")) {
+                                var row = run(project, dir, threads, unitSize, mode.trim());
+                                var line = String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%s,%s", classes, methods,
+                                        tests, threads, unitSize, mode.trim(), row);
+                                csv.println(line);
+                                csv.flush();
+                                System.out.println(line);
+                            }
+                        }
+                    }
+                } finally {
+                    BenchmarkData.delete(dir);
+                }
+            }
+        }
+        System.out.println("Results written to: " + output.toAbsolutePath());
+    }
+
+    private static List<Integer> ints(String values) {
+        return Arrays.stream(values.split(",")).map(String::trim).map(Integer::parseInt).toList();
+    }
+
+    private static Map<String, String> parse(String... args) {
+        var options = new HashMap<String, String>();
+        for (var i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static BaseProject project(Path dir, File libTest, File libCompile) {
+        return new BaseProject() {
+            @Override
+            public File libCompileDirectory() {
+                return libCompile;
+            }
+
+            @Override
+            public File libTestDirectory() {
+                return libTest;
+            }
+
+            @Override
+            public File workDirectory() {
+                return dir.toFile();
+            }
+        };
+    }
+
+    private static String run(BaseProject project, Path dir, int threads, int unitSize, String mode)
+            throws IOException, InterruptedException {
+        var reportDir = dir.resolve("build/reports/mutations-" + threads + '-' + unitSize + '-' + mode);
+        var op = new PitestOperation()
+                .fromProject(project)
+                .reportDir(reportDir.toString())
+                .sourceDirs(dir.resolve("src/main/java").toString())
+                .targetClasses(SyntheticProject.PACKAGE + ".*")
+                .targetTests(SyntheticProject.PACKAGE + ".*")
+                .outputFormats("XML")
+                .timestampedReports(false)
+                .threads(threads);
+        if (unitSize > 0) {
+            op.mutationUnitSize(unitSize);
+        }
+        switch (mode) {
+            case "default" -> {
+                // no-op
+            }
+            case "shards" -> op.shards(threads).threads(1);
+            case "autoThreads" -> op.autoThreads(true);
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        op.workDirectory(dir.toFile());
+        op.outputProcessor(line -> true);
+
+        var exitStatus = ExitStatusException.EXIT_SUCCESS;
+        long wall;
+        long cpu;
+        long rss;
+        try (var sampler = new ResourceSampler(Duration.ofMillis(50))) {
+            var start = System.nanoTime();
+            try {
+                op.execute();
+            } catch (ExitStatusException e) {
+                exitStatus = e.getExitStatus();
+            }
+            wall = (System.nanoTime() - start) / 1_000_000;
+            sampler.close();
+            cpu = sampler.cpuMillis();
+            rss = sampler.peakRss();
+        }
+
+        var result = op.result();
+        return String.format(Locale.ROOT, "%d,%d,%d,%s,%d,%d", exitStatus, wall, cpu,
+                rss < 0 ? "" : String.valueOf(rss >> 20), result == null ? 0 : result.total(),
+                result == null ? 0 : result.mutationScore());
+    }
+}
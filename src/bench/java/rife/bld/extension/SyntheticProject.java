@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates and compiles a synthetic project, with JUnit 5 tests.
+ * <p>
+ * Each class has methods with a conditional, and each test class splits the methods of its class between its tests.
+ * Only one side of each conditional boundary is tested, so that the analysis reports both killed and surviving
+ * mutants.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class SyntheticProject {
+    /**
+     * The package of the generated classes.
+     */
+    static final String PACKAGE = "bench";
+    private final int classes_;
+    private final int methods_;
+    private final int tests_;
+
+    /**
+     * Creates a new synthetic project.
+     *
+     * @param classes the number of classes
+     * @param methods the number of methods in each class
+     * @param tests   the number of tests for each class
+     */
+    SyntheticProject(int classes, int methods, int tests) {
+        classes_ = classes;
+        methods_ = methods;
+        tests_ = Math.max(1, Math.min(tests, methods));
+    }
+
+    /**
+     * Generates and compiles the project.
+     * <p>
+     * Sources are generated in {@code src/main/java} and {@code src/test/java}, and compiled in {@code build/main}
+     * and {@code build/test}.
+     *
+     * @param dir       the project directory
+     * @param classpath the JUnit jars needed to compile the tests
+     * @throws IOException if an I/O or compilation error occurs
+     */
+    void generate(Path dir, List<File> classpath) throws IOException {
+        var mainSources = new ArrayList<File>();
+        var testSources = new ArrayList<File>();
+        for (var i = 0; i < classes_; i++) {
+            var pkg = PACKAGE + ".pkg" + (i % 10);
+            var name = "Class" + i;
+            mainSources.add(write(dir.resolve("src/main/java"), pkg, name, mainSource(pkg, name)));
+            testSources.add(write(dir.resolve("src/test/java"), pkg, name + "Test", testSource(pkg, name)));
+        }
+
+        var mainDir = dir.resolve("build/main");
+        compile(mainSources, mainDir, classpath);
+        var testClasspath = new ArrayList<>(classpath);
+        testClasspath.add(mainDir.toFile());
+        compile(testSources, dir.resolve("build/test"), testClasspath);
+    }
+
+    private static void compile(List<File> sources, Path output, List<File> classpath) throws IOException {
+        Files.createDirectories(output);
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IOException("A JDK is required to compile the synthetic project.");
+        }
+        try (var fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            var options = List.of("-d", output.toString(), "-cp",
+                    String.join(File.pathSeparator, classpath.stream().map(File::getPath).toList()), "-nowarn");
+            var task = compiler.getTask(null, fileManager, null, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(sources));
+            if (!task.call()) {
+                throw new IOException("Could not compile the synthetic project.");
+            }
+        }
+    }
+
+    private static File write(Path root, String pkg, String name, String source) throws IOException {
+        var file = root.resolve(pkg.replace('.', '/')).resolve(name + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, source);
+        return file.toFile();
+    }
+
+    private String mainSource(String pkg, String name) {
+        var source = new StringBuilder("package ").append(pkg).append(";\n\npublic class ").append(name)
+                .append(" {\n");
+        for (var j = 0; j < methods_; j++) {
+            if (j > 0) {
+                source.append('\n');
+            }
+            source.append("    public int method").append(j).append("(int a, int b) {\n")
+                    .append("        if (a > b) {\n")
+                    .append("            return a - b + ").append(j).append(";\n")
+                    .append("        }\n")
+                    .append("        return a * 2 + b;\n")
+                    .append("    }\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private String testSource(String pkg, String name) {
+        var source = new StringBuilder("package ").append(pkg).append(";\n\n")
+                .append("import org.junit.jupiter.api.Test;\n\n")
+                .append("import static org.junit.jupiter.api.Assertions.assertEquals;\n\n")
+                .append("class ").append(name).append("Test {\n");
+        for (var k = 0; k < tests_; k++) {
+            if (k > 0) {
+                source.append('\n');
+            }
+            source.append("    @Test\n    void test").append(k).append("() {\n")
+                    .append("        var obj = new ").append(name).append("();\n");
+            for (var j = k; j < methods_; j += tests_) {
+                source.append("        assertEquals(").append(2 + j).append(", obj.method").append(j)
+                        .append("(3, 1));\n")
+                        .append("        assertEquals(5, obj.method").append(j).append("(1, 3));\n");
+            }
+            source.append("    }\n");
+        }
+        return source.append("}\n").toString();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the expansion of the target classes globs against the compiled classes, and their partitioning.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetClassesBenchmark {
+    @Param({"100", "5000"})
+    public int classes;
+    private File classesDir_;
+    private Map<String, Long> resolved_;
+    private Path root_;
+
+    @Setup
+    public void setup() throws IOException {
+        root_ = Files.createTempDirectory("bench-classes");
+        BenchmarkData.writeClasses(root_, BenchmarkData.classNames(classes), 2048);
+        classesDir_ = root_.toFile();
+        resolved_ = resolve();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkData.delete(root_);
+    }
+
+    @Benchmark
+    public List<List<String>> partition() {
+        return TargetClassResolver.partition(resolved_, 8);
+    }
+
+    @Benchmark
+    public SortedMap<String, Long> resolve() throws IOException {
+        return TargetClassResolver.resolve(List.of(classesDir_), List.of("com.example.pkg1*", "com.example.pkg2*"),
+                List.of("*Inner"));
+    }
+}
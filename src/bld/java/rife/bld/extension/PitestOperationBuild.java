@@ -18,10 +18,16 @@ package rife.bld.extension;
 
 import rife.bld.BuildCommand;
 import rife.bld.Project;
+import rife.bld.dependencies.DependencyScopes;
+import rife.bld.dependencies.VersionResolution;
 import rife.bld.publish.PublishDeveloper;
 import rife.bld.publish.PublishLicense;
 import rife.bld.publish.PublishScm;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import static rife.bld.dependencies.Repository.*;
@@ -30,6 +36,7 @@ import static rife.bld.dependencies.Scope.test;
 import static rife.bld.operations.JavadocOptions.DocLinkOption.NO_MISSING;
 
 public class PitestOperationBuild extends Project {
+    final DependencyScopes benchDependencies = new DependencyScopes();
     final PmdOperation pmdOp = new PmdOperation()
             .fromProject(this)
             .failOnViolation(true)
@@ -47,6 +54,7 @@ public class PitestOperationBuild extends Project {
 
         repositories = List.of(MAVEN_LOCAL, MAVEN_CENTRAL, RIFE2_RELEASES, RIFE2_SNAPSHOTS);
 
+        var jmh = version(1, 37);
         var pitest = version(1, 17, 4);
         scope(compile)
                 .include(dependency("com.uwyn.rife2", "bld", version(2, 2, 0)));
@@ -57,6 +65,10 @@ public class PitestOperationBuild extends Project {
                 .include(dependency("org.junit.jupiter", "junit-jupiter", version(5, 11, 4)))
                 .include(dependency("org.junit.platform", "junit-platform-console-standalone", version(1, 11, 4)))
                 .include(dependency("org.assertj", "assertj-core", version(3, 27, 2)));
+        // kept out of the test scope, downloaded by the benchmark commands
+        benchDependencies.scope(compile)
+                .include(dependency("org.openjdk.jmh", "jmh-core", jmh))
+                .include(dependency("org.openjdk.jmh", "jmh-generator-annprocess", jmh));
 
         javadocOperation()
                 .javadocOptions()
@@ -96,6 +108,20 @@ public class PitestOperationBuild extends Project {
         new PitestOperationBuild().start(args);
     }
 
+    @BuildCommand(summary = "Runs the JMH benchmarks")
+    public void benchmark() throws Exception {
+        var classpath = compileBenchmarks();
+
+        // e.g.: bld benchmark -- -f 1 -wi 1 ReportBenchmark
+        var java = new ArrayList<>(List.of(javaTool(), "-cp", classpath, "org.openjdk.jmh.Main", "-rf", "json",
+                "-rff", new File(benchDirectory(), "results.json").getPath()));
+        java.addAll(benchmarkArguments());
+        new ExecOperation()
+                .fromProject(this)
+                .command(java)
+                .execute();
+    }
+
     @BuildCommand(summary = "Runs PMD analysis")
     public void pmd() throws Exception {
         pmdOp.execute();
@@ -106,6 +132,20 @@ public class PitestOperationBuild extends Project {
         pmdOp.includeLineNumber(false).execute();
     }
 
+    @BuildCommand(summary = "Runs the end-to-end scaling benchmark")
+    public void scaling() throws Exception {
+        var classpath = compileBenchmarks();
+
+        // e.g.: bld scaling -- --classes 10,100 --threads 1,2,4 --unitSizes 0,4 --modes default,shards
+        var java = new ArrayList<>(List.of(javaTool(), "-cp", classpath, "rife.bld.extension.ScalingBenchmark",
+                "--lib", libDirectory().getPath(), "--output", new File(benchDirectory(), "scaling.csv").getPath()));
+        java.addAll(benchmarkArguments());
+        new ExecOperation()
+                .fromProject(this)
+                .command(java)
+                .execute();
+    }
+
     @Override
     public void test() throws Exception {
         new ExecOperation()
@@ -114,4 +154,52 @@ public class PitestOperationBuild extends Project {
                 .execute();
         super.test();
     }
+
+    private List<String> benchmarkArguments() {
+        var args = new ArrayList<String>();
+        if (!arguments().isEmpty() && "--".equals(arguments().get(0))) {
+            arguments().remove(0);
+            args.addAll(arguments());
+            arguments().clear();
+        }
+        return args;
+    }
+
+    private File benchDirectory() {
+        return new File(buildDirectory(), "bench");
+    }
+
+    private File benchLibDirectory() {
+        return new File(libDirectory(), "bench");
+    }
+
+    private String compileBenchmarks() throws Exception {
+        compile();
+
+        benchDependencies.resolveCompileDependencies(properties(), artifactRetriever(), repositories())
+                .transferIntoDirectory(new VersionResolution(properties()), artifactRetriever(), repositories(),
+                        benchLibDirectory(), benchLibDirectory());
+        var classpath = String.join(File.pathSeparator, new File(benchLibDirectory(), "*").getPath(),
+                new File(libTestDirectory(), "*").getPath(), new File(libCompileDirectory(), "*").getPath(),
+                buildMainDirectory().getPath(), benchDirectory().getPath());
+
+        var javac = new ArrayList<>(List.of(javacTool(), "-d", benchDirectory().getPath(), "-cp", classpath,
+                "--release", String.valueOf(javaRelease), "-processor",
+                "org.openjdk.jmh.generators.BenchmarkProcessor"));
+        try (var sources = Files.walk(Path.of(srcDirectory().getPath(), "bench", "java"))) {
+            sources.filter(p -> p.toString().endsWith(".java")).forEach(p -> javac.add(p.toString()));
+        }
+        new ExecOperation()
+                .fromProject(this)
+                .command(javac)
+                .execute();
+        return classpath;
+    }
+
+    private String javacTool() {
+        // the compiler of the JDK running the benchmarks
+        var java = new File(javaTool());
+        var javac = java.getName().endsWith(".exe") ? "javac.exe" : "javac";
+        return java.getParentFile() == null ? javac : new File(java.getParentFile(), javac).getPath();
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Writes the {@code java} launcher argument files and PIT classpath files used for long command lines.
+ * <p>
+ * Files are named after a fingerprint of their content, so that concurrent commands never share a file and identical
+ * commands reuse the same file.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class ArgumentFiles {
+    private ArgumentFiles() {
+        // no-op
+    }
+
+    /**
+     * Returns the length of a command line, including the separating spaces.
+     *
+     * @param args the command line arguments
+     * @return the length
+     */
+    static int length(List<String> args) {
+        var length = Math.max(0, args.size() - 1);
+        for (var arg : args) {
+            length += arg.length();
+        }
+        return length;
+    }
+
+    /**
+     * Quotes an argument for a {@code java} launcher argument file.
+     * <p>
+     * The argument is enclosed in double quotes, with backslashes, double quotes and line breaks escaped.
+     *
+     * @param arg the argument
+     * @return the quoted argument
+     */
+    static String quote(String arg) {
+        var quoted = new StringBuilder(arg.length() + 2).append('"');
+        for (var i = 0; i < arg.length(); i++) {
+            var c = arg.charAt(i);
+            switch (c) {
+                case '\\' -> quoted.append("\\\\");
+                case '"' -> quoted.append("\\\"");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Writes a {@code java} launcher argument file, one quoted argument per line.
+     *
+     * @param directory the directory to write the file in
+     * @param args      the arguments
+     * @return the argument file
+     * @throws IOException if an I/O error occurs
+     */
+    static Path writeArgFile(Path directory, List<String> args) throws IOException {
+        return write(directory, args.stream().map(ArgumentFiles::quote).toList(), ".args");
+    }
+
+    /**
+     * Writes a PIT classpath file, one entry per line.
+     *
+     * @param directory the directory to write the file in
+     * @param entries   the classpath entries
+     * @return the classpath file
+     * @throws IOException if an I/O error occurs
+     */
+    static Path writeClassPathFile(Path directory, List<String> entries) throws IOException {
+        return write(directory, entries, ".classpath");
+    }
+
+    private static Path write(Path directory, List<String> lines, String extension) throws IOException {
+        var file = directory.resolve(Fingerprints.sha256(lines) + extension);
+        if (!Files.isRegularFile(file)) {
+            Files.createDirectories(directory);
+            var tmp = Files.createTempFile(directory, "args", ".tmp");
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+}
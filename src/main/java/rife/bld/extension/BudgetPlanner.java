@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.util.*;
+
+/**
+ * Plans a time-budgeted run, ordering the target classes by priority and splitting them into consecutive batches.
+ * <p>
+ * Classes changed since the base revision come first, then the classes missing from the previous results, then the
+ * classes with the most surviving or uncovered mutants in the previous results.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class BudgetPlanner {
+    /**
+     * The default number of batches.
+     */
+    static final int DEFAULT_BATCHES = 10;
+
+    private BudgetPlanner() {
+        // no-op
+    }
+
+    /**
+     * Splits classes into consecutive batches of roughly equal weight, preserving their order.
+     *
+     * @param classes the classes, in priority order
+     * @param weights the classes mapped to their weight, missing or zero weights counting as {@code 1}
+     * @param count   the number of batches
+     * @return the batches
+     */
+    static List<List<String>> batches(List<String> classes, Map<String, Long> weights, int count) {
+        var total = 0L;
+        for (var className : classes) {
+            total += weight(weights, className);
+        }
+
+        var batches = new ArrayList<List<String>>();
+        var batch = new ArrayList<String>();
+        var cumulative = 0L;
+        for (var className : classes) {
+            batch.add(className);
+            cumulative += weight(weights, className);
+            if (cumulative * count >= total * (batches.size() + 1)) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Orders classes by priority.
+     *
+     * @param classes  the top-level classes
+     * @param changed  the top-level classes changed since the base revision
+     * @param previous the previous results, or {@code null}
+     * @return the classes, highest priority first
+     */
+    static List<String> prioritize(Collection<String> classes, Set<String> changed, PitestResult previous) {
+        var weak = new HashMap<String, Long>();
+        if (previous != null) {
+            previous.classes().forEach((name, counts) -> weak.merge(TargetClassResolver.topLevelName(name),
+                    counts.count(PitestResult.SURVIVED) + counts.count(PitestResult.NO_COVERAGE), Long::sum));
+        }
+
+        var ordered = new ArrayList<>(classes);
+        ordered.sort(Comparator.<String>comparingInt(c -> changed.contains(c) ? 0 : weak.containsKey(c) ? 2 : 1)
+                .thenComparing(c -> weak.getOrDefault(c, 0L), Comparator.reverseOrder())
+                .thenComparing(Comparator.naturalOrder()));
+        return ordered;
+    }
+
+    private static long weight(Map<String, Long> weights, String className) {
+        return Math.max(1, weights.getOrDefault(className, 1L));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * Records the outcome of a PIT run along with a fingerprint of its inputs, so that it can be replayed instead of
+ * running PIT again when the inputs are unchanged.
+ * <p>
+ * The outcome consists of the exit status and a snapshot of the report of the run.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class BuildAvoidance {
+    private static final String EXIT_STATUS = "exitStatus";
+    private static final String FINGERPRINT = "fingerprint";
+    private final Path directory_;
+
+    /**
+     * Creates a new build avoidance store.
+     *
+     * @param directory the directory the outcome is stored in
+     */
+    BuildAvoidance(Path directory) {
+        directory_ = directory;
+    }
+
+    /**
+     * Copies a directory recursively, replacing existing files.
+     * <p>
+     * The copies are last modified at the time they are made, as reports restored by a replay belong to the current
+     * run.
+     *
+     * @param source the source directory
+     * @param target the target directory
+     * @throws IOException if an I/O error occurs
+     */
+    static void copyDirectory(Path source, Path target) throws IOException {
+        try (Stream<Path> walk = Files.walk(source)) {
+            for (var path : (Iterable<Path>) walk::iterator) {
+                var dest = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(dest);
+                } else {
+                    Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes a directory recursively, if it exists.
+     *
+     * @param dir the directory
+     * @throws IOException if an I/O error occurs
+     */
+    static void deleteDirectory(Path dir) throws IOException {
+        if (Files.exists(dir)) {
+            try (Stream<Path> walk = Files.walk(dir)) {
+                for (var path : (Iterable<Path>) walk.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the outcome of a run.
+     * <p>
+     * Only the report of the run is recorded: its timestamped report subdirectory, or the report directory without
+     * its timestamped report subdirectories.
+     *
+     * @param fingerprint the fingerprint of the run inputs
+     * @param exitStatus  the exit status
+     * @param reportDir   the report directory
+     * @param runDir      the directory of the report of the run, either the report directory or one of its
+     *                    subdirectories
+     * @throws IOException if an I/O error occurs
+     */
+    void record(String fingerprint, int exitStatus, Path reportDir, Path runDir) throws IOException {
+        var state = stateFile();
+        Files.deleteIfExists(state);
+        deleteDirectory(snapshotDir());
+        Files.createDirectories(directory_);
+        if (Files.isDirectory(runDir)) {
+            var target = snapshotDir().resolve(reportDir.relativize(runDir).toString());
+            Files.createDirectories(target);
+            try (Stream<Path> files = Files.list(runDir)) {
+                for (var path : (Iterable<Path>) files::iterator) {
+                    var dest = target.resolve(path.getFileName().toString());
+                    if (!Files.isDirectory(path)) {
+                        Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+                    } else if (!MutationReportParser.isTimestamped(path)) {
+                        copyDirectory(path, dest);
+                    }
+                }
+            }
+        }
+
+        var properties = new Properties();
+        properties.setProperty(FINGERPRINT, fingerprint);
+        properties.setProperty(EXIT_STATUS, String.valueOf(exitStatus));
+        try (var writer = Files.newBufferedWriter(state, StandardCharsets.UTF_8)) {
+            properties.store(writer, "PIT build avoidance");
+        }
+    }
+
+    /**
+     * Replays the outcome of a previous run with the same inputs, if any.
+     *
+     * @param fingerprint the fingerprint of the run inputs
+     * @param reportDir   the report directory to restore the report into
+     * @return the exit status of the previous run, or {@code null} if the inputs changed
+     * @throws IOException if an I/O error occurs
+     */
+    Integer replay(String fingerprint, Path reportDir) throws IOException {
+        var state = stateFile();
+        if (!Files.isRegularFile(state)) {
+            return null;
+        }
+
+        var properties = new Properties();
+        try (var reader = Files.newBufferedReader(state, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        if (!fingerprint.equals(properties.getProperty(FINGERPRINT))) {
+            return null;
+        }
+
+        int exitStatus;
+        try {
+            exitStatus = Integer.parseInt(properties.getProperty(EXIT_STATUS, ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        if (Files.isDirectory(snapshotDir())) {
+            copyDirectory(snapshotDir(), reportDir);
+        }
+        return exitStatus;
+    }
+
+    private Path snapshotDir() {
+        return directory_.resolve("report");
+    }
+
+    private Path stateFile() {
+        return directory_.resolve("state.properties");
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+/**
+ * Generates the class data sharing (AppCDS) archives of classpaths, so that the JVMs running PIT map the already
+ * parsed and verified classes of its libraries instead of loading them from scratch.
+ * <p>
+ * An archive is dumped once per Java tool and classpath, from the default class list of the JDK and all the classes
+ * of the jars, and is named after their fingerprint. A JVM only uses the archive if its classpath starts with the
+ * archived jars, and silently ignores it otherwise.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class ClassDataSharing {
+    /**
+     * The extension of the archives.
+     */
+    static final String ARCHIVE_EXT = ".jsa";
+    private static final String CLASS_EXT = ".class";
+    private static final String FAILED_EXT = ".failed";
+    private static final String LOG_FILE = "dump.log";
+    private static final String SHARED_ARCHIVE_FILE = "-XX:SharedArchiveFile=";
+
+    private ClassDataSharing() {
+        // no-op
+    }
+
+    /**
+     * Returns the archive of a classpath, dumping it first if needed.
+     *
+     * @param dir       the directory of the archives
+     * @param javaTool  the Java tool
+     * @param classPath the classpath entries, only the leading jars being archived
+     * @return the archive, or {@code null} if the classpath does not start with a jar, or the archive could not be
+     * dumped before
+     * @throws IOException          if the archive could not be dumped
+     * @throws InterruptedException if interrupted while dumping the archive
+     */
+    static synchronized Path archive(Path dir, String javaTool, List<File> classPath)
+            throws IOException, InterruptedException {
+        var jars = leadingJars(classPath);
+        if (jars.isEmpty()) {
+            return null;
+        }
+
+        var tool = executable(javaTool);
+        var fingerprint = fingerprint(tool, jars);
+        var archive = dir.resolve(fingerprint + ARCHIVE_EXT);
+        if (Files.isRegularFile(archive)) {
+            return archive;
+        }
+        var failed = dir.resolve(fingerprint + FAILED_EXT);
+        if (Files.exists(failed)) {
+            // not supported by the Java tool, don't try again on every run
+            return null;
+        }
+
+        Files.createDirectories(dir);
+        var classList = Files.createTempFile(dir, fingerprint, ".classlist");
+        var tmp = dir.resolve(fingerprint + ".tmp");
+        try {
+            Files.write(classList, classList(tool, jars), StandardCharsets.UTF_8);
+            Files.deleteIfExists(tmp);
+            var log = dir.resolve(LOG_FILE);
+            var process = new ProcessBuilder(tool.toString(), "-Xshare:dump",
+                    "-XX:SharedClassListFile=" + classList, SHARED_ARCHIVE_FILE + tmp,
+                    "-cp", String.join(File.pathSeparator, jars.stream().map(File::getPath).toList()))
+                    .redirectErrorStream(true).redirectOutput(log.toFile()).start();
+            if (process.waitFor() != 0 || !Files.isRegularFile(tmp)) {
+                Files.createFile(failed);
+                throw new IOException("the archive could not be dumped, see " + log);
+            }
+
+            Files.move(tmp, archive, StandardCopyOption.REPLACE_EXISTING);
+            // the archives of previous classpaths
+            try (Stream<Path> files = Files.list(dir)) {
+                for (var file : files.toList()) {
+                    if (!file.equals(archive) && file.getFileName().toString().endsWith(ARCHIVE_EXT)) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+            return archive;
+        } finally {
+            Files.deleteIfExists(classList);
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Returns the classes to archive: the default class list of the JDK, if any, then all the classes of the jars.
+     *
+     * @param tool the Java executable
+     * @param jars the jars
+     * @return the internal names of the classes, e.g. {@code org/pitest/Foo}
+     * @throws IOException if a jar could not be read
+     */
+    static List<String> classList(Path tool, List<File> jars) throws IOException {
+        var classes = new LinkedHashSet<String>();
+        var parent = tool.getParent();
+        var jdkList = parent == null || parent.getParent() == null ? null
+                : parent.getParent().resolve("lib").resolve("classlist");
+        if (jdkList != null && Files.isRegularFile(jdkList)) {
+            for (var line : Files.readAllLines(jdkList, StandardCharsets.UTF_8)) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    classes.add(line);
+                }
+            }
+        }
+
+        for (var jar : jars) {
+            try (var zip = new ZipFile(jar)) {
+                var entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    var name = entries.nextElement().getName();
+                    if (name.endsWith(CLASS_EXT) && !name.startsWith("META-INF/")
+                            && !name.endsWith("module-info.class") && !name.endsWith("package-info.class")) {
+                        classes.add(name.substring(0, name.length() - CLASS_EXT.length()));
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(classes);
+    }
+
+    /**
+     * Resolves the Java executable, looking up the {@code PATH} if not a path.
+     *
+     * @param javaTool the Java tool
+     * @return the real path of the executable
+     * @throws IOException if the executable could not be found
+     */
+    static Path executable(String javaTool) throws IOException {
+        var tool = Path.of(javaTool);
+        if (tool.getParent() == null) {
+            var path = System.getenv("PATH");
+            if (path != null) {
+                var isWindows = File.separatorChar == '\\';
+                for (var dir : path.split(File.pathSeparator)) {
+                    for (var name : isWindows ? List.of(javaTool + ".exe", javaTool) : List.of(javaTool)) {
+                        var candidate = Path.of(dir, name);
+                        if (Files.isRegularFile(candidate) && Files.isExecutable(candidate)) {
+                            return candidate.toRealPath();
+                        }
+                    }
+                }
+            }
+        }
+        return tool.toRealPath();
+    }
+
+    /**
+     * Returns the fingerprint of an archive, changing with the Java executable and the jars.
+     *
+     * @param tool the Java executable
+     * @param jars the jars
+     * @return the fingerprint
+     * @throws IOException if an I/O error occurs
+     */
+    static String fingerprint(Path tool, List<File> jars) throws IOException {
+        var values = new ArrayList<String>();
+        values.add(tool.toString());
+        values.add(String.valueOf(Files.getLastModifiedTime(tool).toMillis()));
+        for (var jar : jars) {
+            values.add(jar.getPath());
+            values.add(jar.length() + ":" + Files.getLastModifiedTime(jar.toPath()).toMillis());
+        }
+        return Fingerprints.sha256(values);
+    }
+
+    /**
+     * Returns whether JVM arguments set an archive.
+     *
+     * @param args the JVM arguments, or {@code null}
+     * @return {@code true} or {@code false}
+     */
+    static boolean hasArchiveOption(String args) {
+        return args != null && args.contains(SHARED_ARCHIVE_FILE);
+    }
+
+    /**
+     * Returns whether an option sets the archive of a JVM.
+     *
+     * @param option the JVM option
+     * @return {@code true} or {@code false}
+     */
+    static boolean isArchiveOption(String option) {
+        return option.startsWith(SHARED_ARCHIVE_FILE);
+    }
+
+    /**
+     * Returns the jars a classpath starts with.
+     *
+     * @param classPath the classpath entries
+     * @return the jars, up to the first entry which is not a jar
+     */
+    static List<File> leadingJars(List<File> classPath) {
+        var jars = new ArrayList<File>();
+        for (var entry : classPath) {
+            if (!entry.isFile() || !entry.getName().endsWith(".jar")) {
+                break;
+            }
+            jars.add(entry);
+        }
+        return jars;
+    }
+
+    /**
+     * Returns the JVM option using an archive.
+     *
+     * @param archive the archive
+     * @return the option
+     */
+    static String option(Path archive) {
+        return SHARED_ARCHIVE_FILE + archive;
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.XMLEvent;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Caches the mutation results of each class, keyed by the bytecode of the class and of the tests covering it.
+ * <p>
+ * Each entry is a valid {@code mutations.xml} report holding the mutations of a single top-level class, so that
+ * entries can be merged with fresh results using {@link ReportMerger}.
+ * <p>
+ * The covering tests are the tests that killed, or did not kill, a mutant of the class in the cached results. If any
+ * mutant of the class was not detected, a new test could detect it, so the key covers all the test classes instead.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class ClassResultCache {
+    private static final String KEY = "key";
+    private static final String MUTATION = "mutation";
+    private static final String MUTATIONS = "mutations";
+    private static final String TESTS = "tests";
+    private static final String TMP_EXT = ".tmp";
+    private static final String XML_EXT = ".xml";
+    private final File classesDir_;
+    private final Path directory_;
+    private final String salt_;
+    private final File testClassesDir_;
+    private String allTestsHash_;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param directory      the cache directory
+     * @param salt           the fingerprint of the analysis settings, part of every key
+     * @param classesDir     the compiled main classes directory
+     * @param testClassesDir the compiled test classes directory
+     */
+    ClassResultCache(Path directory, String salt, File classesDir, File testClassesDir) {
+        directory_ = directory;
+        salt_ = salt;
+        classesDir_ = classesDir;
+        testClassesDir_ = testClassesDir;
+    }
+
+    /**
+     * Returns the class name of a test, as reported by PIT.
+     * <p>
+     * Supports the JUnit 5 ({@code com.FooTest.[engine:junit-jupiter]/[class:com.FooTest]/[method:foo()]}) and
+     * JUnit 4 / TestNG ({@code com.FooTest.foo(com.FooTest)}) formats.
+     *
+     * @param test the test
+     * @return the test class name
+     */
+    static String testClassName(String test) {
+        var classTag = test.indexOf("[class:");
+        if (classTag >= 0) {
+            var end = test.indexOf(']', classTag);
+            return test.substring(classTag + 7, end > 0 ? end : test.length());
+        }
+        var paren = test.indexOf('(');
+        if (paren > 0 && test.endsWith(")")) {
+            return test.substring(paren + 1, test.length() - 1);
+        }
+        var bracket = test.indexOf(".[");
+        if (bracket > 0) {
+            return test.substring(0, bracket);
+        }
+        return test;
+    }
+
+    /**
+     * Returns the cached report of a class, if its key is unchanged.
+     *
+     * @param className the top-level class name
+     * @return the cached report, or {@code null}
+     * @throws IOException if an I/O error occurs
+     */
+    Path lookup(String className) throws IOException {
+        var entry = entry(className);
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        var header = readHeader(entry);
+        if (header != null && header[0].equals(key(className, header[1]))) {
+            return entry;
+        }
+        Files.deleteIfExists(entry);
+        return null;
+    }
+
+    /**
+     * Deletes the entries of the classes which no longer exist, and the leftovers of interrupted writes.
+     *
+     * @return the number of entries deleted
+     * @throws IOException if an I/O error occurs
+     */
+    int prune() throws IOException {
+        if (!Files.isDirectory(directory_)) {
+            return 0;
+        }
+        var count = 0;
+        try (Stream<Path> files = Files.list(directory_)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                var name = file.getFileName().toString();
+                if (name.endsWith(TMP_EXT)) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(XML_EXT) && !new File(classesDir_, name.substring(0,
+                        name.length() - XML_EXT.length()).replace('.', File.separatorChar) + ".class").isFile()) {
+                    Files.deleteIfExists(file);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Stores the results of the given classes from a fresh report.
+     * <p>
+     * The mutations are streamed to the entries as they are read, so memory usage does not depend on the report size.
+     * A class of the given list without any mutation in the report is stored with no mutations.
+     *
+     * @param report  the fresh {@code mutations.xml} report
+     * @param classes the top-level classes analyzed by the report
+     * @throws IOException if an I/O or parsing error occurs
+     */
+    void store(Path report, Collection<String> classes) throws IOException {
+        Files.createDirectories(directory_);
+        var outputs = XMLOutputFactory.newFactory();
+        var events = XMLEventFactory.newFactory();
+        var inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+
+        var detected = new HashMap<String, Boolean>();
+        var tests = new HashMap<String, Set<String>>();
+        for (var className : classes) {
+            detected.put(className, true);
+            tests.put(className, new TreeSet<>());
+        }
+
+        // the mutations of each class, usually reported consecutively
+        var bodies = new HashMap<String, Path>();
+        try {
+            OutputStream out = null;
+            XMLEventWriter writer = null;
+            String current = null;
+            try (var in = Files.newInputStream(report)) {
+                var reader = inputFactory.createXMLEventReader(in);
+                var mutation = new ArrayList<XMLEvent>();
+                var depth = 0;
+                String element = null;
+                String mutatedClass = null;
+                var mutationTests = new ArrayList<String>();
+                var isDetected = true;
+                while (reader.hasNext()) {
+                    var event = reader.nextEvent();
+                    if (depth == 0) {
+                        if (event.isStartElement()
+                                && MUTATION.equals(event.asStartElement().getName().getLocalPart())) {
+                            depth = 1;
+                            mutation.clear();
+                            mutation.add(event);
+                            mutatedClass = null;
+                            mutationTests.clear();
+                            var attribute = event.asStartElement().getAttributeByName(new QName("detected"));
+                            isDetected = attribute == null || Boolean.parseBoolean(attribute.getValue());
+                        }
+                        continue;
+                    }
+
+                    mutation.add(event);
+                    if (event.isStartElement()) {
+                        depth++;
+                        element = event.asStartElement().getName().getLocalPart();
+                    } else if (event.isCharacters() && element != null) {
+                        var text = event.asCharacters().getData();
+                        if ("mutatedClass".equals(element)) {
+                            mutatedClass = mutatedClass == null ? text : mutatedClass + text;
+                        } else if (element.startsWith("killingTest") || "succeedingTests".equals(element)) {
+                            mutationTests.add(text);
+                        }
+                    } else if (event.isEndElement()) {
+                        element = null;
+                        if (--depth == 0 && mutatedClass != null) {
+                            var className = TargetClassResolver.topLevelName(mutatedClass.trim());
+                            if (tests.containsKey(className)) {
+                                if (!className.equals(current)) {
+                                    if (writer != null) {
+                                        writer.close();
+                                        out.close();
+                                    }
+                                    var body = bodies.get(className);
+                                    if (body == null) {
+                                        body = Files.createTempFile(directory_, className, TMP_EXT);
+                                        bodies.put(className, body);
+                                    }
+                                    out = Files.newOutputStream(body, StandardOpenOption.APPEND);
+                                    writer = outputs.createXMLEventWriter(out, StandardCharsets.UTF_8.name());
+                                    current = className;
+                                }
+                                for (var e : mutation) {
+                                    writer.add(e);
+                                }
+                                writer.add(events.createCharacters("\n"));
+                                if (!isDetected) {
+                                    detected.put(className, false);
+                                }
+                                for (var test : String.join("|", mutationTests).split("\\|")) {
+                                    if (!test.isBlank()) {
+                                        tests.get(className).add(testClassName(test.trim()));
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+                reader.close();
+            } finally {
+                if (writer != null) {
+                    writer.close();
+                    out.close();
+                }
+            }
+
+            for (var className : new TreeSet<>(classes)) {
+                var testList = detected.get(className) ? String.join(",", tests.get(className)) : "";
+                write(className, key(className, testList), testList, bodies.get(className));
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not read the mutation report: " + report, e);
+        } finally {
+            for (var body : bodies.values()) {
+                Files.deleteIfExists(body);
+            }
+        }
+    }
+
+    private String allTestsHash() throws IOException {
+        if (allTestsHash_ == null) {
+            allTestsHash_ = Fingerprints.files(List.of(testClassesDir_));
+        }
+        return allTestsHash_;
+    }
+
+    private Path entry(String className) {
+        return directory_.resolve(className + XML_EXT);
+    }
+
+    private String key(String className, String testList) throws IOException {
+        var values = new ArrayList<String>();
+        values.add(salt_);
+        values.add(className);
+        values.add(Fingerprints.classFiles(classesDir_, className));
+        values.add(testList);
+        if (testList.isEmpty()) {
+            values.add(allTestsHash());
+        } else {
+            for (var test : testList.split(",")) {
+                values.add(Fingerprints.classFiles(testClassesDir_, TargetClassResolver.topLevelName(test)));
+            }
+        }
+        return Fingerprints.sha256(values);
+    }
+
+    private String[] readHeader(Path entry) throws IOException {
+        var inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        try (var in = Files.newInputStream(entry)) {
+            var reader = inputFactory.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        var key = reader.getAttributeValue(null, KEY);
+                        var tests = reader.getAttributeValue(null, TESTS);
+                        return key == null ? null : new String[]{key, tests == null ? "" : tests};
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            return null;
+        }
+        return null;
+    }
+
+    private void write(String className, String key, String tests, Path mutations) throws IOException {
+        var tmp = Files.createTempFile(directory_, className, TMP_EXT);
+        try (var out = Files.newOutputStream(tmp)) {
+            var writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeCharacters("\n");
+            writer.writeStartElement(MUTATIONS);
+            writer.writeAttribute("partial", "false");
+            writer.writeAttribute(KEY, key);
+            writer.writeAttribute(TESTS, tests);
+            writer.writeCharacters("\n");
+            writer.flush();
+            if (mutations != null) {
+                Files.copy(mutations, out);
+            }
+            writer.writeEndElement();
+            writer.writeCharacters("\n");
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            Files.deleteIfExists(tmp);
+            throw new IOException("Could not write the cache entry for: " + className, e);
+        }
+        Files.move(tmp, entry(className), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
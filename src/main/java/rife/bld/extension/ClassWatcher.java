@@ -0,0 +1,206 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Watches class directories for changed classes, debouncing the bursts of files written by the compiler.
+ * <p>
+ * Also maps test classes to the classes they test, from the tests reported as killing or, with a full mutation
+ * matrix, not killing each mutant, and from the naming conventions of test classes.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class ClassWatcher implements Closeable {
+    private static final String CLASS_EXT = ".class";
+    // e.g. com.example.FooTest.[engine:junit-jupiter]/[class:com.example.FooTest]/[method:bar()]
+    private static final Pattern JUNIT5_TEST = Pattern.compile(".*\\[class:([^\\]]+)\\].*");
+    // e.g. com.example.FooTest.bar(com.example.FooTest)
+    private static final Pattern JUNIT4_TEST = Pattern.compile(".*\\(([\\w.$]+)\\)");
+    private static final Pattern TEST_NAME = Pattern.compile("(.*\\.)?(?:Test)?(\\w+?)(?:Tests?|IT|TestCase)?");
+    private final Map<WatchKey, Path> keys_ = new HashMap<>();
+    private final List<Path> roots_;
+    private final WatchService service_;
+
+    /**
+     * Creates a new watcher.
+     *
+     * @param roots the class directories, created if missing
+     * @throws IOException if the directories could not be watched
+     */
+    ClassWatcher(List<Path> roots) throws IOException {
+        roots_ = List.copyOf(roots);
+        service_ = FileSystems.getDefault().newWatchService();
+        for (var root : roots_) {
+            Files.createDirectories(root);
+            register(root);
+        }
+    }
+
+    /**
+     * Returns the classes tested by a test class according to the naming conventions, e.g. {@code com.FooTest}
+     * tests {@code com.Foo}.
+     *
+     * @param testClass the test class
+     * @return the tested class, or {@code null} if the name does not follow a convention
+     */
+    static String conventionalClass(String testClass) {
+        var matcher = TEST_NAME.matcher(testClass);
+        if (matcher.matches()) {
+            var name = (matcher.group(1) == null ? "" : matcher.group(1)) + matcher.group(2);
+            if (!name.equals(testClass)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records the test classes of the mutants in a report, mapped to the classes they test.
+     *
+     * @param reportDir the report directory
+     * @param tested    the test classes mapped to the top-level classes they test, updated
+     * @throws IOException if the report could not be read
+     */
+    static void recordTests(Path reportDir, Map<String, Set<String>> tested) throws IOException {
+        var report = MutationReportParser.find(reportDir);
+        if (report == null) {
+            return;
+        }
+        Consumer<PitestResult.Mutant> consumer = mutant -> {
+            var className = TargetClassResolver.topLevelName(mutant.mutatedClass());
+            for (var tests : List.of(mutant.killingTests(), mutant.succeedingTests())) {
+                for (var test : tests) {
+                    tested.computeIfAbsent(testClass(test), k -> new TreeSet<>()).add(className);
+                }
+            }
+        };
+        if (report.getFileName().toString().endsWith(".xml")) {
+            MutationReportParser.parseXml(report, consumer);
+        } else {
+            MutationReportParser.parseCsv(report, consumer);
+        }
+    }
+
+    /**
+     * Returns the top-level test class of a test reported by PIT.
+     *
+     * @param test the test name
+     * @return the test class
+     */
+    static String testClass(String test) {
+        var matcher = JUNIT5_TEST.matcher(test);
+        if (!matcher.matches()) {
+            matcher = JUNIT4_TEST.matcher(test);
+        }
+        if (matcher.matches()) {
+            return TargetClassResolver.topLevelName(matcher.group(1));
+        }
+        // e.g. com.example.FooTest.[engine:junit-jupiter]/[method:bar()], or com.example.FooTest.bar
+        var end = test.indexOf(".[");
+        if (end < 0) {
+            end = test.lastIndexOf('.');
+        }
+        return TargetClassResolver.topLevelName(end > 0 ? test.substring(0, end) : test);
+    }
+
+    /**
+     * Stops watching.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        service_.close();
+    }
+
+    /**
+     * Waits for classes to change, then until no more files changed for a quiet period.
+     *
+     * @param quietPeriod the quiet period
+     * @return the top-level names of the changed classes, by class directory; {@code null} if changes were lost
+     * @throws IOException          if a new directory could not be watched
+     * @throws InterruptedException if interrupted while waiting
+     */
+    Map<Path, SortedSet<String>> take(Duration quietPeriod) throws IOException, InterruptedException {
+        var changes = new HashMap<Path, SortedSet<String>>();
+        for (var root : roots_) {
+            changes.put(root, new TreeSet<>());
+        }
+
+        var isOverflow = false;
+        var key = service_.take();
+        while (key != null) {
+            var dir = keys_.get(key);
+            for (var event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    isOverflow = true;
+                } else if (dir != null) {
+                    var file = dir.resolve((Path) event.context());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(file)) {
+                        register(file);
+                        // the files written before the directory was registered
+                        try (Stream<Path> walk = Files.walk(file)) {
+                            walk.filter(Files::isRegularFile).forEach(f -> addChange(changes, f));
+                        }
+                    } else {
+                        addChange(changes, file);
+                    }
+                }
+            }
+            if (!key.reset()) {
+                keys_.remove(key);
+            }
+            key = service_.poll(quietPeriod.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return isOverflow ? null : changes;
+    }
+
+    private void addChange(Map<Path, SortedSet<String>> changes, Path file) {
+        var name = file.getFileName().toString();
+        if (!name.endsWith(CLASS_EXT)) {
+            return;
+        }
+        for (var root : roots_) {
+            if (file.startsWith(root)) {
+                var relative = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), ".");
+                changes.get(root).add(TargetClassResolver.topLevelName(
+                        relative.substring(0, relative.length() - CLASS_EXT.length())));
+                return;
+            }
+        }
+    }
+
+    private void register(Path dir) throws IOException {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            for (var subdir : walk.filter(Files::isDirectory).toList()) {
+                keys_.put(subdir.register(service_, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), subdir);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the jars of library directories into an explicit classpath.
+ * <p>
+ * Jars are ordered by directory, then by name, and duplicates are removed by Maven coordinates and by content, the
+ * first occurrence winning. Source and javadoc jars are ignored. The resolved classpath is cached, keyed by the
+ * modification times of the directories and of their jars.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class ClasspathResolver {
+    private static final Pattern ARTIFACT = Pattern.compile("(.+?)-(\\d[^-]*(?:-SNAPSHOT)?)(?:-([^.]+))?\\.jar");
+    private static final String POM_PROPERTIES = "pom.properties";
+    private final Path cacheDir_;
+
+    /**
+     * Creates a new resolver.
+     *
+     * @param cacheDir the directory the resolved classpaths are cached in
+     */
+    ClasspathResolver(Path cacheDir) {
+        cacheDir_ = cacheDir;
+    }
+
+    /**
+     * Returns the Maven coordinates of a jar, without its version.
+     * <p>
+     * The coordinates are read from the jar's {@code pom.properties}, if it contains exactly one. They are never
+     * derived from the file name, which is the same for artifacts of different groups.
+     *
+     * @param jar the jar
+     * @return the coordinates, e.g. {@code org.pitest:pitest}, or {@code null} if unknown
+     * @throws IOException if an I/O error occurs
+     */
+    static String coordinates(File jar) throws IOException {
+        try (var jarFile = new JarFile(jar, false)) {
+            Properties pom = null;
+            var entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                var entry = entries.nextElement();
+                if (entry.getName().startsWith("META-INF/maven/") && entry.getName().endsWith('/' + POM_PROPERTIES)) {
+                    if (pom != null) {
+                        // shaded jar
+                        pom = null;
+                        break;
+                    }
+                    pom = new Properties();
+                    try (var in = jarFile.getInputStream(entry)) {
+                        pom.load(in);
+                    }
+                }
+            }
+            if (pom != null && pom.getProperty("groupId") != null && pom.getProperty("artifactId") != null) {
+                var classifier = classifier(jar.getName());
+                return pom.getProperty("groupId") + ':' + pom.getProperty("artifactId")
+                        + (classifier == null ? "" : ':' + classifier);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the duplicate jars, by Maven coordinates and by content.
+     * <p>
+     * Jars without Maven coordinates are only removed if their content is identical to another jar's.
+     *
+     * @param jars the jars, in classpath order
+     * @return the jars without duplicates
+     * @throws IOException if an I/O error occurs
+     */
+    static List<File> dedupe(List<File> jars) throws IOException {
+        List<String[]> keys;
+        try {
+            keys = jars.parallelStream().map(jar -> {
+                try {
+                    return new String[]{coordinates(jar), Fingerprints.sha256(jar.toPath())};
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        var coordinates = new HashSet<String>();
+        var hashes = new HashSet<String>();
+        var classpath = new ArrayList<File>();
+        for (var i = 0; i < jars.size(); i++) {
+            var key = keys.get(i);
+            var isUnique = hashes.add(key[1]);
+            if (key[0] != null) {
+                isUnique &= coordinates.add(key[0]);
+            }
+            if (isUnique) {
+                classpath.add(jars.get(i));
+            }
+        }
+        return classpath;
+    }
+
+    /**
+     * Returns the jars of library directories, ordered by directory, then by name.
+     *
+     * @param libDirs the library directories
+     * @return the jars
+     */
+    static List<File> jars(List<File> libDirs) {
+        var jars = new ArrayList<File>();
+        for (var dir : libDirs) {
+            var files = dir.listFiles((d, name) -> name.endsWith(".jar") && !name.endsWith("-sources.jar")
+                    && !name.endsWith("-javadoc.jar"));
+            if (files != null) {
+                Arrays.sort(files);
+                jars.addAll(List.of(files));
+            }
+        }
+        return jars;
+    }
+
+    /**
+     * Returns a manifest-only jar referencing the given classpath entries, creating it if needed.
+     *
+     * @param entries the classpath entries
+     * @return the classpath jar
+     * @throws IOException if an I/O error occurs
+     */
+    Path classpathJar(List<File> entries) throws IOException {
+        var uris = entries.stream().map(f -> f.getAbsoluteFile().toURI().toString()).toList();
+        var jar = cacheDir_.resolve(Fingerprints.sha256(uris) + ".jar");
+        if (!Files.isRegularFile(jar)) {
+            var manifest = new Manifest();
+            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, String.join(" ", uris));
+            deleteAll(".jar");
+            var tmp = Files.createTempFile(cacheDir_, "classpath", ".tmp");
+            try (var out = new JarOutputStream(Files.newOutputStream(tmp), manifest)) {
+                out.flush();
+            }
+            Files.move(tmp, jar, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return jar;
+    }
+
+    /**
+     * Resolves the jars of library directories, using the cached classpath if the directories are unchanged.
+     *
+     * @param libDirs the library directories
+     * @return the jars
+     * @throws IOException if an I/O error occurs
+     */
+    List<File> resolve(List<File> libDirs) throws IOException {
+        var jars = jars(libDirs);
+        var values = new ArrayList<String>();
+        for (var dir : libDirs) {
+            values.add(dir.getAbsolutePath());
+            values.add(String.valueOf(dir.lastModified()));
+        }
+        for (var jar : jars) {
+            values.add(jar.getName());
+            values.add(jar.length() + ":" + jar.lastModified());
+        }
+        var cache = cacheDir_.resolve(Fingerprints.sha256(values) + ".classpath");
+
+        if (Files.isRegularFile(cache)) {
+            var cached = Files.readAllLines(cache, StandardCharsets.UTF_8).stream().map(File::new).toList();
+            if (cached.stream().allMatch(File::isFile)) {
+                return cached;
+            }
+        }
+
+        var classpath = dedupe(jars);
+        deleteAll(".classpath");
+        var tmp = Files.createTempFile(cacheDir_, "classpath", ".tmp");
+        Files.write(tmp, classpath.stream().map(File::getAbsolutePath).toList(), StandardCharsets.UTF_8);
+        Files.move(tmp, cache, StandardCopyOption.REPLACE_EXISTING);
+        return classpath;
+    }
+
+    private static String classifier(String name) {
+        var matcher = ARTIFACT.matcher(name);
+        return matcher.matches() ? matcher.group(3) : null;
+    }
+
+    private void deleteAll(String extension) throws IOException {
+        Files.createDirectories(cacheDir_);
+        try (var files = Files.list(cacheDir_)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(extension)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The historical cost of the mutation analysis of each class, used to schedule, estimate and budget runs.
+ * <p>
+ * The cost of a class is its number of mutants and the time spent analyzing them, smoothed over the recorded runs
+ * with an exponential moving average so that recent runs weigh more. The fixed overhead of a PIT process, starting
+ * its JVM and running the coverage analysis, is tracked separately and left out of the class costs. Costs are
+ * persisted as a {@code CSV} file in the report directory.
+ * <p>
+ * The model is read-only, it is only updated by the {@link PitestOperation operation}.
+ * <p>
+ * The number of mutants of a class is only exact as long as neither its bytecode nor the analysis settings change,
+ * so it can be recorded along with their {@link #fingerprint(String) fingerprint}.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+public final class CostModel {
+    /**
+     * The name of the file the costs are persisted in.
+     */
+    static final String FILE_NAME = "mutation-costs.csv";
+    private static final String HEADER = "class,mutants,millis,runs,fingerprint";
+    // not a valid class name
+    private static final String OVERHEAD = "(process)";
+    // the weight of the latest run in the moving average
+    private static final double SMOOTHING = 0.3;
+    // a timed out mutant runs until the timeout, much longer than a regular test
+    private static final int TIMEOUT_WEIGHT = 10;
+    private final Map<String, Cost> costs_ = new TreeMap<>();
+    private final Map<String, String> fingerprints_ = new HashMap<>();
+    private Cost overhead_;
+
+    /**
+     * Creates an empty cost model.
+     */
+    CostModel() {
+        // no-op
+    }
+
+    /**
+     * Loads the costs from a file.
+     *
+     * @param file the file
+     * @return the cost model, empty if the file does not exist
+     * @throws IOException if an I/O error occurs
+     */
+    static CostModel load(Path file) throws IOException {
+        var model = new CostModel();
+        if (Files.isRegularFile(file)) {
+            for (var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                var fields = line.split(",");
+                // the fingerprint is optional
+                if ((fields.length == 4 || fields.length == 5) && !line.startsWith("class,")) {
+                    try {
+                        var cost = new Cost(Integer.parseInt(fields[1]), Long.parseLong(fields[2]),
+                                Integer.parseInt(fields[3]));
+                        if (OVERHEAD.equals(fields[0])) {
+                            model.overhead_ = cost;
+                        } else {
+                            model.costs_.put(fields[0], cost);
+                            if (fields.length == 5) {
+                                model.fingerprints_.put(fields[0], fields[4]);
+                            }
+                        }
+                    } catch (NumberFormatException ignored) {
+                        // skip malformed line
+                    }
+                }
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Returns the recorded cost of a class.
+     *
+     * @param className the top-level class name
+     * @return the cost, or {@code null} if none was recorded
+     */
+    public Cost cost(String className) {
+        return costs_.get(className);
+    }
+
+    /**
+     * Returns the recorded costs.
+     *
+     * @return the map of top-level class names to costs
+     */
+    public Map<String, Cost> costs() {
+        return Collections.unmodifiableMap(costs_);
+    }
+
+    /**
+     * Returns the estimated duration of the analysis of classes.
+     * <p>
+     * Classes without a recorded cost are estimated at the average cost of the recorded classes.
+     *
+     * @param classNames the top-level class names
+     * @return the estimated duration, {@link Duration#ZERO} if no cost was recorded
+     */
+    public Duration estimate(Collection<String> classNames) {
+        if (costs_.isEmpty()) {
+            return Duration.ZERO;
+        }
+        var average = costs_.values().stream().mapToLong(Cost::millis).sum() / costs_.size();
+        var millis = 0L;
+        for (var className : classNames) {
+            var cost = costs_.get(className);
+            millis += cost == null ? average : cost.millis();
+        }
+        return Duration.ofMillis(millis);
+    }
+
+    /**
+     * Returns the fingerprint of the bytecode and analysis settings a class was recorded with.
+     *
+     * @param className the top-level class name
+     * @return the fingerprint, or {@code null} if none was recorded
+     */
+    String fingerprint(String className) {
+        return fingerprints_.get(className);
+    }
+
+    /**
+     * Records the fingerprint of the bytecode and analysis settings of a class, matching its recorded cost.
+     *
+     * @param className   the top-level class name
+     * @param fingerprint the fingerprint
+     */
+    void fingerprint(String className, String fingerprint) {
+        fingerprints_.put(className, fingerprint);
+    }
+
+    /**
+     * Returns whether no cost was recorded.
+     *
+     * @return {@code true} or {@code false}
+     */
+    public boolean isEmpty() {
+        return costs_.isEmpty();
+    }
+
+    /**
+     * Returns the recorded overhead of a PIT process: starting its JVM, scanning the classpath and running the coverage
+     * analysis, then writing the reports.
+     *
+     * @return the overhead, {@link Duration#ZERO} if none was recorded
+     */
+    public Duration overhead() {
+        return overhead_ == null ? Duration.ZERO : Duration.ofMillis(overhead_.millis());
+    }
+
+    /**
+     * Records the cost of a class, discarding its recorded fingerprint.
+     *
+     * @param className the top-level class name
+     * @param mutants   the number of mutants
+     * @param duration  the time spent analyzing the mutants
+     */
+    void record(String className, int mutants, Duration duration) {
+        costs_.merge(className, new Cost(mutants, duration.toMillis(), 1), CostModel::smooth);
+        fingerprints_.remove(className);
+    }
+
+    /**
+     * Records the costs of the classes of a report, from the duration of the PIT process that produced it.
+     * <p>
+     * The overhead of the process is first subtracted from its duration: the measured overhead, which is then
+     * recorded, or else the {@link #overhead() recorded overhead}. The rest is apportioned between the classes by the
+     * number of tests run against their mutants. A killed mutant is assumed to have run a single test, a surviving
+     * mutant all its succeeding tests, and a timed out mutant is weighed as {@value #TIMEOUT_WEIGHT} tests.
+     *
+     * @param report   the {@code XML} or {@code CSV} report
+     * @param duration the duration of the process
+     * @param overhead the measured overhead of the process, or {@code null} if unknown
+     * @return the recorded top-level class names
+     * @throws IOException if an I/O or parsing error occurs
+     */
+    Set<String> record(Path report, Duration duration, Duration overhead) throws IOException {
+        var mutants = new TreeMap<String, Integer>();
+        var weights = new HashMap<String, Long>();
+        Consumer<PitestResult.Mutant> consumer = mutant -> {
+            var className = TargetClassResolver.topLevelName(mutant.mutatedClass());
+            mutants.merge(className, 1, Integer::sum);
+            weights.merge(className, weight(mutant), Long::sum);
+        };
+        if (report.getFileName().toString().endsWith(".xml")) {
+            MutationReportParser.parseXml(report, consumer);
+        } else {
+            MutationReportParser.parseCsv(report, consumer);
+        }
+
+        if (overhead != null) {
+            var measured = new Cost(0, Math.min(overhead.toMillis(), duration.toMillis()), 1);
+            overhead_ = overhead_ == null ? measured : smooth(overhead_, measured);
+        }
+        var analysis = Math.max(0, duration.toMillis() - (overhead != null ? overhead : overhead()).toMillis());
+        var total = weights.values().stream().mapToLong(Long::longValue).sum();
+        for (var entry : mutants.entrySet()) {
+            var share = total == 0 ? 0 : analysis * weights.get(entry.getKey()) / total;
+            record(entry.getKey(), entry.getValue(), Duration.ofMillis(share));
+        }
+        return mutants.keySet();
+    }
+
+    /**
+     * Saves the costs to a file.
+     *
+     * @param file the file
+     * @throws IOException if an I/O error occurs
+     */
+    void save(Path file) throws IOException {
+        var lines = new ArrayList<String>(costs_.size() + 1);
+        lines.add(HEADER);
+        costs_.forEach((className, cost) -> lines.add(className + ',' + cost.mutants() + ',' + cost.millis() + ','
+                + cost.runs() + ',' + fingerprints_.getOrDefault(className, "")));
+        if (overhead_ != null) {
+            lines.add(OVERHEAD + ',' + overhead_.mutants() + ',' + overhead_.millis() + ',' + overhead_.runs());
+        }
+        var dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        var tmp = Files.createTempFile(dir, "costs", ".tmp");
+        Files.write(tmp, lines, StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Returns the scheduling weights of classes, their estimated cost in milliseconds.
+     * <p>
+     * Classes without a recorded cost are estimated from their bytecode size, using the average cost per byte of the
+     * recorded classes. If none of the classes has a recorded cost, the bytecode sizes are returned unchanged.
+     *
+     * @param sizes the map of top-level class names to bytecode sizes
+     * @return the map of top-level class names to weights
+     */
+    Map<String, Long> weights(Map<String, Long> sizes) {
+        var knownMillis = 0L;
+        var knownBytes = 0L;
+        for (var entry : sizes.entrySet()) {
+            var cost = costs_.get(entry.getKey());
+            if (cost != null) {
+                knownMillis += cost.millis();
+                knownBytes += entry.getValue();
+            }
+        }
+        if (knownBytes == 0 || knownMillis == 0) {
+            return sizes;
+        }
+
+        var millisPerByte = (double) knownMillis / knownBytes;
+        var weights = new TreeMap<String, Long>();
+        sizes.forEach((className, size) -> {
+            var cost = costs_.get(className);
+            weights.put(className, cost != null ? cost.millis() : Math.round(size * millisPerByte));
+        });
+        return weights;
+    }
+
+    /*
+     * Blends the latest cost into the previous one with an exponential moving average.
+     */
+    private static Cost smooth(Cost previous, Cost latest) {
+        return new Cost(latest.mutants(), Math.round(previous.millis() + SMOOTHING
+                * (latest.millis() - previous.millis())), previous.runs() + 1);
+    }
+
+    private static long weight(PitestResult.Mutant mutant) {
+        return switch (mutant.status()) {
+            case PitestResult.NO_COVERAGE -> 0L;
+            case PitestResult.TIMED_OUT -> TIMEOUT_WEIGHT;
+            case PitestResult.SURVIVED -> Math.max(1, mutant.succeedingTests().size());
+            default -> 1L;
+        };
+    }
+
+    /**
+     * The cost of a class.
+     *
+     * @param mutants the number of mutants in the last run
+     * @param millis  the smoothed time spent analyzing the mutants, in milliseconds
+     * @param runs    the number of recorded runs
+     */
+    public record Cost(int mutants, long millis, int runs) {
+    }
+}
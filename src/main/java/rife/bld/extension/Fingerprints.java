@@ -0,0 +1,228 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * SHA-256 fingerprinting utilities.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class Fingerprints {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final Pattern PITEST_JAR = Pattern.compile("pitest-(\\d+\\.\\d+\\.\\d+[^/\\\\]*)\\.jar");
+
+    private Fingerprints() {
+        // no-op
+    }
+
+    /**
+     * Returns the fingerprint of the bytecode of a top-level class and its nested classes.
+     *
+     * @param root      the compiled classes root directory
+     * @param className the top-level class name
+     * @return the fingerprint
+     * @throws IOException if an I/O error occurs
+     */
+    static String classFiles(File root, String className) throws IOException {
+        var slash = className.lastIndexOf('.');
+        var dir = slash < 0 ? root : new File(root, className.substring(0, slash).replace('.', File.separatorChar));
+        var simpleName = className.substring(slash + 1);
+        var files = dir.listFiles((d, name) -> name.equals(simpleName + ".class")
+                || (name.startsWith(simpleName + '$') && name.endsWith(".class")));
+        if (files == null) {
+            return files(List.of());
+        }
+        Arrays.sort(files);
+        return files(List.of(files));
+    }
+
+    /**
+     * Returns a new SHA-256 message digest.
+     *
+     * @return the message digest
+     */
+    static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Returns the fingerprint of the content of files and directories.
+     * <p>
+     * The files are hashed in parallel, then combined in a stable order along with their path relative to their root,
+     * so that renaming a file changes the fingerprint. Missing roots are ignored.
+     *
+     * @param roots the files and directories
+     * @return the fingerprint
+     * @throws IOException if an I/O error occurs
+     */
+    static String files(List<File> roots) throws IOException {
+        var names = new ArrayList<String>();
+        var files = new ArrayList<Path>();
+        for (var i = 0; i < roots.size(); i++) {
+            var root = roots.get(i).toPath();
+            if (Files.isRegularFile(root)) {
+                names.add(i + ":" + root.getFileName());
+                files.add(root);
+            } else if (Files.isDirectory(root)) {
+                var sorted = new TreeMap<String, Path>();
+                try (Stream<Path> walk = Files.walk(root)) {
+                    walk.filter(Files::isRegularFile).forEach(f -> sorted.put(
+                            root.relativize(f).toString().replace(File.separatorChar, '/'), f));
+                }
+                for (var entry : sorted.entrySet()) {
+                    names.add(i + ":" + entry.getKey());
+                    files.add(entry.getValue());
+                }
+            }
+        }
+
+        List<String> hashes;
+        try {
+            hashes = files.parallelStream().map(f -> {
+                try {
+                    return sha256(f);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        var digest = digest();
+        for (var i = 0; i < names.size(); i++) {
+            update(digest, names.get(i));
+            update(digest, hashes.get(i));
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * Returns the hexadecimal representation of bytes.
+     *
+     * @param bytes the bytes
+     * @return the hexadecimal string
+     */
+    static String hex(byte[] bytes) {
+        var chars = new char[bytes.length * 2];
+        for (var i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the fingerprint of options, ignoring the given keys.
+     * <p>
+     * Options are sorted by key, so the fingerprint does not depend on the map iteration order.
+     *
+     * @param options the options
+     * @param ignored the keys to ignore
+     * @return the fingerprint
+     */
+    static String options(Map<String, String> options, Set<String> ignored) {
+        var digest = digest();
+        new TreeMap<>(options).forEach((k, v) -> {
+            if (!ignored.contains(k)) {
+                update(digest, k);
+                update(digest, v);
+            }
+        });
+        return hex(digest.digest());
+    }
+
+    /**
+     * Returns the PIT version found in the given library directories.
+     *
+     * @param directories the library directories
+     * @return the PIT version, or {@code unknown}
+     */
+    static String pitVersion(File... directories) {
+        for (var dir : directories) {
+            var files = dir.list();
+            if (files != null) {
+                for (var file : files) {
+                    var matcher = PITEST_JAR.matcher(file);
+                    if (matcher.matches()) {
+                        return matcher.group(1);
+                    }
+                }
+            }
+        }
+        return "unknown";
+    }
+
+    /**
+     * Returns the fingerprint of a file's content.
+     *
+     * @param file the file
+     * @return the fingerprint
+     * @throws IOException if an I/O error occurs
+     */
+    static String sha256(Path file) throws IOException {
+        var digest = digest();
+        try (var in = Files.newInputStream(file)) {
+            var buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * Returns the fingerprint of strings.
+     *
+     * @param values the strings
+     * @return the fingerprint
+     */
+    static String sha256(Collection<String> values) {
+        var digest = digest();
+        values.forEach(v -> update(digest, v));
+        return hex(digest.digest());
+    }
+
+    /**
+     * Updates a digest with a string, followed by a separator.
+     *
+     * @param digest the digest
+     * @param value  the string
+     */
+    static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Determines the classes whose sources changed against a base revision of the local Git repository.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class GitChangedClasses {
+    private static final String JAVA_EXT = ".java";
+
+    private GitChangedClasses() {
+        // no-op
+    }
+
+    /**
+     * Returns the files changed since the merge base of the given revision and {@code HEAD}, including uncommitted
+     * and untracked files. Deleted files are not included.
+     *
+     * @param workDir the working directory, paths are relative to it
+     * @param baseRef the base revision, e.g. {@code origin/main}
+     * @return the changed files
+     * @throws IOException          if Git could not be run or failed
+     * @throws InterruptedException if interrupted while waiting for Git
+     */
+    static Set<String> changedFiles(File workDir, String baseRef) throws IOException, InterruptedException {
+        var files = new TreeSet<String>();
+        files.addAll(git(workDir, "diff", "--name-only", "--relative", "--diff-filter=d", mergeBase(workDir, baseRef),
+                "--"));
+        files.addAll(git(workDir, "ls-files", "--others", "--exclude-standard"));
+        return files;
+    }
+
+    /**
+     * Returns the merge base of the given revision and {@code HEAD}.
+     *
+     * @param workDir the working directory
+     * @param baseRef the base revision, e.g. {@code origin/main}
+     * @return the commit ID of the merge base
+     * @throws IOException          if Git could not be run or failed
+     * @throws InterruptedException if interrupted while waiting for Git
+     */
+    static String mergeBase(File workDir, String baseRef) throws IOException, InterruptedException {
+        var mergeBase = git(workDir, "merge-base", baseRef, "HEAD");
+        if (mergeBase.isEmpty()) {
+            throw new IOException("Could not find the merge base of: " + baseRef);
+        }
+        return mergeBase.get(0);
+    }
+
+    /**
+     * Maps changed source files to the top-level classes they define.
+     * <p>
+     * Only Java sources located under the source directory, and for which a compiled class exists, are considered.
+     *
+     * @param files           the changed files
+     * @param workDir         the working directory the files are relative to
+     * @param sourceDirectory the main Java sources directory
+     * @param classDirectory  the compiled main classes directory
+     * @return the sorted class names
+     */
+    static SortedSet<String> toClassNames(Collection<String> files, File workDir, File sourceDirectory,
+                                          File classDirectory) {
+        var sourcePath = sourceDirectory.toPath().toAbsolutePath().normalize();
+        var classes = new TreeSet<String>();
+        for (var file : files) {
+            if (!file.endsWith(JAVA_EXT)) {
+                continue;
+            }
+            var path = workDir.toPath().resolve(file).toAbsolutePath().normalize();
+            if (!path.startsWith(sourcePath)) {
+                continue;
+            }
+            var relative = sourcePath.relativize(path).toString();
+            relative = relative.substring(0, relative.length() - JAVA_EXT.length());
+            if (new File(classDirectory, relative + ".class").isFile()) {
+                classes.add(relative.replace(File.separatorChar, '.'));
+            }
+        }
+        return classes;
+    }
+
+    private static List<String> git(File workDir, String... args) throws IOException, InterruptedException {
+        var command = new ArrayList<String>(args.length + 1);
+        command.add("git");
+        command.addAll(List.of(args));
+
+        var process = new ProcessBuilder(command).directory(workDir).redirectErrorStream(true).start();
+        List<String> lines;
+        try (var reader = process.inputReader(StandardCharsets.UTF_8)) {
+            lines = reader.lines().filter(l -> !l.isBlank()).toList();
+        }
+        if (process.waitFor() != 0) {
+            throw new IOException("git " + String.join(" ", args) + " failed: " + String.join("\n", lines));
+        }
+        return lines;
+    }
+}
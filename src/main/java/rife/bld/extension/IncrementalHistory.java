@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Stream;
+
+/**
+ * Manages the lifecycle of a PIT history file used for incremental analysis.
+ * <p>
+ * The history file is named after a fingerprint of the analysis settings, so that history recorded with different
+ * settings, a different classpath or PIT version is never reused. PIT writes to a temporary file which only replaces
+ * the history once the run succeeded, and a checksum guards against reading a corrupted history.
+ * <p>
+ * The history directory must not be shared between operations, as the history of other settings is deleted.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class IncrementalHistory {
+    private static final String CHECKSUM_EXT = ".sha256";
+    private static final String HISTORY_EXT = ".history";
+    private final Path directory_;
+    private final String fingerprint_;
+
+    /**
+     * Creates a new history.
+     *
+     * @param directory   the directory history files are stored in, specific to an operation
+     * @param fingerprint the fingerprint of the analysis settings
+     */
+    IncrementalHistory(Path directory, String fingerprint) {
+        directory_ = directory;
+        fingerprint_ = fingerprint;
+    }
+
+    /**
+     * Makes the history written by the last run the input of the next one.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void commit() throws IOException {
+        var output = output();
+        if (Files.isRegularFile(output) && Files.size(output) > 0) {
+            var checksum = Fingerprints.sha256(output);
+            try {
+                Files.move(output, input(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(output, input(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.writeString(checksumFile(), checksum, StandardCharsets.UTF_8);
+        } else {
+            discard();
+        }
+    }
+
+    /**
+     * Discards the history written by the last run.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void discard() throws IOException {
+        Files.deleteIfExists(output());
+    }
+
+    /**
+     * Returns the history input file.
+     *
+     * @return the input file
+     */
+    Path input() {
+        return directory_.resolve(fingerprint_ + HISTORY_EXT);
+    }
+
+    /**
+     * Returns the history output file.
+     *
+     * @return the output file
+     */
+    Path output() {
+        return directory_.resolve(fingerprint_ + HISTORY_EXT + ".tmp");
+    }
+
+    /**
+     * Prepares the history for a new run.
+     * <p>
+     * The history files of the directory recorded with other settings, and the current history if its checksum does
+     * not match, are deleted.
+     *
+     * @return {@code true} if a valid history is available as input
+     * @throws IOException if an I/O error occurs
+     */
+    boolean prepare() throws IOException {
+        Files.createDirectories(directory_);
+        try (Stream<Path> files = Files.list(directory_)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                if (!file.getFileName().toString().startsWith(fingerprint_)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        discard();
+
+        var input = input();
+        var checksum = checksumFile();
+        if (Files.isRegularFile(input) && Files.isRegularFile(checksum)
+                && Files.readString(checksum, StandardCharsets.UTF_8).trim().equals(Fingerprints.sha256(input))) {
+            return true;
+        }
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(checksum);
+        return false;
+    }
+
+    private Path checksumFile() {
+        return directory_.resolve(fingerprint_ + HISTORY_EXT + CHECKSUM_EXT);
+    }
+}
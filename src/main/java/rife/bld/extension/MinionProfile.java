@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * The JVM tuning profiles of the PIT minions, the child processes running the tests against the mutants.
+ * <p>
+ * The arguments of a profile come before the {@link PitestOperation#jvmArgs(String...) jvmArgs} and
+ * {@link PitestOperation#argLine(String) argLine}, which override the profile's arguments setting the same option,
+ * e.g. {@code -XX:+UseG1GC} overrides {@code -XX:+UseSerialGC}, and {@code -Xmx1g} overrides both {@code -Xms512m}
+ * and {@code -Xmx512m}. Arguments not supported by the Java version of the minions are left out.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+public enum MinionProfile {
+    /**
+     * For minions running for a few seconds, which is the common case: the serial garbage collector, the C1 compiler
+     * only, a fixed 512 MB heap, JVM ergonomics sized for a single processor since the minions already run in
+     * parallel, no performance data file, and class data sharing.
+     */
+    SHORT_LIVED("-XX:+UseSerialGC", "-XX:TieredStopAtLevel=1", "-Xms512m", "-Xmx512m",
+            "-XX:ActiveProcessorCount=1", "-XX:-UsePerfData", "-Xshare:auto"),
+    /**
+     * For minions running long or memory-hungry test suites: the parallel garbage collector and a 2 GB heap.
+     */
+    THROUGHPUT("-XX:+UseParallelGC", "-Xms1g", "-Xmx2g");
+
+    private static final Pattern GC = Pattern.compile("-XX:[+-]Use\\w*GC");
+    // setting either one alone could conflict with the other
+    private static final Set<String> HEAP = Set.of("-Xms", "-Xmx");
+    private static final Pattern JAVA_VERSION = Pattern.compile("JAVA_VERSION=\"(?:1\\.)?(\\d+).*\"");
+    // the first Java version supporting an option, if later than 8
+    private static final Map<String, Integer> SINCE = Map.of("-XX:ActiveProcessorCount", 10);
+    private final List<String> args_;
+
+    MinionProfile(String... args) {
+        args_ = List.of(args);
+    }
+
+    /**
+     * Returns the Java version of a Java executable, from the {@code release} file of its home directory.
+     *
+     * @param executable the real path of the Java executable
+     * @return the feature version, e.g. {@code 17}, or {@code -1} if unknown
+     */
+    static int javaVersion(Path executable) {
+        var bin = executable.getParent();
+        if (bin != null && bin.getParent() != null) {
+            var release = bin.getParent().resolve("release");
+            if (Files.isRegularFile(release)) {
+                try {
+                    for (var line : Files.readAllLines(release, StandardCharsets.UTF_8)) {
+                        var matcher = JAVA_VERSION.matcher(line.trim());
+                        if (matcher.matches()) {
+                            return Integer.parseInt(matcher.group(1));
+                        }
+                    }
+                } catch (IOException | NumberFormatException ignored) {
+                    // unknown
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the option set by a JVM argument, e.g. {@code -Xmx} for {@code -Xmx512m}, or {@code -XX:+UseGC} for
+     * any garbage collector selection.
+     *
+     * @param arg the JVM argument
+     * @return the option
+     */
+    static String option(String arg) {
+        if (GC.matcher(arg).matches()) {
+            return "-XX:+UseGC";
+        }
+        if (arg.startsWith("-XX:")) {
+            var end = arg.indexOf('=');
+            var name = arg.substring(4, end < 0 ? arg.length() : end);
+            return "-XX:" + (name.startsWith("+") || name.startsWith("-") ? name.substring(1) : name);
+        }
+        for (var prefix : List.of("-Xms", "-Xmx", "-Xss", "-Xshare")) {
+            if (arg.startsWith(prefix)) {
+                return prefix;
+            }
+        }
+        var end = arg.indexOf('=');
+        return end < 0 ? arg : arg.substring(0, end);
+    }
+
+    /**
+     * Returns the arguments of this profile.
+     *
+     * @return the JVM arguments
+     */
+    public List<String> args() {
+        return args_;
+    }
+
+    /**
+     * Returns the arguments of this profile to pass before the user's, leaving out those overridden by the user's or
+     * not supported by the Java version of the minions.
+     *
+     * @param userArgs    the user's JVM arguments
+     * @param javaVersion the Java version of the minions, or {@code -1} if unknown
+     * @param unsupported the consumer of the arguments not supported by the Java version
+     * @return the JVM arguments
+     */
+    List<String> argsFor(List<String> userArgs, int javaVersion, Consumer<String> unsupported) {
+        var overridden = new HashSet<String>();
+        for (var arg : userArgs) {
+            var option = option(arg);
+            overridden.addAll(HEAP.contains(option) ? HEAP : Set.of(option));
+        }
+
+        var args = new ArrayList<String>();
+        for (var arg : args_) {
+            var option = option(arg);
+            if (!overridden.contains(option)) {
+                if (javaVersion > 0 && javaVersion < SINCE.getOrDefault(option, 8)) {
+                    unsupported.accept(arg);
+                } else {
+                    args.add(arg);
+                }
+            }
+        }
+        return args;
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Streaming parser for the PIT {@code mutations.xml} and {@code mutations.csv} reports.
+ * <p>
+ * The XML report is read with StAX, one mutation at a time, so memory usage does not depend on the report size.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class MutationReportParser {
+    private static final String MUTATION = "mutation";
+    private static final String NONE = "none";
+    private static final Pattern TIMESTAMP = Pattern.compile("\\d+");
+
+    private MutationReportParser() {
+        // no-op
+    }
+
+    /**
+     * Finds the mutation report in a report directory.
+     * <p>
+     * The XML report is preferred over the CSV report. If the report directory contains neither, the most recent
+     * timestamped report subdirectory is searched instead.
+     *
+     * @param reportDir the report directory
+     * @return the report, or {@code null} if none was found
+     * @throws IOException if an I/O error occurs
+     * @see #find(Path, long)
+     */
+    static Path find(Path reportDir) throws IOException {
+        return find(reportDir, Long.MIN_VALUE);
+    }
+
+    /**
+     * Finds the mutation report written to a report directory since the given time.
+     * <p>
+     * The XML report is preferred over the CSV report. If the report directory contains neither, the most recent
+     * timestamped report subdirectory is searched instead. Only the subdirectories named after their creation time, as
+     * written by PIT, are considered, and reports last modified before the given time are ignored.
+     *
+     * @param reportDir the report directory
+     * @param since     the time, in milliseconds since the epoch
+     * @return the report, or {@code null} if none was found
+     * @throws IOException if an I/O error occurs
+     */
+    static Path find(Path reportDir, long since) throws IOException {
+        var report = findIn(reportDir, since);
+        if (report == null && Files.isDirectory(reportDir)) {
+            var latest = latestTimestamped(reportDir);
+            if (latest != null) {
+                report = findIn(latest, since);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Returns whether a directory is a timestamped report directory, named after its creation time by PIT.
+     *
+     * @param dir the directory
+     * @return {@code true} or {@code false}
+     */
+    static boolean isTimestamped(Path dir) {
+        return TIMESTAMP.matcher(dir.getFileName().toString()).matches() && Files.isDirectory(dir);
+    }
+
+    /**
+     * Returns the most recent timestamped report subdirectory of a report directory.
+     *
+     * @param reportDir the report directory
+     * @return the subdirectory, or {@code null} if none was found
+     * @throws IOException if an I/O error occurs
+     */
+    static Path latestTimestamped(Path reportDir) throws IOException {
+        if (!Files.isDirectory(reportDir)) {
+            return null;
+        }
+        try (Stream<Path> dirs = Files.list(reportDir)) {
+            return dirs.filter(MutationReportParser::isTimestamped)
+                    .max(Comparator.comparing((Path d) -> d.getFileName().toString().length())
+                            .thenComparing(Path::getFileName))
+                    .orElse(null);
+        }
+    }
+
+    /**
+     * Parses the mutation report found in a report directory.
+     *
+     * @param reportDir the report directory
+     * @return the results, or {@code null} if no report was found
+     * @throws IOException if an I/O or parsing error occurs
+     * @see #find(Path)
+     */
+    static PitestResult parse(Path reportDir) throws IOException {
+        return parse(reportDir, Long.MIN_VALUE);
+    }
+
+    /**
+     * Parses the mutation report written to a report directory since the given time.
+     *
+     * @param reportDir the report directory
+     * @param since     the time, in milliseconds since the epoch
+     * @return the results, or {@code null} if no report was found
+     * @throws IOException if an I/O or parsing error occurs
+     * @see #find(Path, long)
+     */
+    static PitestResult parse(Path reportDir, long since) throws IOException {
+        var report = find(reportDir, since);
+        if (report == null) {
+            return null;
+        }
+        var result = new PitestResult();
+        if (report.getFileName().toString().endsWith(".xml")) {
+            result.partial(parseXml(report, result::add));
+        } else {
+            parseCsv(report, result::add);
+        }
+        return result;
+    }
+
+    /**
+     * Parses a CSV mutation report.
+     *
+     * @param report   the report
+     * @param consumer the consumer receiving each mutant
+     * @throws IOException if an I/O error occurs
+     */
+    static void parseCsv(Path report, Consumer<PitestResult.Mutant> consumer) throws IOException {
+        try (var reader = Files.newBufferedReader(report, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // sourceFile,mutatedClass,mutator,method,lineNumber,status,killingTest
+                var fields = line.split(",", 7);
+                if (fields.length < 6) {
+                    continue;
+                }
+                var killingTests = fields.length == 7 && !NONE.equals(fields[6]) && !fields[6].isBlank()
+                        ? List.of(fields[6]) : List.<String>of();
+                consumer.accept(new PitestResult.Mutant(fields[1], fields[3], "", parseInt(fields[4]), fields[2],
+                        "", fields[5], PitestResult.Mutant.isDetected(fields[5]), killingTests, List.of(),
+                        fields[0]));
+            }
+        }
+    }
+
+    /**
+     * Parses an XML mutation report.
+     *
+     * @param report   the report
+     * @param consumer the consumer receiving each mutant
+     * @return whether the report is partial
+     * @throws IOException if an I/O or parsing error occurs
+     */
+    static boolean parseXml(Path report, Consumer<PitestResult.Mutant> consumer) throws IOException {
+        var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        var partial = false;
+        try (var in = Files.newInputStream(report)) {
+            var reader = factory.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        var name = reader.getLocalName();
+                        if (MUTATION.equals(name)) {
+                            consumer.accept(readMutation(reader));
+                        } else if ("mutations".equals(name)) {
+                            partial = Boolean.parseBoolean(reader.getAttributeValue(null, "partial"));
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not parse the mutation report: " + report, e);
+        }
+        return partial;
+    }
+
+    private static Path findIn(Path dir, long since) throws IOException {
+        for (var name : List.of(ReportMerger.MUTATIONS_XML, ReportMerger.MUTATIONS_CSV)) {
+            var report = dir.resolve(name);
+            if (Files.isRegularFile(report) && (since == Long.MIN_VALUE
+                    || Files.getLastModifiedTime(report).toMillis() >= since)) {
+                return report;
+            }
+        }
+        return null;
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static PitestResult.Mutant readMutation(XMLStreamReader reader) throws XMLStreamException {
+        var status = reader.getAttributeValue(null, "status");
+        var detectedValue = reader.getAttributeValue(null, "detected");
+        var detected = detectedValue == null ? PitestResult.Mutant.isDetected(status)
+                : Boolean.parseBoolean(detectedValue);
+
+        String sourceFile = "";
+        String mutatedClass = "";
+        String mutatedMethod = "";
+        String methodDescription = "";
+        String mutator = "";
+        String description = "";
+        var lineNumber = 0;
+        List<String> killingTests = List.of();
+        List<String> succeedingTests = List.of();
+
+        var depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            var event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "sourceFile" -> sourceFile = reader.getElementText();
+                    case "mutatedClass" -> mutatedClass = reader.getElementText();
+                    case "mutatedMethod" -> mutatedMethod = reader.getElementText();
+                    case "methodDescription" -> methodDescription = reader.getElementText();
+                    case "lineNumber" -> lineNumber = parseInt(reader.getElementText());
+                    case "mutator" -> mutator = reader.getElementText();
+                    case "description" -> description = reader.getElementText();
+                    case "killingTest", "killingTests" -> killingTests = splitTests(reader.getElementText());
+                    case "succeedingTests" -> succeedingTests = splitTests(reader.getElementText());
+                    default -> depth++;
+                }
+            }
+        }
+
+        return new PitestResult.Mutant(mutatedClass, mutatedMethod, methodDescription, lineNumber, mutator,
+                description, status, detected, killingTests, succeedingTests, sourceFile);
+    }
+
+    private static List<String> splitTests(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        var tests = new ArrayList<String>();
+        for (var test : value.split("\\|")) {
+            if (!test.isBlank()) {
+                tests.add(test.trim());
+            }
+        }
+        return tests;
+    }
+}
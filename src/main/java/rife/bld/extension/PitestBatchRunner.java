@@ -0,0 +1,290 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs PIT command lines as concurrent processes, using a fixed number of workers.
+ * <p>
+ * Command lines are started in the order they are submitted, each worker picking up the next one as soon as its
+ * current process exits.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class PitestBatchRunner {
+    /**
+     * The exit value of a command line not started, or stopped, because of the deadline, or because the run was
+     * {@link #cancel() cancelled}.
+     */
+    static final int SKIPPED = Integer.MIN_VALUE;
+    private final Set<Process> destroyed_ = ConcurrentHashMap.newKeySet();
+    private final BiConsumer<Integer, String> error_;
+    private final BiConsumer<Integer, String> output_;
+    private final Set<Process> processes_ = ConcurrentHashMap.newKeySet();
+    private final File workDirectory_;
+    private final int workers_;
+    private volatile boolean cancelled_;
+    private List<Duration> durations_ = List.of();
+    private volatile boolean expired_;
+
+    /**
+     * Creates a new runner.
+     *
+     * @param workers       the maximum number of concurrent processes
+     * @param workDirectory the processes working directory
+     */
+    PitestBatchRunner(int workers, File workDirectory) {
+        this(workers, workDirectory, null, null);
+    }
+
+    /**
+     * Creates a new runner, passing the output of the processes to a consumer instead of the console.
+     * <p>
+     * The consumer is called from the worker threads, with the index of the command line and each line of its
+     * standard output and error.
+     *
+     * @param workers       the maximum number of concurrent processes
+     * @param workDirectory the processes working directory
+     * @param output        the output consumer, or {@code null} to inherit the console
+     */
+    PitestBatchRunner(int workers, File workDirectory, BiConsumer<Integer, String> output) {
+        this(workers, workDirectory, output, null);
+    }
+
+    /**
+     * Creates a new runner, passing the standard output and error of the processes to separate consumers instead of
+     * the console.
+     * <p>
+     * The consumers are called from the worker threads, and from a thread per process reading its standard error,
+     * with the index of the command line and each line of output.
+     *
+     * @param workers       the maximum number of concurrent processes
+     * @param workDirectory the processes working directory
+     * @param output        the standard output consumer, or {@code null} to inherit the console
+     * @param error         the standard error consumer, or {@code null} to pass the standard error to the output
+     *                      consumer
+     */
+    PitestBatchRunner(int workers, File workDirectory, BiConsumer<Integer, String> output,
+                      BiConsumer<Integer, String> error) {
+        workers_ = Math.max(1, workers);
+        workDirectory_ = workDirectory;
+        output_ = output;
+        error_ = output == null ? null : error;
+    }
+
+    /**
+     * Cancels the current run: no further command line is started, and the running processes, with their child
+     * processes, are destroyed.
+     */
+    void cancel() {
+        cancelled_ = true;
+        for (var process : processes_) {
+            destroyed_.add(process);
+            destroy(process);
+        }
+    }
+
+    /**
+     * Returns the durations of the processes of the last {@link #run(List) run}.
+     *
+     * @return the durations, in the order of the command lines
+     */
+    List<Duration> durations() {
+        return durations_;
+    }
+
+    /**
+     * Returns whether the deadline of the last {@link #run(List, Instant, List, IntConsumer) run} was hit, leaving
+     * command lines not started or stopped.
+     *
+     * @return {@code true} or {@code false}
+     */
+    boolean isExpired() {
+        return expired_;
+    }
+
+    /**
+     * Runs the command lines and waits for all of them to complete.
+     *
+     * @param commands the command lines
+     * @return the processes exit values, in the order of the command lines
+     * @throws IOException          if a process could not be started
+     * @throws InterruptedException if interrupted while waiting, all running processes, with their child processes, are
+     *                              destroyed
+     */
+    List<Integer> run(List<List<String>> commands) throws IOException, InterruptedException {
+        return run(commands, null, null, null);
+    }
+
+    /**
+     * Runs the command lines and waits for all of them to complete, or for the deadline.
+     * <p>
+     * A command line is not started if its estimated duration would take it past the deadline, and the processes
+     * still running at the deadline are destroyed, with their child processes. The listener is called from the worker
+     * threads, with the index of each command line as soon as its process exits, and may {@link #cancel() cancel}
+     * the run.
+     *
+     * @param commands  the command lines
+     * @param deadline  the deadline, or {@code null} for none
+     * @param estimates the estimated durations of the command lines, or {@code null} if unknown
+     * @param listener  the listener, or {@code null} for none
+     * @return the processes exit values, in the order of the command lines, {@link #SKIPPED} for the command lines
+     * that were not started or were stopped
+     * @throws IOException          if a process could not be started
+     * @throws InterruptedException if interrupted while waiting, all running processes, with their child processes, are
+     *                              destroyed
+     */
+    List<Integer> run(List<List<String>> commands, Instant deadline, List<Duration> estimates, IntConsumer listener)
+            throws IOException, InterruptedException {
+        expired_ = false;
+        var executor = Executors.newFixedThreadPool(Math.min(workers_, Math.max(1, commands.size())));
+        ScheduledExecutorService timer = null;
+        if (deadline != null) {
+            timer = Executors.newSingleThreadScheduledExecutor();
+            timer.schedule(() -> {
+                if (!cancelled_) {
+                    expired_ = true;
+                    cancel();
+                }
+            }, Math.max(0, Duration.between(Instant.now(), deadline).toMillis()), TimeUnit.MILLISECONDS);
+        }
+        try {
+            var durations = new Duration[commands.size()];
+            var futures = new ArrayList<Future<Integer>>(commands.size());
+            for (var i = 0; i < commands.size(); i++) {
+                var index = i;
+                futures.add(executor.submit(() -> {
+                    if (cancelled_) {
+                        durations[index] = Duration.ZERO;
+                        return SKIPPED;
+                    }
+                    if (deadline != null && Instant.now().plus(estimates == null ? Duration.ZERO
+                            : estimates.get(index)).isAfter(deadline)) {
+                        // a shorter command line may still fit
+                        expired_ = true;
+                        durations[index] = Duration.ZERO;
+                        return SKIPPED;
+                    }
+                    var start = System.nanoTime();
+                    int exitValue;
+                    try {
+                        exitValue = runProcess(index, commands.get(index));
+                    } finally {
+                        durations[index] = Duration.ofNanos(System.nanoTime() - start);
+                    }
+                    if (exitValue != SKIPPED && listener != null) {
+                        listener.accept(index);
+                    }
+                    return exitValue;
+                }));
+            }
+
+            var exitValues = new ArrayList<Integer>(commands.size());
+            for (var future : futures) {
+                exitValues.add(future.get());
+            }
+            durations_ = List.of(durations);
+            return exitValues;
+        } catch (ExecutionException e) {
+            destroyAll();
+            if (e.getCause() instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException("Could not run PIT.", e.getCause());
+        } catch (InterruptedException e) {
+            destroyAll();
+            throw e;
+        } finally {
+            executor.shutdownNow();
+            if (timer != null) {
+                timer.shutdownNow();
+            }
+        }
+    }
+
+    private static void destroy(Process process) {
+        // the minions are child processes of PIT
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    private void destroyAll() {
+        processes_.forEach(PitestBatchRunner::destroy);
+    }
+
+    private static void readLines(BufferedReader in, Consumer<String> consumer) throws IOException {
+        try (var reader = in) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                consumer.accept(line);
+            }
+        }
+    }
+
+    private int runProcess(int index, List<String> command) throws IOException, InterruptedException {
+        var builder = new ProcessBuilder(command).directory(workDirectory_);
+        if (output_ == null) {
+            builder.inheritIO();
+        } else {
+            builder.redirectInput(ProcessBuilder.Redirect.INHERIT).redirectErrorStream(error_ == null);
+        }
+        var process = builder.start();
+        processes_.add(process);
+        if (cancelled_) {
+            // cancelled while starting
+            destroyed_.add(process);
+            destroy(process);
+        }
+        Thread errorReader = null;
+        if (error_ != null) {
+            errorReader = new Thread(() -> {
+                try {
+                    readLines(process.errorReader(), line -> error_.accept(index, line));
+                } catch (IOException e) {
+                    // the process was destroyed
+                }
+            }, "pitest-error-" + (index + 1));
+            errorReader.setDaemon(true);
+            errorReader.start();
+        }
+        try {
+            if (output_ != null) {
+                readLines(process.inputReader(), line -> output_.accept(index, line));
+            }
+            if (errorReader != null) {
+                errorReader.join();
+            }
+            var exitValue = process.waitFor();
+            return destroyed_.contains(process) ? SKIPPED : exitValue;
+        } finally {
+            processes_.remove(process);
+        }
+    }
+}
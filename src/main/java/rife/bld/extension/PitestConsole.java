@@ -0,0 +1,284 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the output of PIT processes line by line, rendering a compact progress line with an estimated time of
+ * arrival, and writing the raw output to a log file.
+ * <p>
+ * Only warnings, errors and the final statistics are passed through to the console. Mutant completions are only
+ * reported by PIT with verbose logging; otherwise, the estimated time of arrival is derived from the
+ * {@link CostModel cost model}.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class PitestConsole implements Closeable {
+    private static final long INTERACTIVE_INTERVAL = 250;
+    private static final Pattern MUTANT_RESULT = Pattern.compile(".*\\bdetected = [A-Z_]+.*");
+    private static final Pattern PASS_THROUGH = Pattern.compile(
+            "(?:>>.*|.*(?:\\b(?:ERROR|SEVERE|WARNING)\\b|(?:Exception|Error)\\b).*)");
+    private static final long PLAIN_INTERVAL = 10_000;
+    private final int batches_;
+    private final Duration estimate_;
+    private final long expectedMutants_;
+    private final boolean isInteractive_;
+    private final BufferedWriter log_;
+    private final PrintStream out_;
+    private final long start_ = System.currentTimeMillis();
+    private int completedBatches_;
+    private long completedMutants_;
+    private long lastRender_;
+    private int lineLength_;
+    private Phase phase_ = Phase.SCAN;
+
+    /**
+     * Creates a new console.
+     *
+     * @param logFile         the log file, overwritten
+     * @param out             the console stream, or {@code null} to only write the log file
+     * @param isInteractive   whether the progress line is updated in place
+     * @param estimate        the estimated duration, {@link Duration#ZERO} if unknown
+     * @param expectedMutants the estimated number of mutants, or {@code -1} if unknown
+     * @param batches         the number of batches, or {@code 0} if not batched
+     * @throws IOException if the log file could not be created
+     */
+    PitestConsole(Path logFile, PrintStream out, boolean isInteractive, Duration estimate, long expectedMutants,
+                  int batches) throws IOException {
+        Files.createDirectories(logFile.toAbsolutePath().getParent());
+        log_ = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8);
+        out_ = out;
+        isInteractive_ = isInteractive;
+        estimate_ = estimate;
+        expectedMutants_ = expectedMutants;
+        batches_ = batches;
+    }
+
+    /**
+     * Formats a duration as {@code mm:ss}, or {@code h:mm:ss}.
+     *
+     * @param millis the duration in milliseconds
+     * @return the formatted duration
+     */
+    static String format(long millis) {
+        var seconds = Math.max(0, millis) / 1000;
+        if (seconds >= 3600) {
+            return String.format(Locale.ROOT, "%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60);
+        }
+        return String.format(Locale.ROOT, "%02d:%02d", seconds / 60, seconds % 60);
+    }
+
+    /**
+     * Returns whether a line reports the result of a mutant.
+     *
+     * @param line the line
+     * @return {@code true} or {@code false}
+     */
+    static boolean isMutantResult(String line) {
+        return MUTANT_RESULT.matcher(line).matches();
+    }
+
+    /**
+     * Returns whether a line is passed through to the console: warnings, errors and statistics.
+     *
+     * @param line the line
+     * @return {@code true} or {@code false}
+     */
+    static boolean isPassThrough(String line) {
+        return PASS_THROUGH.matcher(line.trim()).matches();
+    }
+
+    /**
+     * Returns the phase a line starts, if any.
+     *
+     * @param line the line
+     * @return the phase, or {@code null}
+     */
+    static Phase phase(String line) {
+        if (line.contains("test classes to minion")) {
+            return Phase.COVERAGE;
+        }
+        if (line.contains("mutation test units") && !line.contains("pre scan")) {
+            return Phase.MUTATION;
+        }
+        if (line.contains("Completed in ")) {
+            return Phase.REPORT;
+        }
+        return null;
+    }
+
+    /**
+     * Processes a line of output.
+     *
+     * @param line the line
+     * @return always {@code true}, for use as an output processor
+     */
+    boolean accept(String line) {
+        return accept(null, line);
+    }
+
+    /**
+     * Processes a line of output.
+     *
+     * @param source the source of the line, prefixed in the log file, or {@code null}
+     * @param line   the line
+     * @return always {@code true}, for use as an output processor
+     */
+    synchronized boolean accept(String source, String line) {
+        try {
+            if (source != null) {
+                log_.write(source);
+                log_.write(' ');
+            }
+            log_.write(line);
+            log_.newLine();
+        } catch (IOException ignored) {
+            // the console output is more important than the log
+        }
+
+        var isPhaseChange = false;
+        var phase = phase(line);
+        if (phase != null && phase.ordinal() > phase_.ordinal()) {
+            phase_ = phase;
+            isPhaseChange = true;
+        }
+        if (isMutantResult(line)) {
+            completedMutants_++;
+        }
+        if (out_ != null) {
+            if (isPassThrough(line)) {
+                clearLine();
+                out_.println(line);
+                // restore the progress line
+                isPhaseChange |= isInteractive_;
+            }
+            render(isPhaseChange);
+        }
+        return true;
+    }
+
+    /**
+     * Records the completion of a batch.
+     */
+    synchronized void batchCompleted() {
+        completedBatches_++;
+        if (out_ != null) {
+            render(true);
+        }
+    }
+
+    /**
+     * Finishes the progress line and closes the log file.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (out_ != null && isInteractive_ && lineLength_ > 0) {
+            out_.println();
+        }
+        log_.close();
+    }
+
+    /**
+     * Returns the progress line.
+     *
+     * @param elapsed the elapsed time in milliseconds
+     * @return the progress line
+     */
+    synchronized String progressLine(long elapsed) {
+        var line = new StringBuilder("[").append(phase_.label()).append(']');
+        if (batches_ > 0) {
+            line.append(' ').append(completedBatches_).append('/').append(batches_).append(" batches");
+        }
+        if (completedMutants_ > 0) {
+            line.append(' ').append(completedMutants_);
+            if (expectedMutants_ > 0) {
+                line.append('/').append(expectedMutants_);
+            }
+            line.append(" mutants");
+        }
+        line.append(", ").append(format(elapsed)).append(" elapsed");
+
+        var remaining = -1L;
+        if (expectedMutants_ > 0 && completedMutants_ > 0) {
+            remaining = elapsed * Math.max(0, expectedMutants_ - completedMutants_) / completedMutants_;
+        } else if (batches_ > 0 && completedBatches_ > 0) {
+            remaining = elapsed * (batches_ - completedBatches_) / completedBatches_;
+        } else if (!estimate_.isZero()) {
+            remaining = estimate_.toMillis() - elapsed;
+        }
+        if (remaining >= 0 && phase_ != Phase.REPORT) {
+            line.append(", ETA ").append(format(remaining));
+        }
+        return line.toString();
+    }
+
+    private void clearLine() {
+        if (isInteractive_ && lineLength_ > 0) {
+            out_.print('\r' + " ".repeat(lineLength_) + '\r');
+            lineLength_ = 0;
+        }
+    }
+
+    private void render(boolean isForced) {
+        var now = System.currentTimeMillis();
+        if (!isForced && now - lastRender_ < (isInteractive_ ? INTERACTIVE_INTERVAL : PLAIN_INTERVAL)) {
+            return;
+        }
+        lastRender_ = now;
+        var line = progressLine(now - start_);
+        if (isInteractive_) {
+            out_.print('\r' + line + " ".repeat(Math.max(0, lineLength_ - line.length())));
+            lineLength_ = line.length();
+        } else {
+            out_.println(line);
+        }
+        out_.flush();
+    }
+
+    /**
+     * The phases of a PIT run.
+     */
+    enum Phase {
+        SCAN("scan"),
+        COVERAGE("coverage"),
+        MUTATION("mutation analysis"),
+        REPORT("report");
+
+        private final String label_;
+
+        Phase(String label) {
+            label_ = label;
+        }
+
+        String label() {
+            return label_;
+        }
+    }
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.URISyntaxException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * A long-lived JVM running PIT through its {@link PitestEntryPoint entry point} on request, over a Unix domain
+ * socket.
+ * <p>
+ * PIT stays loaded and compiled by the JIT between requests, so that only the minions are started for each run. The
+ * socket is named after the fingerprint of the daemon's classpath and libraries: when these change, a new daemon is
+ * started and the stale ones are stopped. A daemon stops by itself when no request has run for {@link #IDLE_TIMEOUT}.
+ * The sockets are only used in a {@link #secureDirectory(Path) directory private to the current user}.
+ * <p>
+ * Only the JVM is kept warm: PIT has no API to reuse a classpath scan or coverage data across analyses, so that each
+ * request still scans the classpath and computes the coverage.
+ * <p>
+ * The output of PIT is relayed to the client while a request runs, and written to the daemon's log otherwise.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class PitestDaemon {
+    /**
+     * The time after which an idle daemon stops.
+     */
+    static final Duration IDLE_TIMEOUT = Duration.ofHours(3);
+    private static final byte ERROR_ARGUMENT = 'A';
+    private static final byte ERROR_NOT_FOUND = 'N';
+    private static final byte ERROR_STATE = 'S';
+    private static final Logger LOGGER = Logger.getLogger(PitestDaemon.class.getName());
+    private static final byte OUTPUT = 'O';
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+    private static final byte RESULT = 'R';
+    private static final byte RUN = 'r';
+    private static final String SOCKET_EXT = ".sock";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+    private static final byte STOP = 's';
+    private static final RelayStream relay_ = new RelayStream();
+    private static PitestEntryPoint entryPoint_;
+    private static volatile long lastRequest_ = System.currentTimeMillis();
+    private static volatile boolean serving_;
+
+    private PitestDaemon() {
+        // no-op
+    }
+
+    /**
+     * Starts a daemon listening on a socket.
+     *
+     * @param args the socket path
+     * @throws IOException if the socket could not be bound
+     */
+    public static void main(String[] args) throws IOException {
+        var socket = Path.of(args[0]);
+        var out = new PrintStream(relay_, true, StandardCharsets.UTF_8);
+        // installed before PIT is loaded, so that its console logging is relayed too
+        System.setOut(out);
+        System.setErr(out);
+
+        try (var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            Files.deleteIfExists(socket);
+            server.bind(UnixDomainSocketAddress.of(socket));
+            socket.toFile().deleteOnExit();
+
+            var watchdog = new Thread(() -> {
+                // idle only between requests, however long a run takes
+                while (serving_ || System.currentTimeMillis() - lastRequest_ < IDLE_TIMEOUT.toMillis()) {
+                    try {
+                        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                System.exit(0);
+            }, "pitest-daemon-watchdog");
+            watchdog.setDaemon(true);
+            watchdog.start();
+
+            while (true) {
+                var channel = server.accept();
+                serving_ = true;
+                try (channel) {
+                    if (!serve(channel)) {
+                        return;
+                    }
+                } catch (IOException e) {
+                    // the client is gone, keep serving the others
+                    if (LOGGER.isLoggable(Level.WARNING)) {
+                        LOGGER.warning("Could not serve the request: " + e.getMessage());
+                    }
+                } finally {
+                    lastRequest_ = System.currentTimeMillis();
+                    serving_ = false;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    /**
+     * Returns the classpath of the daemon, the location of the extension's classes.
+     *
+     * @return the classpath
+     * @throws IOException if the location could not be determined
+     */
+    static String classPath() throws IOException {
+        var codeSource = PitestDaemon.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            throw new IOException("Could not locate the extension classes.");
+        }
+        try {
+            return Path.of(codeSource.getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IOException("Could not locate the extension classes.", e);
+        }
+    }
+
+    /**
+     * Returns the fingerprint of a daemon, from its Java tool, classpath and the PIT libraries.
+     * <p>
+     * The libraries are identified by their path, size and modification time, which is fast enough to check on
+     * each run.
+     *
+     * @param javaTool  the Java tool
+     * @param classPath the classpath of the daemon
+     * @param libraries the PIT libraries
+     * @return the fingerprint
+     * @throws IOException if a library could not be read
+     */
+    static String fingerprint(String javaTool, String classPath, List<File> libraries) throws IOException {
+        var values = new ArrayList<String>();
+        values.add(javaTool);
+        values.add(classPath);
+        for (var library : PitestEntryPoint.expand(libraries)) {
+            values.add(library.getPath());
+            if (library.isFile()) {
+                values.add(library.length() + ":" + Files.getLastModifiedTime(library.toPath()).toMillis());
+            }
+        }
+        return Fingerprints.sha256(values);
+    }
+
+    /**
+     * Runs PIT on a daemon, starting it first if needed.
+     *
+     * @param dir       the directory of the daemon sockets
+     * @param javaTool  the Java tool to start the daemon with
+     * @param libraries the PIT libraries
+     * @param baseDir   the base directory
+     * @param args      the PIT arguments
+     * @param output    the consumer of PIT's output
+     * @return the statistics of the analysis
+     * @throws IOException               if the daemon could not be started or reached, or its directory is not
+     *                                    private to the current user
+     * @throws InterruptedException      if interrupted while starting the daemon
+     * @throws IllegalArgumentException  if PIT rejected the arguments
+     * @throws IllegalStateException     if the analysis failed
+     * @throws ClassNotFoundException    if PIT was not found in the libraries
+     */
+    static PitestEntryPoint.Statistics run(Path dir, String javaTool, List<File> libraries, File baseDir,
+                                           List<String> args, Consumer<String> output)
+            throws IOException, InterruptedException, ClassNotFoundException {
+        secureDirectory(dir);
+        var classPath = classPath();
+        // the path of a Unix domain socket is limited to about 100 characters
+        var socket = dir.resolve(fingerprint(javaTool, classPath, libraries).substring(0, 16) + SOCKET_EXT);
+        var connected = connect(socket);
+        if (connected == null) {
+            // none running with this fingerprint, or one left over from a crash
+            stopAll(dir);
+            start(dir, javaTool, classPath, socket);
+            connected = connect(socket);
+            if (connected == null) {
+                throw new IOException("Could not connect to the PIT daemon: " + socket);
+            }
+        }
+
+        try (var channel = connected) {
+            var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeByte(RUN);
+            writeStrings(out, libraries.stream().map(File::getPath).toList());
+            writeString(out, baseDir.getPath());
+            writeStrings(out, args);
+            out.flush();
+
+            var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            while (true) {
+                var type = in.readByte();
+                switch (type) {
+                    case OUTPUT -> output.accept(readString(in));
+                    case RESULT -> {
+                        return new PitestEntryPoint.Statistics(in.readInt(), in.readInt(), in.readLong());
+                    }
+                    case ERROR_ARGUMENT -> throw new IllegalArgumentException(readString(in));
+                    case ERROR_NOT_FOUND -> throw new ClassNotFoundException(readString(in));
+                    case ERROR_STATE -> throw new IllegalStateException(readString(in));
+                    default -> throw new IOException("Unexpected response from the PIT daemon: " + type);
+                }
+            }
+        } catch (IOException e) {
+            // the daemon died, start afresh next time
+            Files.deleteIfExists(socket);
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a directory of daemon sockets only the current user can access, or checks that an existing one is.
+     * <p>
+     * A daemon runs the libraries sent by its clients: another user able to create the directory, or a socket in it,
+     * could capture the runs or run code as the current user. A directory owned by the current user, which the other
+     * users cannot write to, is restricted to the current user.
+     *
+     * @param dir the directory
+     * @throws IOException if the directory could not be created, or is not private to the current user
+     */
+    static void secureDirectory(Path dir) throws IOException {
+        var isPosix = dir.getFileSystem().supportedFileAttributeViews().contains("posix");
+        if (!Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+            Files.createDirectories(dir.toAbsolutePath().getParent());
+            try {
+                if (isPosix) {
+                    Files.createDirectory(dir, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+                } else {
+                    Files.createDirectory(dir);
+                }
+            } catch (FileAlreadyExistsException e) {
+                // created concurrently, checked below
+            }
+        }
+
+        if (!Files.isDirectory(dir, LinkOption.NOFOLLOW_LINKS)) {
+            throw new IOException("The PIT daemon directory is not a directory: " + dir);
+        }
+        var user = dir.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        if (!user.equals(Files.getOwner(dir, LinkOption.NOFOLLOW_LINKS))) {
+            throw new IOException("The PIT daemon directory is owned by another user: " + dir);
+        }
+        if (isPosix) {
+            var permissions = Files.getPosixFilePermissions(dir, LinkOption.NOFOLLOW_LINKS);
+            if (permissions.contains(PosixFilePermission.GROUP_WRITE)
+                    || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+                throw new IOException("The PIT daemon directory is writable by other users: " + dir);
+            }
+            if (!permissions.equals(OWNER_ONLY)) {
+                Files.setPosixFilePermissions(dir, OWNER_ONLY);
+            }
+        }
+    }
+
+    /**
+     * Stops the daemons listening in a directory.
+     *
+     * @param dir the directory of the daemon sockets
+     * @throws IOException if the directory could not be listed
+     */
+    static void stopAll(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        List<Path> sockets;
+        try (Stream<Path> files = Files.list(dir)) {
+            sockets = files.filter(f -> f.getFileName().toString().endsWith(SOCKET_EXT)).toList();
+        }
+        for (var socket : sockets) {
+            try (var channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+                channel.connect(UnixDomainSocketAddress.of(socket));
+                var out = new DataOutputStream(Channels.newOutputStream(channel));
+                out.writeByte(STOP);
+                out.flush();
+            } catch (IOException ignored) {
+                // already stopped
+            }
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    private static SocketChannel connect(Path socket) throws IOException {
+        if (!Files.exists(socket)) {
+            return null;
+        }
+        var channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            return null;
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        var count = in.readInt();
+        var strings = new ArrayList<String>(count);
+        for (var i = 0; i < count; i++) {
+            strings.add(readString(in));
+        }
+        return strings;
+    }
+
+    /*
+     * Serves a request, returning false if the daemon must stop.
+     */
+    private static boolean serve(SocketChannel channel) throws IOException {
+        var in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        byte command;
+        try {
+            command = in.readByte();
+        } catch (EOFException e) {
+            // a client checking whether the daemon is up
+            return true;
+        }
+        if (command != RUN) {
+            return false;
+        }
+
+        var libraries = readStrings(in).stream().map(File::new).toList();
+        var baseDir = new File(readString(in));
+        var args = readStrings(in);
+
+        var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        relay_.start(line -> {
+            synchronized (out) {
+                try {
+                    out.writeByte(OUTPUT);
+                    writeString(out, line);
+                    out.flush();
+                } catch (IOException ignored) {
+                    // the client is gone, the run completes regardless
+                }
+            }
+        });
+        try {
+            if (entryPoint_ == null || !entryPoint_.isFor(libraries)) {
+                if (entryPoint_ != null) {
+                    entryPoint_.close();
+                    entryPoint_ = null;
+                }
+                entryPoint_ = new PitestEntryPoint(libraries);
+            }
+            var statistics = entryPoint_.run(baseDir, args);
+            relay_.stop();
+            synchronized (out) {
+                out.writeByte(RESULT);
+                out.writeInt(statistics.coverage());
+                out.writeInt(statistics.mutationScore());
+                out.writeLong(statistics.survived());
+                out.flush();
+            }
+        } catch (IllegalArgumentException | IllegalStateException | ReflectiveOperationException e) {
+            relay_.stop();
+            synchronized (out) {
+                out.writeByte(e instanceof IllegalArgumentException ? ERROR_ARGUMENT
+                        : e instanceof ReflectiveOperationException ? ERROR_NOT_FOUND : ERROR_STATE);
+                writeString(out, String.valueOf(e.getMessage()));
+                out.flush();
+            }
+        } catch (RuntimeException e) {
+            // any other failure of PIT must not stop the daemon
+            relay_.stop();
+            synchronized (out) {
+                out.writeByte(ERROR_STATE);
+                writeString(out, e.toString());
+                out.flush();
+            }
+        } finally {
+            relay_.stop();
+        }
+        return true;
+    }
+
+    private static void start(Path dir, String javaTool, String classPath, Path socket)
+            throws IOException, InterruptedException {
+        var log = dir.resolve("daemon.log").toFile();
+        var process = new ProcessBuilder(javaTool, "-cp", classPath, PitestDaemon.class.getName(), socket.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(log))
+                .start();
+
+        var deadline = System.currentTimeMillis() + STARTUP_TIMEOUT.toMillis();
+        // no need to wait for a daemon which exited
+        while (System.currentTimeMillis() < deadline && process.isAlive()) {
+            try (var channel = connect(socket)) {
+                if (channel != null) {
+                    return;
+                }
+            }
+            Thread.sleep(50);
+        }
+        throw new IOException("The PIT daemon did not start, see: " + log);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (var value : values) {
+            writeString(out, value);
+        }
+    }
+
+    /*
+     * Relays the lines written to the standard streams to a consumer while a request runs, or to the original
+     * standard output otherwise.
+     */
+    private static final class RelayStream extends OutputStream {
+        private final ByteArrayOutputStream line_ = new ByteArrayOutputStream();
+        private final PrintStream log_ = System.out;
+        private Consumer<String> consumer_;
+
+        @Override
+        public synchronized void write(int b) {
+            if (b == '\n') {
+                var line = line_.toString(StandardCharsets.UTF_8);
+                line_.reset();
+                if (consumer_ != null) {
+                    consumer_.accept(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+                } else {
+                    log_.println(line);
+                }
+            } else {
+                line_.write(b);
+            }
+        }
+
+        synchronized void start(Consumer<String> consumer) {
+            consumer_ = consumer;
+        }
+
+        synchronized void stop() {
+            if (line_.size() > 0) {
+                write('\n');
+            }
+            consumer_ = null;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Runs PIT in the current JVM, through its programmatic entry point, saving the startup of a separate JVM for the
+ * PIT coordinator. The minions still run in their own JVMs.
+ * <p>
+ * PIT and its dependencies are loaded by an isolated class loader, which is kept to be reused by later runs with the
+ * same libraries. The extension itself does not depend on PIT, so its API is invoked reflectively.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class PitestEntryPoint implements Closeable {
+    private static final String ENTRY_POINT = "org.pitest.mutationtest.tooling.EntryPoint";
+    private static final String OPTIONS_PARSER = "org.pitest.mutationtest.commandline.OptionsParser";
+    private static final String PLUGIN_FILTER = "org.pitest.mutationtest.commandline.PluginFilter";
+    private static final String PLUGIN_SERVICES = "org.pitest.mutationtest.config.PluginServices";
+    private static final String REPORT_OPTIONS = "org.pitest.mutationtest.config.ReportOptions";
+    private final List<File> libraries_;
+    private final URLClassLoader loader_;
+
+    /**
+     * Creates a new entry point.
+     *
+     * @param libraries the jars of PIT, its plugins and their dependencies, or directories of jars ending with
+     *                  {@code *}
+     * @throws IOException if a directory of jars could not be listed
+     */
+    PitestEntryPoint(List<File> libraries) throws IOException {
+        libraries_ = List.copyOf(libraries);
+        var urls = new ArrayList<URL>();
+        for (var jar : expand(libraries)) {
+            urls.add(jar.toURI().toURL());
+        }
+        // isolated from the classes of bld and its extensions
+        loader_ = new URLClassLoader("pitest", urls.toArray(URL[]::new), ClassLoader.getPlatformClassLoader());
+    }
+
+    /**
+     * Expands the directories of jars ending with {@code *}.
+     *
+     * @param entries the classpath entries
+     * @return the expanded classpath entries
+     * @throws IOException if a directory could not be listed
+     */
+    static List<File> expand(List<File> entries) throws IOException {
+        var expanded = new ArrayList<File>(entries.size());
+        for (var entry : entries) {
+            if ("*".equals(entry.getName())) {
+                var dir = entry.getParentFile().toPath();
+                if (Files.isDirectory(dir)) {
+                    try (Stream<Path> jars = Files.list(dir)) {
+                        jars.filter(jar -> jar.getFileName().toString().endsWith(".jar")).sorted()
+                                .forEach(jar -> expanded.add(jar.toFile()));
+                    }
+                }
+            } else {
+                expanded.add(entry);
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * Closes the class loader.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        loader_.close();
+    }
+
+    /**
+     * Returns whether this entry point loads the given libraries.
+     *
+     * @param libraries the libraries
+     * @return {@code true} or {@code false}
+     */
+    boolean isFor(List<File> libraries) {
+        return libraries_.equals(libraries);
+    }
+
+    /**
+     * Runs PIT.
+     *
+     * @param baseDir the base directory
+     * @param args    the command line arguments
+     * @return the statistics of the analysis
+     * @throws IllegalArgumentException     if PIT rejected the arguments
+     * @throws IllegalStateException        if the analysis failed
+     * @throws ReflectiveOperationException if PIT could not be invoked, e.g. not found in the libraries
+     */
+    Statistics run(File baseDir, List<String> args) throws ReflectiveOperationException {
+        var thread = Thread.currentThread();
+        var contextLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader_);
+        try {
+            var plugins = loader_.loadClass(PLUGIN_SERVICES).getMethod("makeForLoader", ClassLoader.class)
+                    .invoke(null, loader_);
+            var pluginsClass = plugins.getClass();
+            var filter = loader_.loadClass(PLUGIN_FILTER).getConstructor(pluginsClass).newInstance(plugins);
+            var parser = loader_.loadClass(OPTIONS_PARSER).getConstructor(Predicate.class).newInstance(filter);
+            var parsed = parser.getClass().getMethod("parse", String[].class)
+                    .invoke(parser, (Object) args.toArray(String[]::new));
+            if (!(Boolean) invoke(parsed, "isOk")) {
+                var message = (Optional<?>) invoke(parsed, "getErrorMessage");
+                throw new IllegalArgumentException(message.map(String::valueOf).orElse("Invalid PIT arguments."));
+            }
+            var options = invoke(parsed, "getOptions");
+
+            var entryPoint = loader_.loadClass(ENTRY_POINT).getConstructor().newInstance();
+            var result = entryPoint.getClass().getMethod("execute", File.class, loader_.loadClass(REPORT_OPTIONS),
+                    pluginsClass, Map.class).invoke(entryPoint, baseDir, options, plugins, Map.of());
+            var error = (Optional<?>) invoke(result, "getError");
+            if (error.isPresent()) {
+                var cause = (Throwable) error.get();
+                throw new IllegalStateException(cause.getMessage(), cause);
+            }
+
+            var statistics = (Optional<?>) invoke(result, "getStatistics");
+            if (statistics.isEmpty()) {
+                return new Statistics(-1, -1, -1);
+            }
+            var coverage = (Number) invoke(invoke(statistics.get(), "getCoverageSummary"), "getCoverage");
+            var mutations = invoke(statistics.get(), "getMutationStatistics");
+            return new Statistics(coverage.intValue(),
+                    ((Number) invoke(mutations, "getPercentageDetected")).intValue(),
+                    ((Number) invoke(mutations, "getTotalSurvivingMutations")).longValue());
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw new IllegalStateException(runtime.getMessage(), runtime);
+            }
+            throw e;
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+    }
+
+    private static Object invoke(Object target, String method) throws ReflectiveOperationException {
+        return target.getClass().getMethod(method).invoke(target);
+    }
+
+    /**
+     * The statistics of an analysis.
+     *
+     * @param coverage      the line coverage, as a percentage, or {@code -1} if unknown
+     * @param mutationScore the mutation score, or {@code -1} if unknown
+     * @param survived      the number of surviving mutants, or {@code -1} if unknown
+     */
+    record Statistics(int coverage, int mutationScore, long survived) {
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the metrics of a PIT run: the phase timings reported by PIT, the mutant throughput, and the minion count,
+ * CPU time and resident memory of the child processes, sampled while running.
+ * <p>
+ * The metrics are written to the report directory as {@value #JSON_FILE}, and as {@value #PROMETHEUS_FILE} in the
+ * Prometheus text format. When running multiple PIT processes, the phase timings are summed over the processes.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class PitestMetrics {
+    /**
+     * The name of the JSON metrics file.
+     */
+    static final String JSON_FILE = "metrics.json";
+    /**
+     * The name of the Prometheus metrics file.
+     */
+    static final String PROMETHEUS_FILE = "metrics.prom";
+    private static final Pattern DURATION = Pattern.compile(
+            "(?:(\\d+) hours?,? ?(?:and )?)?(?:(\\d+) minutes?,? ?(?:and )?)?(?:(\\d+) seconds?)?");
+    private static final Duration SAMPLING_INTERVAL = Duration.ofMillis(500);
+    private static final Pattern TEST_CLASSES = Pattern.compile(".*Sending (\\d+) test classes to minion.*");
+    // e.g.: "> coverage and dependency analysis : 2 seconds"
+    private static final Pattern TIMING = Pattern.compile(">\\s+([a-z][a-z -]+?)\\s+:\\s+(.+)");
+    private final Map<String, Double> phases_ = new LinkedHashMap<>();
+    private final long start_ = System.nanoTime();
+    private ResourceSampler sampler_;
+    private long testClasses_;
+
+    /**
+     * Formats metrics as JSON.
+     *
+     * @param values the metrics values
+     * @return the JSON document
+     */
+    static String json(Map<String, Object> values) {
+        var json = new StringBuilder("{\n");
+        var first = true;
+        for (var entry : values.entrySet()) {
+            json.append(first ? "" : ",\n").append("  \"").append(entry.getKey()).append("\": ");
+            if (entry.getValue() instanceof Map<?, ?> map) {
+                json.append('{');
+                var firstPhase = true;
+                for (var phase : map.entrySet()) {
+                    json.append(firstPhase ? "" : ", ").append('"').append(phase.getKey()).append("\": ")
+                            .append(number(phase.getValue()));
+                    firstPhase = false;
+                }
+                json.append('}');
+            } else {
+                json.append(number(entry.getValue()));
+            }
+            first = false;
+        }
+        return json.append("\n}\n").toString();
+    }
+
+    /**
+     * Converts a PIT phase name into a metric label, e.g. {@code scan_classpath}.
+     *
+     * @param name the phase name
+     * @return the label
+     */
+    static String label(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_");
+    }
+
+    /**
+     * Parses a PIT duration, e.g. {@code < 1 second} or {@code 2 minutes and 5 seconds}.
+     *
+     * @param duration the duration
+     * @return the duration in seconds, or {@code -1} if invalid
+     */
+    static long parseSeconds(String duration) {
+        var value = duration.trim();
+        if (value.startsWith("<")) {
+            return 0;
+        }
+        var matcher = DURATION.matcher(value);
+        if (value.isEmpty() || !matcher.matches()) {
+            return -1;
+        }
+        var seconds = 0L;
+        if (matcher.group(1) != null) {
+            seconds += Long.parseLong(matcher.group(1)) * 3600;
+        }
+        if (matcher.group(2) != null) {
+            seconds += Long.parseLong(matcher.group(2)) * 60;
+        }
+        if (matcher.group(3) != null) {
+            seconds += Long.parseLong(matcher.group(3));
+        }
+        return seconds;
+    }
+
+    /**
+     * Formats metrics in the Prometheus text format, each metric prefixed with {@code pitest_}.
+     *
+     * @param values the metrics values
+     * @return the Prometheus text
+     */
+    static String prometheus(Map<String, Object> values) {
+        var text = new StringBuilder();
+        for (var entry : values.entrySet()) {
+            var name = "pitest_" + label(entry.getKey().replaceAll("([A-Z])", "_$1"));
+            text.append("# TYPE ").append(name).append(" gauge\n");
+            if (entry.getValue() instanceof Map<?, ?> map) {
+                for (var phase : map.entrySet()) {
+                    text.append(name).append("{phase=\"").append(phase.getKey()).append("\"} ")
+                            .append(number(phase.getValue())).append('\n');
+                }
+            } else {
+                text.append(name).append(' ').append(number(entry.getValue())).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Processes a line of PIT output, collecting the phase timings and the number of test classes.
+     *
+     * @param line the line
+     */
+    synchronized void accept(String line) {
+        var matcher = TIMING.matcher(line.trim());
+        if (matcher.matches()) {
+            var name = label(matcher.group(1));
+            var seconds = parseSeconds(matcher.group(2));
+            if (seconds >= 0 && !"total".equals(name)) {
+                phases_.merge(name, (double) seconds, Double::sum);
+            }
+        } else {
+            var testClasses = TEST_CLASSES.matcher(line);
+            if (testClasses.matches()) {
+                testClasses_ += Long.parseLong(testClasses.group(1));
+            }
+        }
+    }
+
+    /**
+     * Returns the phase timings collected so far.
+     *
+     * @return the map of phase labels to seconds
+     */
+    synchronized Map<String, Double> phases() {
+        return new LinkedHashMap<>(phases_);
+    }
+
+    /**
+     * Returns the number of test classes sent to the coverage minions so far.
+     *
+     * @return the number of test classes, or {@code 0} if not reported by PIT
+     */
+    synchronized long testClasses() {
+        return testClasses_;
+    }
+
+    /**
+     * Starts sampling the child processes.
+     */
+    void start() {
+        sampler_ = new ResourceSampler(SAMPLING_INTERVAL);
+    }
+
+    /**
+     * Stops sampling and writes the metrics files.
+     *
+     * @param reportDir the report directory
+     * @param result    the results of the run, or {@code null}
+     * @param threads   the number of PIT threads, or {@code -1} if not set
+     * @throws IOException if an I/O error occurs
+     */
+    void write(Path reportDir, PitestResult result, int threads) throws IOException {
+        var values = values(result, threads);
+        Files.createDirectories(reportDir);
+        write(reportDir.resolve(JSON_FILE), json(values));
+        write(reportDir.resolve(PROMETHEUS_FILE), prometheus(values));
+    }
+
+    /**
+     * Returns the metrics values, stopping the sampler if running.
+     *
+     * @param result  the results of the run, or {@code null}
+     * @param threads the number of PIT threads, or {@code -1} if not set
+     * @return the metrics values, the phase timings as a nested map
+     */
+    Map<String, Object> values(PitestResult result, int threads) {
+        var wallSeconds = (System.nanoTime() - start_) / 1e9;
+        var values = new LinkedHashMap<String, Object>();
+        values.put("wallSeconds", wallSeconds);
+        var phases = phases();
+        values.put("phaseSeconds", phases);
+
+        var mutants = result == null ? 0 : result.total();
+        values.put("mutants", mutants);
+        var analysisSeconds = phases.getOrDefault("run_mutation_analysis", 0d);
+        values.put("mutantsPerSecond", mutants / Math.max(analysisSeconds > 0 ? analysisSeconds : wallSeconds, 1e-3));
+        values.put("testClasses", testClasses());
+        values.put("threads", threads);
+
+        if (sampler_ != null) {
+            sampler_.close();
+            values.put("minions", sampler_.minions());
+            values.put("maxMinions", sampler_.maxMinions());
+            values.put("cpuSeconds", sampler_.cpuMillis() / 1000d);
+            values.put("peakRssBytes", sampler_.peakRss());
+        }
+        return values;
+    }
+
+    private static String number(Object value) {
+        if (value instanceof Double d) {
+            return String.format(Locale.ROOT, "%.3f", d);
+        }
+        return String.valueOf(value);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        var tmp = Files.createTempFile(file.getParent(), "metrics", ".tmp");
+        Files.writeString(tmp, content, StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -22,11 +22,21 @@ import rife.bld.operations.exceptions.ExitStatusException;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 /**
  * Mutation testing and coverage with <a href="https://pitest.org">PIT</a>.
@@ -44,9 +54,140 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      */
     protected static final String TRUE = "true";
     private static final Logger LOGGER = Logger.getLogger(PitestOperation.class.getName());
+    private static final String ARG_LINE = "--argLine";
+    private static final String CLASS_PATH = "--classPath";
+    private static final String CLASS_PATH_FILE = "--classPathFile";
+    private static final String COVERAGE_THRESHOLD = "--coverageThreshold";
+    private static final int DEFAULT_ARG_FILE_THRESHOLD = 32000;
+    private static final String EXCLUDED_CLASSES = "--excludedClasses";
+    private static final String HISTORY_INPUT = "--historyInputLocation";
+    private static final String HISTORY_OUTPUT = "--historyOutputLocation";
+    private static final String INCLUDE_LAUNCH_CLASSPATH = "--includeLaunchClasspath";
+    private static final String JVM_ARGS = "--jvmArgs";
+    private static final String JVM_PATH = "--jvmPath";
+    private static final String MAX_SURVIVING = "--maxSurviving";
+    private static final String MUTABLE_CODE_PATHS = "--mutableCodePaths";
+    private static final String MUTATION_THRESHOLD = "--mutationThreshold";
+    private static final String OUTPUT_FORMATS = "--outputFormats";
+    private static final String REPORT_DIR = "--reportDir";
+    private static final Set<String> REVERIFIED_STATUSES = Set.of(PitestResult.MEMORY_ERROR, PitestResult.TIMED_OUT);
     private static final String SOURCE_DIRS = "--sourceDirs";
+    private static final String TARGET_CLASSES = "--targetClasses";
+    private static final String THREADS = "--threads";
+    private static final String TIMEOUT_CONST = "--timeoutConst";
+    private static final String TIMEOUT_FACTOR = "--timeoutFactor";
+    private static final String TIMESTAMPED_REPORTS = "--timestampedReports";
+    private static final String USE_CLASSPATH_JAR = "--useClasspathJar";
+    private static final Duration WATCH_QUIET_PERIOD = Duration.ofMillis(500);
     private final Map<String, String> options_ = new ConcurrentHashMap<>();
+    private int argFileThreshold_ = DEFAULT_ARG_FILE_THRESHOLD;
+    private boolean autoThreads_;
+    private boolean calibrateTimeouts_;
+    private String changedSince_;
+    private boolean classDataSharing_;
+    private boolean daemon_;
+    private PitestEntryPoint entryPoint_;
+    private boolean expandTargetClasses_;
+    private boolean failFast_;
+    private boolean incremental_;
+    private boolean inProcess_;
+    private Path logFile_;
+    private boolean metrics_;
+    private PitestMetrics metricsCollector_;
+    private MinionProfile minionProfile_;
+    private boolean narrowed_;
+    private boolean progress_;
     private BaseProject project_;
+    private PitestResult result_;
+    private Path resultCache_;
+    private boolean reverify_;
+    private long runStart_;
+    private int shardBatches_;
+    private int shards_ = 1;
+    private boolean skipUnchanged_;
+    private Duration timeBudget_;
+    private boolean watch_;
+
+    /*
+     * Passes the arguments of the minion profile, if any, to the minions.
+     */
+    private void addMinionProfile(Map<String, String> options) {
+        if (minionProfile_ != null) {
+            options.put(JVM_ARGS, String.join(",", minionJvmArgs(options)));
+        }
+    }
+
+    /*
+     * Passes a class data sharing archive to the minions, unless already set.
+     */
+    private void addSharedArchive(Map<String, String> options, Path archive) {
+        var jvmArgs = options.get(JVM_ARGS);
+        if (!ClassDataSharing.hasArchiveOption(jvmArgs) && !ClassDataSharing.hasArchiveOption(options.get(ARG_LINE))) {
+            options.put(JVM_ARGS, (jvmArgs == null || jvmArgs.isBlank() ? "" : jvmArgs + ',')
+                    + ClassDataSharing.option(archive));
+        }
+    }
+
+    /*
+     * Moves the arguments of a command to an argument file, and its classpath option to a classpath file.
+     */
+    private List<String> argFileCommandList(List<String> args, Map<String, String> options) {
+        // java -cp <classpath> <main class> <PIT arguments>
+        var pitArgs = new ArrayList<>(args.subList(1, args.size()));
+        var dir = new File(project_.buildDirectory(), "pitest/args").toPath();
+        try {
+            var classPath = options.get(CLASS_PATH);
+            if (classPath != null && !options.containsKey(CLASS_PATH_FILE)) {
+                var index = pitArgs.indexOf(CLASS_PATH);
+                pitArgs.set(index, CLASS_PATH_FILE);
+                pitArgs.set(index + 1, ArgumentFiles.writeClassPathFile(dir,
+                        Arrays.stream(classPath.split(",")).map(String::trim).filter(this::isNotBlank).toList())
+                        .toString());
+            }
+            var argFile = ArgumentFiles.writeArgFile(dir, pitArgs);
+            if (LOGGER.isLoggable(Level.FINE) && !silent()) {
+                LOGGER.fine("Using argument file: " + argFile);
+            }
+            return List.of(args.get(0), '@' + argFile.toString());
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                LOGGER.warning("Could not write the argument file: " + e.getMessage());
+            }
+            return args;
+        }
+    }
+
+    /**
+     * Moves the PIT arguments to an argument file when the command line is longer than the given number of
+     * characters, avoiding the command line length limits of the operating system.
+     * <p>
+     * The {@code java} launcher reads the argument file, including its classpath, while the
+     * {@link #classPath(String...) classpath} option is written to a {@link #classPathFile(String) classpath file}
+     * read by PIT. These files are stored in the project's build
+     * directory.
+     * <p>
+     * Set to {@code 0} to always use an argument file, or to a negative value to never use one.
+     * <p>
+     * Defaults to {@code 32000}
+     *
+     * @param threshold the maximum command line length
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation argFileThreshold(int threshold) {
+        argFileThreshold_ = threshold;
+        return this;
+    }
+
+    /**
+     * Returns the maximum command line length before using an argument file.
+     *
+     * @return the threshold
+     * @since 1.1
+     */
+    public int argFileThreshold() {
+        return argFileThreshold_;
+    }
 
     /**
      * Line arguments for child JVMs.
@@ -56,11 +197,69 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      */
     public PitestOperation argLine(String line) {
         if (isNotBlank(line)) {
-            options_.put("--argLine", line);
+            options_.put(ARG_LINE, line);
         }
         return this;
     }
 
+    /*
+     * Returns the number of threads sized from the processors, CPU quota and memory available to the minions.
+     */
+    private int autoThreadCount() {
+        var args = new ArrayList<>(minionJvmArgs(options_));
+        var argLine = options_.get(ARG_LINE);
+        if (argLine != null) {
+            args.addAll(List.of(argLine.trim().split("\\s+")));
+        }
+        var heap = ThreadSizing.maxHeap(args);
+        var minionMemory = (heap > 0 ? heap : ThreadSizing.DEFAULT_MINION_HEAP) + ThreadSizing.MINION_OVERHEAD;
+
+        var dirs = ThreadSizing.cgroupDirs();
+        var processors = Runtime.getRuntime().availableProcessors();
+        var cpuQuota = ThreadSizing.cpuQuota(dirs);
+        var availableMemory = ThreadSizing.availableMemory(dirs, Path.of("/proc/meminfo"));
+        var threads = ThreadSizing.threads(processors, cpuQuota, availableMemory, minionMemory,
+                shards_);
+
+        if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            LOGGER.info(String.format("Using %d threads: %d processors, CPU quota %s, %s available memory, "
+                            + "%d MB per minion.", threads, processors,
+                    cpuQuota > 0 ? String.format("%.2f", cpuQuota) : "none",
+                    availableMemory > 0 ? (availableMemory >> 20) + " MB" : "unknown", minionMemory >> 20));
+        }
+        return threads;
+    }
+
+    /**
+     * Sizes the number of threads automatically, overriding the {@link #threads(int) threads} count.
+     * <p>
+     * The number of threads is the lowest of the available processors, the Linux cgroup CPU quota and the number of
+     * minions fitting in the available memory, within the limits of the cgroup and its parents and once {@code 1 GB}
+     * is set aside for each {@link #shards(int) shard} PIT process. The memory used by a minion is
+     * derived from the maximum heap size set with {@link #jvmArgs(String...) jvmArgs} or
+     * {@link #argLine(String) argLine}, and defaults to {@code 512 MB} plus overhead. When
+     * {@link #shards(int) sharding}, the threads are divided among the shards.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param isAutoThreads {@code true} or {@code false}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation autoThreads(boolean isAutoThreads) {
+        autoThreads_ = isAutoThreads;
+        return this;
+    }
+
+    /**
+     * Returns whether the number of threads is sized automatically.
+     *
+     * @return {@code true} or {@code false}
+     * @since 1.1
+     */
+    public boolean autoThreads() {
+        return autoThreads_;
+    }
 
     /**
      * List of packages and classes which are to be considered outside the scope of mutation. Any lines of code
@@ -109,6 +308,136 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
         return avoidCallsTo(List.of(avoidCallTo));
     }
 
+    /*
+     * Returns the fingerprint of the settings affecting the statuses of the mutants, the salt of the result cache.
+     */
+    private String cacheFingerprint() {
+        // like the mutant fingerprints: thresholds never change a status, and calibrated timeouts move on each run
+        return historyFingerprint(COVERAGE_THRESHOLD, MAX_SURVIVING, MUTATION_THRESHOLD, TIMEOUT_CONST,
+                TIMEOUT_FACTOR);
+    }
+
+    /**
+     * Calibrates the {@link #timeoutConst(int) timeout constant} and {@link #timeoutFactor(double) timeout factor}
+     * from the previous runs, so that mutants stuck in an infinite loop are abandoned as early as possible.
+     * <p>
+     * The first run uses PIT's defaults. The constant of the next runs is derived from the duration of the coverage
+     * phase, during which each test class runs once, with a safety margin; it ranges from {@code 1000} to
+     * {@code 4000} ms. Should a mutant time out where it previously ran to completion, the timeouts are loosened
+     * again. The calibration is stored in the {@link #reportDir(String) report directory}, as
+     * {@code timeouts.properties}.
+     * <p>
+     * An explicitly set timeout constant or factor is not overridden.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param isCalibrateTimeouts {@code true} or {@code false}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation calibrateTimeouts(boolean isCalibrateTimeouts) {
+        calibrateTimeouts_ = isCalibrateTimeouts;
+        return this;
+    }
+
+    /**
+     * Returns whether the timeouts are calibrated.
+     *
+     * @return {@code true} or {@code false}
+     * @since 1.1
+     */
+    public boolean calibrateTimeouts() {
+        return calibrateTimeouts_;
+    }
+
+    /**
+     * Only mutates the classes whose sources changed since the given base revision of the local Git repository.
+     * <p>
+     * The changed files are determined against the merge base of the revision and {@code HEAD}, and include
+     * uncommitted and untracked files. Only the Java sources found in the project's main source directory are
+     * considered, and if {@link #targetClasses(String...) target classes} are specified, the changed classes must also
+     * match them. If no classes changed, the mutation analysis is skipped.
+     *
+     * @param baseRef the base revision, e.g. {@code origin/main}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation changedSince(String baseRef) {
+        if (isNotBlank(baseRef)) {
+            changedSince_ = baseRef;
+        } else {
+            changedSince_ = null;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the base revision changed classes are determined against.
+     *
+     * @return the base revision, or {@code null}
+     * @since 1.1
+     */
+    public String changedSince() {
+        return changedSince_;
+    }
+
+    /*
+     * Fails if the results do not meet the mutation threshold or maximum surviving mutants.
+     */
+    private void checkThresholds() throws ExitStatusException {
+        if (result_ == null) {
+            return;
+        }
+        var threshold = options_.get(MUTATION_THRESHOLD);
+        if (threshold != null && result_.mutationScore() < Integer.parseInt(threshold)) {
+            if (LOGGER.isLoggable(Level.SEVERE) && !silent()) {
+                LOGGER.severe(String.format("Mutation score of %d is below threshold of %s.",
+                        result_.mutationScore(), threshold));
+            }
+            throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+        var maxSurviving = options_.get(MAX_SURVIVING);
+        if (maxSurviving != null && result_.survived() > Long.parseLong(maxSurviving)) {
+            if (LOGGER.isLoggable(Level.SEVERE) && !silent()) {
+                LOGGER.severe(String.format("Had %d surviving mutants, but only %s survivors allowed.",
+                        result_.survived(), maxSurviving));
+            }
+            throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+    }
+
+    /**
+     * Shares the classes of PIT, its plugins and the other libraries between the PIT JVMs through a class data sharing
+     * (AppCDS) archive, saving the loading and verification of the same classes by every minion.
+     * <p>
+     * The archive is dumped once per Java tool and libraries, by a short-lived JVM, and cached in the project's build
+     * directory. It is then passed to the PIT process and, through the {@link #jvmArgs(String...) jvmArgs}, to the
+     * minions, along with the launch classpath. A JVM whose classpath does not start with the libraries, e.g. when
+     * {@link #useClasspathJar(boolean) using a classpath jar}, ignores the archive.
+     * <p>
+     * If the Java tool cannot dump the archive, a warning is logged and PIT runs without it.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param isClassDataSharing {@code true} or {@code false}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation classDataSharing(boolean isClassDataSharing) {
+        classDataSharing_ = isClassDataSharing;
+        return this;
+    }
+
+    /**
+     * Returns whether the classes of the libraries are shared between the PIT JVMs.
+     *
+     * @return {@code true} or {@code false}
+     * @since 1.1
+     */
+    public boolean classDataSharing() {
+        return classDataSharing_;
+    }
+
     /**
      * List of packages and classes which are to be considered outside the scope of mutation. Any lines of code
      * containing calls to these classes will not be mutated.
@@ -165,7 +494,7 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      * @see #classPath(String...)
      */
     public PitestOperation classPath(Collection<String> path) {
-        options_.put("--classPath", String.join(",", path.stream().filter(this::isNotBlank).toList()));
+        options_.put(CLASS_PATH, String.join(",", path.stream().filter(this::isNotBlank).toList()));
         return this;
     }
 
@@ -201,7 +530,7 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      */
     public PitestOperation classPathFile(String file) {
         if (isNotBlank(file)) {
-            options_.put("--classPathFile", file);
+            options_.put(CLASS_PATH_FILE, file);
         }
         return this;
     }
@@ -228,6 +557,30 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
         return classPath(path.stream().map(Path::toFile).map(File::getAbsolutePath).toList());
     }
 
+    /**
+     * Returns the historical cost model, as recorded by the previous executions in the
+     * {@link #reportDir(String) report directory}.
+     * <p>
+     * The cost of each class is updated after every execution, except {@link #incremental(boolean) incremental}
+     * ones, and is used to balance the {@link #shards(int) shards}.
+     *
+     * @return the cost model, empty if none was recorded
+     * @since 1.1
+     */
+    public CostModel costModel() {
+        var reportDir = options_.get(REPORT_DIR);
+        if (reportDir != null) {
+            try {
+                return CostModel.load(Path.of(reportDir, CostModel.FILE_NAME));
+            } catch (IOException e) {
+                if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                    LOGGER.warning("Could not read the cost model: " + e.getMessage());
+                }
+            }
+        }
+        return new CostModel();
+    }
+
     /**
      * Line coverage threshold below which the build will fail. This is an integer percent (0-100) that represents the
      * fraction of the project covered by the tests.
@@ -237,11 +590,65 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      */
     public PitestOperation coverageThreshold(int threshold) {
         if (threshold >= 0 && threshold <= 100) {
-            options_.put("--coverageThreshold", String.valueOf(threshold));
+            options_.put(COVERAGE_THRESHOLD, String.valueOf(threshold));
         }
         return this;
     }
 
+    /**
+     * Runs PIT on a long-lived daemon JVM, reached over a Unix domain socket, instead of launching a new JVM for the
+     * PIT coordinator on each execution.
+     * <p>
+     * The daemon is started on first use, and keeps PIT loaded and compiled by the JIT between executions, including
+     * executions from separate {@code bld} invocations. It is restarted when the Java tool, the extension or the PIT
+     * libraries change, and stops by itself after three idle hours. The output of PIT is relayed while it runs, so
+     * that the {@link #progress(boolean) progress} and {@link #metrics(boolean) metrics} still apply.
+     * <p>
+     * Only the JVM is kept warm: the classpath is scanned and the coverage is computed again on each execution, as PIT
+     * has no API to reuse them. {@link #incremental(boolean) Incremental analysis} still reuses the results of the
+     * unchanged classes.
+     * <p>
+     * Should the daemon be unavailable, PIT runs {@link #inProcess(boolean) in-process} instead.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param isDaemon {@code true} or {@code false}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation daemon(boolean isDaemon) {
+        daemon_ = isDaemon;
+        return this;
+    }
+
+    /**
+     * Returns whether PIT runs on a daemon.
+     *
+     * @return {@code true} or {@code false}
+     * @since 1.1
+     */
+    public boolean daemon() {
+        return daemon_;
+    }
+
+    /*
+     * Returns the directory of the daemon sockets, in the user's runtime directory or else the temporary directory if
+     * the build directory is too deep for the length limit of Unix domain socket paths.
+     */
+    private Path daemonDirectory() {
+        var dir = new File(project_.buildDirectory(), "pitest/daemon").toPath().toAbsolutePath();
+        if (dir.toString().length() > 80) {
+            var name = "bld-pitest-" + Fingerprints.sha256(List.of(dir.toString())).substring(0, 12);
+            var runtimeDir = System.getenv("XDG_RUNTIME_DIR");
+            if (isNotBlank(runtimeDir) && Path.of(runtimeDir).isAbsolute()) {
+                return Path.of(runtimeDir, name);
+            }
+            // shared with the other users, the daemon refuses it unless it is private to the current user
+            return Path.of(System.getProperty("java.io.tmpdir"), name + '-' + System.getProperty("user.name"));
+        }
+        return dir;
+    }
+
     /**
      * Flag to indicate if PIT should attempt to detect the inlined code generated by the java compiler in order to
      * implement {@code finally} blocks. Each copy of the inlined code would normally be mutated separately, resulting
@@ -319,7 +726,7 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      * @see #excludedClasses(String...)
      */
     public PitestOperation excludedClasses(Collection<String> excludedClasses) {
-        options_.put("--excludedClasses", String.join(",", excludedClasses.stream().filter(this::isNotBlank).toList()));
+        options_.put(EXCLUDED_CLASSES, String.join(",", excludedClasses.stream().filter(this::isNotBlank).toList()));
         return this;
     }
 
@@ -416,9 +823,242 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
                 LOGGER.severe("A project must be specified.");
             }
             throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+
+        result_ = null;
+        ExecuteAction scoped = skipUnchanged_ ? this::executeAvoidable : this::executeScoped;
+        ExecuteAction action = watch_ ? () -> executeWatched(scoped) : scoped;
+        if (autoThreads_) {
+            executeWith(Map.of(THREADS, String.valueOf(autoThreadCount())), action);
         } else {
-            super.execute();
+            action.execute();
+        }
+    }
+
+    /*
+     * Replays the previous run if its inputs are unchanged, runs PIT and records its outcome otherwise.
+     */
+    private void executeAvoidable() throws IOException, InterruptedException, ExitStatusException {
+        var reportDir = options_.get(REPORT_DIR);
+        if (reportDir == null) {
+            executeScoped();
+            return;
+        }
+
+        var reportPath = Path.of(reportDir);
+        var avoidance = new BuildAvoidance(operationDirectory("avoidance", reportPath));
+        var fingerprint = inputsFingerprint();
+        var exitStatus = avoidance.replay(fingerprint, reportPath);
+        if (exitStatus != null) {
+            if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+                LOGGER.info("Inputs unchanged since the last run, reusing its report.");
+            }
+            readResult();
+            ExitStatusException.throwOnFailure(exitStatus);
+            return;
+        }
+
+        try {
+            executeScoped();
+            avoidance.record(fingerprint, ExitStatusException.EXIT_SUCCESS, reportPath, runReportDirectory(reportPath));
+        } catch (ExitStatusException e) {
+            // a crashed or killed run must not be replayed, only a run which did not meet its thresholds
+            if (e.getExitStatus() == ExitStatusException.EXIT_FAILURE && isBelowThresholds()) {
+                avoidance.record(fingerprint, e.getExitStatus(), reportPath, runReportDirectory(reportPath));
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * Runs the target classes in batches, by priority, until the time budget is exhausted, and merges their reports.
+     */
+    private void executeBudgeted() throws IOException, InterruptedException, ExitStatusException {
+        var deadline = Instant.now().plus(timeBudget_);
+        if (incremental_ && LOGGER.isLoggable(Level.WARNING) && !silent()) {
+            LOGGER.warning("Incremental analysis is not supported with a time budget.");
+        }
+
+        var reportPath = requireReportDir("using a time budget");
+        var classes = TargetClassResolver.resolve(targetRoots(),
+                splitOption(TARGET_CLASSES), splitOption(EXCLUDED_CLASSES));
+        PitestResult previous = null;
+        try {
+            previous = MutationReportParser.parse(reportPath);
+        } catch (IOException e) {
+            // no usable previous results
+        }
+        var ordered = BudgetPlanner.prioritize(classes.keySet(), recentlyChangedClasses(), previous);
+        var batches = BudgetPlanner.batches(ordered, costModel().weights(classes),
+                shardBatches_ > 0 ? shardBatches_ : BudgetPlanner.DEFAULT_BATCHES);
+        var workers = Math.max(1, Math.min(shards_, batches.size()));
+        if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            LOGGER.info(String.format("Running %d classes in %d batches within %d seconds.", classes.size(),
+                    batches.size(), timeBudget_.toSeconds()));
+        }
+
+        runBatches(batches, reportPath, "batch-", workers, deadline);
+    }
+
+    /*
+     * Reuses the cached results of unchanged classes, runs PIT for the other classes and merges all the results.
+     */
+    private void executeCached() throws IOException, InterruptedException, ExitStatusException {
+        var reportPath = requireReportDir("caching results");
+        var cache = new ClassResultCache(resultCache_, cacheFingerprint(), project_.buildMainDirectory(),
+                project_.buildTestDirectory());
+        var classes = TargetClassResolver.resolve(targetRoots(),
+                splitOption(TARGET_CLASSES), splitOption(EXCLUDED_CLASSES)).keySet();
+        var pruned = cache.prune();
+        if (pruned > 0 && LOGGER.isLoggable(Level.FINE) && !silent()) {
+            LOGGER.fine(String.format("Removed the cached results of %d deleted classes.", pruned));
+        }
+
+        var inputs = new ArrayList<Path>();
+        var misses = new ArrayList<String>();
+        for (var className : classes) {
+            var entry = cache.lookup(className);
+            if (entry == null) {
+                misses.add(className);
+            } else {
+                inputs.add(entry);
+            }
+        }
+        if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            LOGGER.info(String.format("Reusing cached results for %d of %d classes.", inputs.size(), classes.size()));
+        }
+
+        var report = reportPath.resolve(ReportMerger.MUTATIONS_XML);
+        if (!misses.isEmpty() || classes.isEmpty()) {
+            Files.deleteIfExists(report);
+            var overrides = new HashMap<String, String>();
+            if (!classes.isEmpty()) {
+                overrides.put(TARGET_CLASSES, targetGlobs(misses));
+            }
+            overrides.put(TIMESTAMPED_REPORTS, FALSE);
+            overrides.put(OUTPUT_FORMATS, xmlOutputFormats());
+            overrides.put(MUTATION_THRESHOLD, null);
+            overrides.put(MAX_SURVIVING, null);
+            if (misses.size() < classes.size()) {
+                executeNarrowed(overrides, this::executeUncached);
+            } else {
+                executeWith(overrides, this::executeUncached);
+            }
+
+            if (Files.isRegularFile(report)) {
+                var analyzed = new HashSet<String>();
+                var isPartial = MutationReportParser.parseXml(report,
+                        m -> analyzed.add(TargetClassResolver.topLevelName(m.mutatedClass())));
+                // classes left out of a partial run must not be cached as having no mutations
+                cache.store(report, isPartial ? misses.stream().filter(analyzed::contains).toList() : misses);
+                inputs.add(report);
+            }
+        }
+
+        var merged = reportPath.resolve(ReportMerger.MUTATIONS_XML + ".tmp");
+        ReportMerger.mergeXml(inputs, merged, false);
+        Files.move(merged, report, StandardCopyOption.REPLACE_EXISTING);
+
+        readResult();
+        checkThresholds();
+    }
+
+    /*
+     * Runs PIT with the calibrated timeouts, then updates the calibration from the observations of the run.
+     */
+    private void executeCalibrated(ExecuteAction action, PitestMetrics metrics)
+            throws IOException, InterruptedException, ExitStatusException {
+        var reportDir = options_.get(REPORT_DIR);
+        if (reportDir == null) {
+            if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                LOGGER.warning("A report directory must be specified when calibrating timeouts.");
+            }
+            action.execute();
+            return;
+        }
+
+        var file = Path.of(reportDir, TimeoutCalibration.FILE_NAME);
+        TimeoutCalibration calibration;
+        Map<String, String> previous;
+        try {
+            calibration = TimeoutCalibration.load(file);
+            previous = TimeoutCalibration.statuses(Path.of(reportDir));
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                LOGGER.warning("Could not read the timeouts calibration: " + e.getMessage());
+            }
+            action.execute();
+            return;
         }
+
+        var overrides = new HashMap<String, String>();
+        if (!options_.containsKey(TIMEOUT_CONST)) {
+            overrides.put(TIMEOUT_CONST, String.valueOf(calibration.timeoutConst()));
+        }
+        if (!options_.containsKey(TIMEOUT_FACTOR)) {
+            overrides.put(TIMEOUT_FACTOR, String.valueOf(calibration.timeoutFactor()));
+        }
+        if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            LOGGER.info(String.format("Using calibrated timeouts: factor %s, constant %d ms.",
+                    calibration.timeoutFactor(), calibration.timeoutConst()));
+        }
+
+        var start = System.currentTimeMillis();
+        try {
+            executeWith(overrides, action);
+        } finally {
+            try {
+                // allow for the file system timestamp granularity
+                var statuses = TimeoutCalibration.statuses(Path.of(reportDir), start - 1000);
+                if (!statuses.isEmpty()) {
+                    var spurious = TimeoutCalibration.spuriousTimeouts(previous, statuses);
+                    if (spurious > 0 && LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                        LOGGER.warning(String.format(
+                                "%d mutants timed out which previously did not, loosening the timeouts.", spurious));
+                    }
+                    var coverage = metrics.phases().get("coverage_and_dependency_analysis");
+                    calibration.update(coverage == null ? -1 : Math.round(coverage * 1000), metrics.testClasses(),
+                            spurious);
+                    calibration.save(file);
+                }
+            } catch (IOException e) {
+                if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                    LOGGER.warning("Could not update the timeouts calibration: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /*
+     * Restricts the target classes to the classes changed since the base revision, and runs PIT.
+     */
+    private void executeChanged() throws IOException, InterruptedException, ExitStatusException {
+        SortedSet<String> classes;
+        try {
+            var files = GitChangedClasses.changedFiles(project_.workDirectory(), changedSince_);
+            classes = GitChangedClasses.toClassNames(files, project_.workDirectory(),
+                    project_.srcMainJavaDirectory(), project_.buildMainDirectory());
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(Level.SEVERE) && !silent()) {
+                LOGGER.severe("Could not determine the changed classes: " + e.getMessage());
+            }
+            throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+
+        retainTargeted(classes);
+        if (classes.isEmpty()) {
+            if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+                LOGGER.info("No classes changed since " + changedSince_ + ", skipping mutation analysis.");
+            }
+            result_ = new PitestResult();
+            return;
+        }
+
+        if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            LOGGER.info(String.format("Mutating %d classes changed since %s.", classes.size(), changedSince_));
+        }
+
+        executeNarrowed(Map.of(TARGET_CLASSES, targetGlobs(classes)), this::executeRun);
     }
 
     /**
@@ -427,62 +1067,576 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      */
     @Override
     protected List<String> executeConstructProcessCommandList() {
+        return executeConstructProcessCommandList(options_);
+    }
+
+    /*
+     * Constructs the command list for the given options.
+     */
+    private List<String> executeConstructProcessCommandList(Map<String, String> options) {
         final List<String> args = new ArrayList<>();
 
         if (project_ != null) {
             args.add(javaTool());
+            var archive = classDataSharing_ ? sharedArchive() : null;
+            if (minionProfile_ != null || archive != null) {
+                options = new HashMap<>(options);
+                addMinionProfile(options);
+            }
+            if (archive != null) {
+                args.add(ClassDataSharing.option(archive));
+                addSharedArchive(options, archive);
+            }
             args.add("-cp");
-            args.add(String.format("%s:%s:%s:%s", new File(project_.libTestDirectory(), "*"),
-                    new File(project_.libCompileDirectory(), "*"), project_.buildMainDirectory(),
-                    project_.buildTestDirectory()));
+            args.add(launcherClassPath(options));
             args.add("org.pitest.mutationtest.commandline.MutationCoverageReport");
+            args.addAll(pitArguments(options));
 
-            if (!options_.containsKey(SOURCE_DIRS)) {
-                options_.put(SOURCE_DIRS, project_.srcDirectory().getPath());
+            if (argFileThreshold_ >= 0 && ArgumentFiles.length(args) > argFileThreshold_) {
+                return argFileCommandList(args, options);
             }
-
-            options_.forEach((k, v) -> {
-                args.add(k);
-                if (!v.isEmpty()) {
-                    args.add(v);
-                }
-            });
         }
 
         return args;
     }
 
-    /**
-     * Configures the operation from a {@link BaseProject}.
-     *
-     * @param project the project to configure the operation from
-     * @since 1.5
-     */
-    @Override
-    public PitestOperation fromProject(BaseProject project) {
-        project_ = project;
-        return this;
+    /*
+     * Runs PIT on the daemon, relaying its output.
+     */
+    private PitestEntryPoint.Statistics executeDaemon(List<File> libraries, List<String> args)
+            throws IOException, InterruptedException, ClassNotFoundException {
+        var console = progress_ ? openConsole(TargetClassResolver.resolve(targetRoots(),
+                splitOption(TARGET_CLASSES), splitOption(EXCLUDED_CLASSES)).keySet(), 1, 0) : null;
+        var output = outputTap(console, outputProcessor(), System.out);
+        try {
+            return PitestDaemon.run(daemonDirectory(), javaTool(), libraries, workDirectory(), args, output::apply);
+        } finally {
+            if (console != null) {
+                console.close();
+            }
+        }
     }
 
-    /**
-     * Whether or not to dump per test line coverage data to disk.
-     * <p>
-     * Defaults to {@code false}
-     *
-     * @param jsExport {@code true} or {@code false}
-     * @return this operation instance
-     */
-    public PitestOperation exportLineCoverage(boolean jsExport) {
-        if (jsExport) {
-            options_.put("--exportLineCoverage", TRUE);
-        } else {
-            options_.put("--exportLineCoverage", FALSE);
+    /*
+     * Runs PIT through its entry point, on the daemon or in the current JVM, checking the thresholds against the
+     * returned statistics.
+     */
+    private void executeEntryPoint() throws IOException, InterruptedException, ExitStatusException {
+        var entries = launcherEntries();
+        var libraries = entries.stream()
+                .filter(f -> !f.equals(project_.buildMainDirectory()) && !f.equals(project_.buildTestDirectory()))
+                .toList();
+        var options = new HashMap<>(options_);
+        if (!FALSE.equals(options.get(INCLUDE_LAUNCH_CLASSPATH))) {
+            // the launch classpath of the current JVM is bld's, use the launcher's instead
+            var classPath = new ArrayList<String>();
+            if (options.containsKey(CLASS_PATH)) {
+                classPath.add(options.get(CLASS_PATH));
+            }
+            PitestEntryPoint.expand(entries).forEach(f -> classPath.add(f.getPath()));
+            options.put(CLASS_PATH, String.join(",", classPath));
+            options.put(INCLUDE_LAUNCH_CLASSPATH, FALSE);
+        }
+        addMinionProfile(options);
+        var archive = classDataSharing_ ? sharedArchive() : null;
+        if (archive != null) {
+            addSharedArchive(options, archive);
         }
-        return this;
-    }
 
-    /**
-     * Whether to throw an error when no mutations found.
+        PitestEntryPoint.Statistics statistics = null;
+        try {
+            if (daemon_) {
+                try {
+                    statistics = executeDaemon(libraries, pitArguments(options));
+                } catch (IOException e) {
+                    if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                        LOGGER.warning("Could not use the PIT daemon, running in-process: " + e.getMessage());
+                    }
+                }
+            }
+            if (statistics == null) {
+                if (entryPoint_ == null || !entryPoint_.isFor(libraries)) {
+                    if (entryPoint_ != null) {
+                        entryPoint_.close();
+                    }
+                    entryPoint_ = new PitestEntryPoint(libraries);
+                }
+                statistics = entryPoint_.run(workDirectory(), pitArguments(options));
+            }
+        } catch (IllegalArgumentException | IllegalStateException | ReflectiveOperationException e) {
+            if (LOGGER.isLoggable(Level.SEVERE) && !silent()) {
+                LOGGER.severe("Could not run PIT: " + e.getMessage());
+            }
+            throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+
+        var coverageThreshold = options.get(COVERAGE_THRESHOLD);
+        if (coverageThreshold != null && statistics.coverage() >= 0
+                && statistics.coverage() < Integer.parseInt(coverageThreshold)) {
+            if (LOGGER.isLoggable(Level.SEVERE) && !silent()) {
+                LOGGER.severe(String.format("Line coverage of %d is below threshold of %s.", statistics.coverage(),
+                        coverageThreshold));
+            }
+            throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+        var threshold = options.get(MUTATION_THRESHOLD);
+        if (threshold != null && statistics.mutationScore() >= 0
+                && statistics.mutationScore() < Integer.parseInt(threshold)) {
+            if (LOGGER.isLoggable(Level.SEVERE) && !silent()) {
+                LOGGER.severe(String.format("Mutation score of %d is below threshold of %s.",
+                        statistics.mutationScore(), threshold));
+            }
+            throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+        var maxSurviving = options.get(MAX_SURVIVING);
+        if (maxSurviving != null && statistics.survived() > Long.parseLong(maxSurviving)) {
+            if (LOGGER.isLoggable(Level.SEVERE) && !silent()) {
+                LOGGER.severe(String.format("Had %d surviving mutants, but only %s survivors allowed.",
+                        statistics.survived(), maxSurviving));
+            }
+            throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+    }
+
+    /*
+     * Replaces the target classes globs with the matching classes of the build output, and runs an action.
+     */
+    private void executeExpanded(ExecuteAction action)
+            throws IOException, InterruptedException, ExitStatusException {
+        var classes = TargetClassResolver.resolve(targetRoots(), splitOption(TARGET_CLASSES),
+                splitOption(EXCLUDED_CLASSES));
+        if (classes.isEmpty()) {
+            if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                LOGGER.warning("No classes matching the target classes were found in the build output.");
+            }
+            action.execute();
+            return;
+        }
+
+        if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            var packages = classes.keySet().stream().map(c -> c.contains(".") ? c.substring(0, c.lastIndexOf('.')) : "")
+                    .distinct().count();
+            var size = classes.values().stream().mapToLong(Long::longValue).sum();
+            LOGGER.info(String.format("Mutating %d classes in %d packages (%d KB of bytecode).", classes.size(),
+                    packages, size >> 10));
+        }
+        if (LOGGER.isLoggable(Level.FINE) && !silent()) {
+            LOGGER.fine("Target classes: " + String.join(", ", classes.keySet()));
+        }
+        executeWith(Map.of(TARGET_CLASSES, targetGlobs(classes.keySet())), action);
+    }
+
+    /*
+     * Runs PIT, reading and writing the managed history for incremental analysis.
+     */
+    private void executeIncremental() throws IOException, InterruptedException, ExitStatusException {
+        var history = new IncrementalHistory(operationDirectory("history",
+                Path.of(options_.getOrDefault(REPORT_DIR, ""))), historyFingerprint());
+        var overrides = new HashMap<String, String>();
+        if (history.prepare()) {
+            overrides.put(HISTORY_INPUT, history.input().toString());
+        } else if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            LOGGER.info("No incremental analysis history found, analyzing all mutations.");
+        }
+        // the history of a subset of the target classes would replace the history of the other classes
+        overrides.put(HISTORY_OUTPUT, narrowed_ ? null : history.output().toString());
+        // a run failing its thresholds is complete, check them from the report so that its history is kept
+        var isThresholdDeferred = options_.containsKey(REPORT_DIR)
+                && (options_.containsKey(MUTATION_THRESHOLD) || options_.containsKey(MAX_SURVIVING));
+        if (isThresholdDeferred) {
+            overrides.put(MUTATION_THRESHOLD, null);
+            overrides.put(MAX_SURVIVING, null);
+            overrides.put(OUTPUT_FORMATS, xmlOutputFormats());
+        }
+
+        var isSuccessful = false;
+        try {
+            executeWith(overrides, this::executeProcess);
+            isSuccessful = true;
+        } finally {
+            if (isSuccessful && !narrowed_) {
+                history.commit();
+            } else {
+                history.discard();
+            }
+        }
+
+        if (isThresholdDeferred) {
+            readResult();
+            checkThresholds();
+        }
+    }
+
+    /*
+     * Runs an action on a subset of the target classes, with options temporarily overridden.
+     */
+    private void executeNarrowed(Map<String, String> overrides, ExecuteAction action)
+            throws IOException, InterruptedException, ExitStatusException {
+        var wasNarrowed = narrowed_;
+        narrowed_ = true;
+        try {
+            executeWith(overrides, action);
+        } finally {
+            narrowed_ = wasNarrowed;
+        }
+    }
+
+    /*
+     * Runs a single PIT process, rendering its progress if enabled.
+     */
+    private void executeProcess() throws IOException, InterruptedException, ExitStatusException {
+        if (daemon_ || inProcess_) {
+            executeEntryPoint();
+            return;
+        }
+        if (!progress_ && metricsCollector_ == null) {
+            super.execute();
+            return;
+        }
+
+        var console = progress_ ? openConsole(TargetClassResolver.resolve(targetRoots(),
+                splitOption(TARGET_CLASSES), splitOption(EXCLUDED_CLASSES)).keySet(), 1, 0) : null;
+        var outputProcessor = outputProcessor();
+        var errorProcessor = errorProcessor();
+        try {
+            outputProcessor(outputTap(console, outputProcessor, System.out));
+            errorProcessor(outputTap(console, errorProcessor, System.err));
+            super.execute();
+        } finally {
+            outputProcessor(outputProcessor);
+            errorProcessor(errorProcessor);
+            if (console != null) {
+                console.close();
+            }
+        }
+    }
+
+    /*
+     * Runs PIT, then re-verifies the mutants which timed out or ran out of memory in a single-threaded process, and
+     * corrects the report with their new statuses.
+     */
+    private void executeReverified(ExecuteAction action)
+            throws IOException, InterruptedException, ExitStatusException {
+        var thresholds = new HashMap<String, String>();
+        thresholds.put(MUTATION_THRESHOLD, null);
+        thresholds.put(MAX_SURVIVING, null);
+        executeWith(thresholds, action);
+
+        var reportDir = Path.of(options_.get(REPORT_DIR));
+        var report = MutationReportParser.find(reportDir, reportsSince());
+        if (report != null) {
+            var suspects = new TreeSet<String>();
+            Consumer<PitestResult.Mutant> consumer = mutant -> {
+                if (REVERIFIED_STATUSES.contains(mutant.status())) {
+                    suspects.add(TargetClassResolver.topLevelName(mutant.mutatedClass()));
+                }
+            };
+            if (report.getFileName().toString().endsWith(".xml")) {
+                MutationReportParser.parseXml(report, consumer);
+            } else {
+                MutationReportParser.parseCsv(report, consumer);
+            }
+            if (!suspects.isEmpty()) {
+                // kept out of the report directory, and deleted once the report is corrected
+                var reverifyDir = operationDirectory("reverify", reportDir);
+                BuildAvoidance.deleteDirectory(reverifyDir);
+                try {
+                    reverify(report, new ArrayList<>(suspects), reverifyDir);
+                } finally {
+                    BuildAvoidance.deleteDirectory(reverifyDir);
+                }
+            }
+        }
+
+        readResult();
+        checkThresholds();
+    }
+
+    /*
+     * Runs PIT and reads its results.
+     */
+    private void executeRun() throws IOException, InterruptedException, ExitStatusException {
+        runStart_ = System.currentTimeMillis();
+        var metrics = metrics_ || calibrateTimeouts_ ? new PitestMetrics() : null;
+        if (metrics_) {
+            metrics.start();
+        }
+        metricsCollector_ = metrics;
+        try {
+            ExecuteAction run = resultCache_ != null ? this::executeCached : this::executeUncached;
+            ExecuteAction expanded = expandTargetClasses_ ? () -> executeExpanded(run) : run;
+            // re-verified with the calibrated timeouts of the run
+            ExecuteAction reverified = reverify_ && options_.containsKey(REPORT_DIR)
+                    ? () -> executeReverified(expanded) : expanded;
+            if (calibrateTimeouts_) {
+                executeCalibrated(reverified, metrics);
+            } else {
+                reverified.execute();
+            }
+        } finally {
+            metricsCollector_ = null;
+            readResult();
+            if (metrics_) {
+                writeMetrics(metrics);
+            }
+        }
+    }
+
+    /*
+     * Runs PIT, restricted to the changed classes if required.
+     */
+    private void executeScoped() throws IOException, InterruptedException, ExitStatusException {
+        if (changedSince_ != null) {
+            executeChanged();
+        } else {
+            executeRun();
+        }
+    }
+
+    /*
+     * Splits the target classes into shards, runs them concurrently and merges their reports.
+     */
+    private void executeShards() throws IOException, InterruptedException, ExitStatusException {
+        if (incremental_ && LOGGER.isLoggable(Level.WARNING) && !silent()) {
+            LOGGER.warning("Incremental analysis is not supported when sharding.");
+        }
+
+        var reportPath = requireReportDir("sharding");
+        var classes = TargetClassResolver.resolve(targetRoots(),
+                splitOption(TARGET_CLASSES), splitOption(EXCLUDED_CLASSES));
+        if (classes.size() < 2) {
+            executeProcess();
+            return;
+        }
+
+        var shards = TargetClassResolver.queue(costModel().weights(classes), Math.max(shards_, shardBatches_));
+        var workers = Math.min(shards_, shards.size());
+        if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            if (shards.size() > workers) {
+                LOGGER.info(String.format("Running %d classes in %d batches on %d shards.", classes.size(),
+                        shards.size(), workers));
+            } else {
+                LOGGER.info(String.format("Running %d classes in %d shards.", classes.size(), shards.size()));
+            }
+        }
+
+        runBatches(shards, reportPath, "shard-", workers, null);
+    }
+
+    /*
+     * Runs PIT, sharded, incremental or not.
+     */
+    private void executeUncached() throws IOException, InterruptedException, ExitStatusException {
+        if (timeBudget_ != null) {
+            executeBudgeted();
+        } else if (shards_ > 1) {
+            executeShards();
+        } else if (incremental_) {
+            // the classes reused from the history would skew the costs
+            executeIncremental();
+        } else {
+            var start = System.currentTimeMillis();
+            try {
+                executeProcess();
+            } finally {
+                var reportDir = options_.get(REPORT_DIR);
+                if (reportDir != null) {
+                    // the output is not tracked, so the overhead is estimated from the previous executions
+                    recordCosts(start, List.of(Path.of(reportDir)),
+                            List.of(Duration.ofMillis(System.currentTimeMillis() - start)),
+                            Collections.singletonList(null));
+                }
+            }
+        }
+    }
+
+    /*
+     * Runs PIT, then again whenever classes change, on the changed classes and the classes tested by the changed test
+     * classes, until interrupted.
+     */
+    private void executeWatched(ExecuteAction action) throws IOException, InterruptedException {
+        var mainDir = project_.buildMainDirectory().toPath().toAbsolutePath();
+        var testDir = project_.buildTestDirectory().toPath().toAbsolutePath();
+        var tested = new HashMap<String, Set<String>>();
+        try (var watcher = new ClassWatcher(List.of(mainDir, testDir))) {
+            executeWatchedRun(action, tested);
+            while (true) {
+                if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+                    LOGGER.info("Watching for changed classes...");
+                }
+                var changes = watcher.take(WATCH_QUIET_PERIOD);
+                if (changes == null) {
+                    if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+                        LOGGER.info("Too many changed classes to track, running again.");
+                    }
+                    executeWatchedRun(action, tested);
+                    continue;
+                }
+
+                var classes = new TreeSet<>(changes.get(mainDir));
+                for (var test : changes.get(testDir)) {
+                    classes.addAll(tested.getOrDefault(test, Set.of()));
+                    var conventional = ClassWatcher.conventionalClass(test);
+                    if (conventional != null) {
+                        classes.add(conventional);
+                    }
+                }
+                // deleted classes, or test classes not following a convention
+                classes.removeIf(c -> !Files.isRegularFile(mainDir.resolve(c.replace('.', File.separatorChar)
+                        + ".class")));
+                retainTargeted(classes);
+                if (classes.isEmpty()) {
+                    continue;
+                }
+
+                if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+                    LOGGER.info(String.format("Mutating %d changed classes.", classes.size()));
+                }
+                executeWatchedRun(() -> executeNarrowed(Map.of(TARGET_CLASSES,
+                        targetGlobs(classes)), this::executeRun), tested);
+            }
+        }
+    }
+
+    /*
+     * Runs PIT while watching, recording the test classes of the mutants.
+     */
+    private void executeWatchedRun(ExecuteAction action, Map<String, Set<String>> tested)
+            throws IOException, InterruptedException {
+        try {
+            action.execute();
+        } catch (ExitStatusException ignored) {
+            // already reported, keep watching
+        }
+
+        var reportDir = options_.get(REPORT_DIR);
+        if (reportDir != null) {
+            try {
+                ClassWatcher.recordTests(Path.of(reportDir), tested);
+            } catch (IOException e) {
+                if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                    LOGGER.warning("Could not read the tests of the mutation report: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /*
+     * Runs an action with options temporarily overridden, a null value removing the option.
+     */
+    private void executeWith(Map<String, String> overrides, ExecuteAction action)
+            throws IOException, InterruptedException, ExitStatusException {
+        var saved = new HashMap<String, String>();
+        overrides.forEach((k, v) -> {
+            var previous = v == null ? options_.remove(k) : options_.put(k, v);
+            saved.put(k, previous);
+        });
+        try {
+            action.execute();
+        } finally {
+            saved.forEach((k, v) -> {
+                if (v == null) {
+                    options_.remove(k);
+                } else {
+                    options_.put(k, v);
+                }
+            });
+        }
+    }
+
+    /**
+     * Expands the {@link #targetClasses(String...) target classes} globs into the matching classes of the project's
+     * build output, and of the {@link #mutableCodePaths(String...) mutable code paths} directories, before running
+     * PIT.
+     * <p>
+     * PIT is then given the exact classes to mutate, with their nested classes, instead of matching globs against
+     * every class on the classpath. The directories are walked in parallel, and the mutation scope is logged before
+     * PIT runs. Long lists are passed using an {@link #argFileThreshold(int) argument file}.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param isExpand {@code true} or {@code false}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation expandTargetClasses(boolean isExpand) {
+        expandTargetClasses_ = isExpand;
+        return this;
+    }
+
+    /**
+     * Returns whether the target classes globs are expanded before running PIT.
+     *
+     * @return {@code true} or {@code false}
+     * @since 1.1
+     */
+    public boolean expandTargetClasses() {
+        return expandTargetClasses_;
+    }
+
+    /**
+     * Configures the operation from a {@link BaseProject}.
+     *
+     * @param project the project to configure the operation from
+     * @since 1.5
+     */
+    @Override
+    public PitestOperation fromProject(BaseProject project) {
+        project_ = project;
+        return this;
+    }
+
+    /**
+     * Whether or not to dump per test line coverage data to disk.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param jsExport {@code true} or {@code false}
+     * @return this operation instance
+     */
+    public PitestOperation exportLineCoverage(boolean jsExport) {
+        if (jsExport) {
+            options_.put("--exportLineCoverage", TRUE);
+        } else {
+            options_.put("--exportLineCoverage", FALSE);
+        }
+        return this;
+    }
+
+    /**
+     * Stops the mutation analysis as soon as the {@link #mutationThreshold(int) mutation threshold} or the
+     * {@link #maxSurviving(int) maximum number of surviving mutants} can no longer be met, when running in
+     * {@link #shards(int) shards} or within a {@link #timeBudget(Duration) time budget}.
+     * <p>
+     * The results of each batch are tracked as it completes, and the remaining batches are cancelled once there are
+     * too many surviving mutants, or once the mutation score would remain below the threshold even if every mutant
+     * still to be analyzed were detected. The number of mutants still to be analyzed is taken from the previous
+     * executions, so the mutation threshold is only tracked when none of the target classes, nor the analysis
+     * settings, changed since their mutants were last counted.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param isFailFast {@code true} or {@code false}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation failFast(boolean isFailFast) {
+        failFast_ = isFailFast;
+        return this;
+    }
+
+    /**
+     * Returns whether the mutation analysis stops as soon as the thresholds can no longer be met.
+     *
+     * @return {@code true} or {@code false}
+     * @since 1.1
+     */
+    public boolean failFast() {
+        return failFast_;
+    }
+
+    /**
+     * Whether to throw an error when no mutations found.
      * <p>
      * Defaults to {@code true}
      *
@@ -536,6 +1690,27 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
         return this;
     }
 
+    /*
+     * Returns the fingerprint of the settings affecting the analysis history, ignoring some options.
+     */
+    private String historyFingerprint(String... ignoredOptions) {
+        // the source directories only affect the reports, and are set once the command is constructed
+        var ignored = new HashSet<>(Set.of(HISTORY_INPUT, HISTORY_OUTPUT, OUTPUT_FORMATS, REPORT_DIR, SOURCE_DIRS,
+                TARGET_CLASSES, THREADS, TIMESTAMPED_REPORTS, "--verbose", "--verbosity"));
+        ignored.addAll(List.of(ignoredOptions));
+        var values = new ArrayList<String>();
+        values.add(Fingerprints.options(options_, ignored));
+        values.add(Fingerprints.pitVersion(project_.libTestDirectory(), project_.libCompileDirectory()));
+        for (var dir : List.of(project_.libTestDirectory(), project_.libCompileDirectory())) {
+            var jars = dir.list();
+            if (jars != null) {
+                Arrays.sort(jars);
+                values.addAll(List.of(jars));
+            }
+        }
+        return Fingerprints.sha256(values);
+    }
+
     /**
      * Path to a file containing history information for incremental analysis.
      *
@@ -544,7 +1719,7 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      */
     public PitestOperation historyInputLocation(String path) {
         if (isNotBlank(path)) {
-            options_.put("--historyInputLocation", path);
+            options_.put(HISTORY_INPUT, path);
         }
         return this;
     }
@@ -578,7 +1753,7 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      */
     public PitestOperation historyOutputLocation(String path) {
         if (isNotBlank(path)) {
-            options_.put("--historyOutputLocation", path);
+            options_.put(HISTORY_OUTPUT, path);
         }
         return this;
     }
@@ -617,9 +1792,9 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      */
     public PitestOperation includeLaunchClasspath(boolean isLaunchClasspath) {
         if (isLaunchClasspath) {
-            options_.put("--includeLaunchClasspath", TRUE);
+            options_.put(INCLUDE_LAUNCH_CLASSPATH, TRUE);
         } else {
-            options_.put("--includeLaunchClasspath", FALSE);
+            options_.put(INCLUDE_LAUNCH_CLASSPATH, FALSE);
         }
         return this;
     }
@@ -660,6 +1835,79 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
         return this;
     }
 
+    /**
+     * Enables incremental analysis, with automatically managed history files.
+     * <p>
+     * The history is stored in the project's build directory, in a directory specific to the
+     * {@link #reportDir(String) report directory}, under a name derived from the analysis options, the dependencies
+     * and PIT version, so that history recorded with different settings is never reused and is discarded. The history
+     * is only updated after a run which completed, and a history which fails its integrity check is discarded,
+     * resulting in a full analysis. A run restricted to some of the target classes, e.g. to the classes
+     * {@link #changedSince(String) changed since a base revision}, reads the history but does not update it.
+     * <p>
+     * When a {@link #reportDir(String) report directory} is specified, the {@link #mutationThreshold(int) mutation
+     * threshold} and {@link #maxSurviving(int) maximum surviving mutants} are checked against the {@code XML} report
+     * once the history is updated, so that a run failing them still updates the history.
+     * <p>
+     * This overrides the {@link #historyInputLocation(String) history input} and
+     * {@link #historyOutputLocation(String) history output} locations, and is not supported when
+     * {@link #shards(int) sharding}.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param isIncremental {@code true} or {@code false}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation incremental(boolean isIncremental) {
+        incremental_ = isIncremental;
+        return this;
+    }
+
+    /**
+     * Returns whether incremental analysis is enabled.
+     *
+     * @return {@code true} or {@code false}
+     * @since 1.1
+     */
+    public boolean incremental() {
+        return incremental_;
+    }
+
+    /**
+     * Runs PIT in the current JVM, through its programmatic entry point, instead of launching a separate JVM for
+     * the PIT coordinator. The mutation analysis itself still runs in separate minion JVMs.
+     * <p>
+     * This saves the startup and class loading of a JVM on each execution, which dominates the run time of small
+     * modules and repeated runs. PIT is loaded from the same classpath as the separate JVM would use, by an isolated
+     * class loader reused across executions of this operation.
+     * <p>
+     * The {@link #shards(int) shards}, {@link #timeBudget(Duration) time-budgeted batches} and
+     * {@link #reverify(boolean) re-verification} still run in separate JVMs, and the
+     * {@link #progress(boolean) progress} and {@link #metrics(boolean) metrics} cannot follow the output of PIT
+     * running in-process.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param isInProcess {@code true} or {@code false}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation inProcess(boolean isInProcess) {
+        inProcess_ = isInProcess;
+        return this;
+    }
+
+    /**
+     * Returns whether PIT runs in the current JVM.
+     *
+     * @return {@code true} or {@code false}
+     * @since 1.1
+     */
+    public boolean inProcess() {
+        return inProcess_;
+    }
+
     /**
      * Input encoding.
      * <p>
@@ -675,6 +1923,43 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
         return this;
     }
 
+    /*
+     * Returns the fingerprint of all the inputs of a run: settings, compiled classes and dependencies.
+     */
+    private String inputsFingerprint() throws IOException, InterruptedException {
+        var options = new HashMap<>(options_);
+        // the default source directories are only set once the command is constructed
+        options.putIfAbsent(SOURCE_DIRS, project_.srcDirectory().getPath());
+        var values = new ArrayList<String>();
+        values.add(Fingerprints.options(options, Set.of()));
+        values.add(javaTool());
+        values.add(String.valueOf(javaOptions()));
+        // the changed classes depend on the commit the revision resolves to, not on its name
+        values.add(changedSince_ == null ? "" : GitChangedClasses.mergeBase(project_.workDirectory(), changedSince_));
+        // the settings changing how PIT runs, and so its outcome or report
+        for (var setting : Arrays.asList(argFileThreshold_, autoThreads_, calibrateTimeouts_, classDataSharing_,
+                daemon_, expandTargetClasses_, failFast_, incremental_, inProcess_, minionProfile_, resultCache_,
+                reverify_, shardBatches_, shards_, timeBudget_)) {
+            values.add(String.valueOf(setting));
+        }
+        values.add(Fingerprints.files(List.of(project_.buildMainDirectory(), project_.buildTestDirectory(),
+                project_.libCompileDirectory(), project_.libTestDirectory())));
+        return Fingerprints.sha256(values);
+    }
+
+    /*
+     * Returns whether the results do not meet the mutation threshold or maximum surviving mutants.
+     */
+    private boolean isBelowThresholds() {
+        if (result_ == null) {
+            return false;
+        }
+        var threshold = options_.get(MUTATION_THRESHOLD);
+        var maxSurviving = options_.get(MAX_SURVIVING);
+        return (threshold != null && result_.mutationScore() < Integer.parseInt(threshold))
+                || (maxSurviving != null && result_.survived() > Long.parseLong(maxSurviving));
+    }
+
     /*
      * Determines if a string is not blank.
      */
@@ -703,7 +1988,7 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      * @see #jvmArgs(String...)
      */
     public PitestOperation jvmArgs(Collection<String> args) {
-        options_.put("--jvmArgs", String.join(",", args.stream().filter(this::isNotBlank).toList()));
+        options_.put(JVM_ARGS, String.join(",", args.stream().filter(this::isNotBlank).toList()));
         return this;
     }
 
@@ -716,7 +2001,7 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      */
     public PitestOperation jvmPath(String path) {
         if (isNotBlank(path)) {
-            options_.put("--jvmPath", path);
+            options_.put(JVM_PATH, path);
         }
         return this;
     }
@@ -743,31 +2028,226 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
         return jvmPath(path.toFile());
     }
 
+    /*
+     * Returns the classpath of the PIT process: the jars of the library directories, without duplicates, and the
+     * build directories.
+     */
+    private String launcherClassPath(Map<String, String> options) {
+        var entries = launcherEntries();
+
+        if (TRUE.equals(options.get(USE_CLASSPATH_JAR)) && entries.stream().noneMatch(f -> "*".equals(f.getName()))) {
+            try {
+                return new ClasspathResolver(new File(project_.buildDirectory(), "pitest/classpath").toPath())
+                        .classpathJar(entries).toString();
+            } catch (IOException e) {
+                if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                    LOGGER.warning("Could not create the classpath jar: " + e.getMessage());
+                }
+            }
+        }
+        return String.join(File.pathSeparator, entries.stream().map(File::getPath).toList());
+    }
+
+    /*
+     * Returns the classpath entries of the PIT launcher: the resolved libraries, then the main and test classes.
+     */
+    private List<File> launcherEntries() {
+        var entries = new ArrayList<File>();
+        var resolver = new ClasspathResolver(new File(project_.buildDirectory(), "pitest/classpath").toPath());
+        try {
+            entries.addAll(resolver.resolve(List.of(project_.libTestDirectory(), project_.libCompileDirectory())));
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                LOGGER.warning("Could not resolve the classpath: " + e.getMessage());
+            }
+            entries.add(new File(project_.libTestDirectory(), "*"));
+            entries.add(new File(project_.libCompileDirectory(), "*"));
+        }
+        entries.add(project_.buildMainDirectory());
+        entries.add(project_.buildTestDirectory());
+        return entries;
+    }
+
     /**
-     * Maximum number of surviving mutants to allow without throwing an error.
+     * The file the raw output of PIT is written to when rendering the {@link #progress(boolean) progress}.
+     * <p>
+     * Defaults to {@code pitest/pitest.log} in the project's build directory
      *
-     * @param maxMutationsPerClass the max number
+     * @param file the log file
      * @return this operation instance
+     * @since 1.1
      */
-    public PitestOperation maxMutationsPerClass(int maxMutationsPerClass) {
-        options_.put("--maxMutationsPerClass", String.valueOf(maxMutationsPerClass));
+    public PitestOperation logFile(String file) {
+        if (isNotBlank(file)) {
+            logFile_ = Path.of(file);
+        } else {
+            logFile_ = null;
+        }
         return this;
     }
 
     /**
-     * Maximum number of surviving mutants to allow without throwing an error.
+     * The file the raw output of PIT is written to when rendering the progress.
      *
-     * @param maxSurviving the maximin number
+     * @param file the log file
      * @return this operation instance
+     * @see #logFile(String)
+     * @since 1.1
      */
-    public PitestOperation maxSurviving(int maxSurviving) {
-        options_.put("--maxSurviving", String.valueOf(maxSurviving));
-        return this;
+    public PitestOperation logFile(File file) {
+        return logFile(file.getAbsolutePath());
     }
 
     /**
-     * List of classpaths which should be considered to contain mutable code. If your build maintains separate output
-     * directories for tests and production classes this parameter should be set to your code output directory in order
+     * The file the raw output of PIT is written to when rendering the progress.
+     *
+     * @param file the log file
+     * @return this operation instance
+     * @see #logFile(String)
+     * @since 1.1
+     */
+    public PitestOperation logFile(Path file) {
+        return logFile(file.toFile());
+    }
+
+    /**
+     * Returns the file the raw output of PIT is written to when rendering the progress.
+     *
+     * @return the log file, or {@code null} for the default
+     * @since 1.1
+     */
+    public Path logFile() {
+        return logFile_;
+    }
+
+    /**
+     * Maximum number of surviving mutants to allow without throwing an error.
+     *
+     * @param maxMutationsPerClass the max number
+     * @return this operation instance
+     */
+    public PitestOperation maxMutationsPerClass(int maxMutationsPerClass) {
+        options_.put("--maxMutationsPerClass", String.valueOf(maxMutationsPerClass));
+        return this;
+    }
+
+    /**
+     * Maximum number of surviving mutants to allow without throwing an error.
+     *
+     * @param maxSurviving the maximin number
+     * @return this operation instance
+     */
+    public PitestOperation maxSurviving(int maxSurviving) {
+        options_.put(MAX_SURVIVING, String.valueOf(maxSurviving));
+        return this;
+    }
+
+    /**
+     * Exports the metrics of each execution to the {@link #reportDir(String) report directory}, as
+     * {@code metrics.json} and, in the Prometheus text format, as {@code metrics.prom}.
+     * <p>
+     * The metrics are the wall-clock time, the time of each phase as reported by PIT (scan classpath, coverage and
+     * dependency analysis, build mutation tests, run mutation analysis, etc.), the number of mutants and the mutant
+     * throughput during the mutation analysis, the number of threads, and the number of minions, CPU time and peak
+     * resident memory of the child processes, sampled twice a second. The resident memory is only available on
+     * Linux. When running in {@link #shards(int) shards} or batches, the phase times are summed over the processes.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param isMetrics {@code true} or {@code false}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation metrics(boolean isMetrics) {
+        metrics_ = isMetrics;
+        return this;
+    }
+
+    /**
+     * Returns whether the metrics are exported.
+     *
+     * @return {@code true} or {@code false}
+     * @since 1.1
+     */
+    public boolean metrics() {
+        return metrics_;
+    }
+
+    /*
+     * Returns the Java version of the minions, or -1 if unknown.
+     */
+    private int minionJavaVersion(Map<String, String> options) {
+        try {
+            return MinionProfile.javaVersion(ClassDataSharing.executable(options.getOrDefault(JVM_PATH, javaTool())));
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /*
+     * Returns the JVM arguments of the minions: those of the minion profile not overridden by the user's, if any,
+     * then the user's.
+     */
+    private List<String> minionJvmArgs(Map<String, String> options) {
+        var jvmArgs = new ArrayList<String>();
+        var value = options.get(JVM_ARGS);
+        if (value != null) {
+            Arrays.stream(value.split(",")).map(String::trim).filter(this::isNotBlank).forEach(jvmArgs::add);
+        }
+        if (minionProfile_ == null) {
+            return jvmArgs;
+        }
+
+        var userArgs = new ArrayList<>(jvmArgs);
+        var argLine = options.get(ARG_LINE);
+        if (argLine != null) {
+            userArgs.addAll(List.of(argLine.trim().split("\\s+")));
+        }
+        var version = minionJavaVersion(options);
+        var args = new ArrayList<>(minionProfile_.argsFor(userArgs, version, arg -> {
+            if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                LOGGER.warning(String.format("Ignoring %s of the %s minion profile, not supported by Java %d.",
+                        arg, minionProfile_, version));
+            }
+        }));
+        args.addAll(jvmArgs);
+        return args;
+    }
+
+    /**
+     * The JVM tuning profile of the minions, the child processes launched by PIT to run the tests against the
+     * mutants.
+     * <p>
+     * The arguments of the profile are passed to the minions before the {@link #jvmArgs(String...) jvmArgs}, which
+     * along with the {@link #argLine(String) argLine} override the profile's arguments setting the same options.
+     * Arguments not supported by the Java version of the {@link #jvmPath(String) jvmPath}, or of the Java tool if
+     * none, are left out with a warning.
+     * <p>
+     * For example, {@link MinionProfile#SHORT_LIVED SHORT_LIVED} reduces the startup and memory overhead of each
+     * minion, best combined with {@link #classDataSharing(boolean) classDataSharing}.
+     *
+     * @param profile the profile, or {@code null} for none
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation minionProfile(MinionProfile profile) {
+        minionProfile_ = profile;
+        return this;
+    }
+
+    /**
+     * Returns the JVM tuning profile of the minions.
+     *
+     * @return the profile, or {@code null} if none
+     * @since 1.1
+     */
+    public MinionProfile minionProfile() {
+        return minionProfile_;
+    }
+
+    /**
+     * List of classpaths which should be considered to contain mutable code. If your build maintains separate output
+     * directories for tests and production classes this parameter should be set to your code output directory in order
      * to avoid mutating test helper classes etc.
      * <p>
      * If no mutableCodePath is supplied PIT will default to considering anything not defined within a jar or zip file
@@ -834,7 +2314,7 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      * @see #mutableCodePaths(String...)
      */
     public PitestOperation mutableCodePaths(Collection<String> paths) {
-        options_.put("--mutableCodePaths", String.join(",", paths.stream().filter(this::isNotBlank).toList()));
+        options_.put(MUTABLE_CODE_PATHS, String.join(",", paths.stream().filter(this::isNotBlank).toList()));
         return this;
     }
 
@@ -874,6 +2354,27 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
         return mutableCodePaths(paths.stream().map(Path::toFile).map(File::getAbsolutePath).toList());
     }
 
+    /*
+     * Returns the fingerprints of the bytecode of top-level classes, along with the settings affecting their mutants.
+     */
+    private Map<String, String> mutantFingerprints(Collection<String> classes) throws IOException {
+        var ignored = Set.of(COVERAGE_THRESHOLD, HISTORY_INPUT, HISTORY_OUTPUT, MAX_SURVIVING, MUTATION_THRESHOLD,
+                OUTPUT_FORMATS, REPORT_DIR, TARGET_CLASSES, THREADS, TIMEOUT_CONST, TIMEOUT_FACTOR,
+                TIMESTAMPED_REPORTS, "--verbose", "--verbosity");
+        var settings = List.of(Fingerprints.options(options_, ignored),
+                Fingerprints.pitVersion(project_.libTestDirectory(), project_.libCompileDirectory()));
+        var roots = targetRoots();
+        var fingerprints = new HashMap<String, String>();
+        for (var className : classes) {
+            var values = new ArrayList<>(settings);
+            for (var root : roots) {
+                values.add(Fingerprints.classFiles(root, className));
+            }
+            fingerprints.put(className, Fingerprints.sha256(values));
+        }
+        return fingerprints;
+    }
+
     /**
      * Mutation engine to use.
      * <p>
@@ -899,7 +2400,7 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      */
     public PitestOperation mutationThreshold(int threshold) {
         if (threshold >= 0 && threshold <= 100) {
-            options_.put("--mutationThreshold", String.valueOf(threshold));
+            options_.put(MUTATION_THRESHOLD, String.valueOf(threshold));
         }
         return this;
     }
@@ -939,6 +2440,33 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
         return this;
     }
 
+    /*
+     * Opens the console rendering the progress of the given classes, estimated from the cost model.
+     */
+    private PitestConsole openConsole(Collection<String> classes, int workers, int batches) throws IOException {
+        var costModel = costModel();
+        var expected = 0L;
+        for (var className : classes) {
+            var cost = costModel.cost(className);
+            if (cost == null) {
+                expected = -1;
+                break;
+            }
+            expected += cost.mutants();
+        }
+        var logFile = logFile_ != null ? logFile_ : new File(project_.buildDirectory(), "pitest/pitest.log").toPath();
+        return new PitestConsole(logFile, silent() ? null : System.out, System.console() != null,
+                costModel.estimate(classes).dividedBy(Math.max(1, workers)), expected, batches);
+    }
+
+    /*
+     * Returns a directory of the project's build directory for the given purpose, specific to the report directory.
+     */
+    private Path operationDirectory(String name, Path reportPath) {
+        var key = Fingerprints.sha256(List.of(reportPath.toAbsolutePath().normalize().toString()));
+        return new File(project_.buildDirectory(), "pitest/" + name).toPath().resolve(key.substring(0, 16));
+    }
+
     /**
      * Returns the PIT options.
      *
@@ -949,181 +2477,791 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
     }
 
     /**
-     * Output encoding.
+     * Output encoding.
+     * <p>
+     * Default is {@code UTF-8}.
+     *
+     * @param encoding the encoding
+     * @return this operation instance
+     */
+    public PitestOperation outputEncoding(String encoding) {
+        if (isNotBlank(encoding)) {
+            options_.put("--outputEncoding", encoding);
+        }
+        return this;
+    }
+
+    /**
+     * A list of formats in which to write mutation results as the mutations are analysed.
+     * Supported formats are {@code HTML}, {@code XML}, {@code CSV}.
+     * <p>
+     * Defaults to {@code HTML}.
+     *
+     * @param outputFormat one or more output formats
+     * @return this operation instance
+     * @see #outputFormatsFiles(Collection)
+     */
+    public PitestOperation outputFormats(File... outputFormat) {
+        return outputFormatsFiles(List.of(outputFormat));
+    }
+
+    /**
+     * A list of formats in which to write mutation results as the mutations are analysed.
+     * Supported formats are {@code HTML}, {@code XML}, {@code CSV}.
+     * <p>
+     * Defaults to {@code HTML}.
+     *
+     * @param outputFormat one or more output formats
+     * @return this operation instance
+     * @see #outputFormatsPaths(Collection)
+     */
+    public PitestOperation outputFormats(Path... outputFormat) {
+        return outputFormatsPaths(List.of(outputFormat));
+    }
+
+    /**
+     * A list of formats in which to write mutation results as the mutations are analysed.
+     * Supported formats are {@code HTML}, {@code XML}, {@code CSV}.
+     * <p>
+     * Defaults to {@code HTML}.
+     *
+     * @param outputFormat one or more output formats
+     * @return this operation instance
+     * @see #outputFormats(Collection)
+     */
+    public PitestOperation outputFormats(String... outputFormat) {
+        return outputFormats(List.of(outputFormat));
+    }
+
+    /**
+     * A list of formats in which to write mutation results as the mutations are analysed.
+     * Supported formats are {@code HTML}, {@code XML}, {@code CSV}.
+     * <p>
+     * Defaults to {@code HTML}.
+     *
+     * @param outputFormats the list of output formats
+     * @return this operation instance
+     * @see #outputFormats(String...)
+     */
+    public PitestOperation outputFormats(Collection<String> outputFormats) {
+        options_.put(OUTPUT_FORMATS, String.join(",", outputFormats.stream().filter(this::isNotBlank).toList()));
+        return this;
+    }
+
+    /**
+     * A list of formats in which to write mutation results as the mutations are analysed.
+     * Supported formats are {@code HTML}, {@code XML}, {@code CSV}.
+     * <p>
+     * Defaults to {@code HTML}.
+     *
+     * @param outputFormats the list of output formats
+     * @return this operation instance
+     * @see #outputFormats(File...)
+     */
+    public PitestOperation outputFormatsFiles(Collection<File> outputFormats) {
+        return outputFormats(outputFormats.stream().map(File::getAbsolutePath).toList());
+    }
+
+    /**
+     * A list of formats in which to write mutation results as the mutations are analysed.
+     * Supported formats are {@code HTML}, {@code XML}, {@code CSV}.
+     * <p>
+     * Defaults to {@code HTML}.
+     *
+     * @param outputFormats the list of output formats
+     * @return this operation instance
+     * @see #outputFormats(Path...)
+     */
+    public PitestOperation outputFormatsPaths(Collection<Path> outputFormats) {
+        return outputFormats(outputFormats.stream().map(Path::toFile).map(File::getAbsolutePath).toList());
+
+    }
+
+    /*
+     * Returns an output processor feeding the metrics and the console, then the user's processor, or echoing the
+     * line if there is neither a console nor a user's processor.
+     */
+    private Function<String, Boolean> outputTap(PitestConsole console, Function<String, Boolean> processor,
+                                                PrintStream echo) {
+        var metrics = metricsCollector_;
+        return line -> {
+            if (metrics != null) {
+                metrics.accept(line);
+            }
+            var isSuccessful = console == null || console.accept(line);
+            if (processor != null) {
+                return processor.apply(line) && isSuccessful;
+            }
+            if (console == null) {
+                echo.println(line);
+            }
+            return isSuccessful;
+        };
+    }
+
+    /*
+     * Returns the PIT arguments for the given options.
+     */
+    private List<String> pitArguments(Map<String, String> options) {
+        if (!options.containsKey(SOURCE_DIRS)) {
+            options.put(SOURCE_DIRS, project_.srcDirectory().getPath());
+        }
+
+        var args = new ArrayList<String>();
+        options.forEach((k, v) -> {
+            args.add(k);
+            if (!v.isEmpty()) {
+                args.add(v);
+            }
+        });
+        return args;
+    }
+
+    /**
+     * Custom plugin properties.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return this operation instance
+     */
+    public PitestOperation pluginConfiguration(String key, String value) {
+        options_.put("--pluginConfiguration", key + '=' + value);
+        return this;
+    }
+
+    /**
+     * Renders a compact progress line with an estimated time of arrival, instead of passing the output of PIT through
+     * to the console.
+     * <p>
+     * The output is parsed line by line to follow the phases of the analysis: scan, coverage, mutation analysis and
+     * report. Only warnings, errors and the final statistics are passed through, and the raw output is written to
+     * the {@link #logFile(String) log file}. The progress line is updated in place when running in a terminal, and
+     * printed every ten seconds otherwise.
+     * <p>
+     * The completed mutants are only reported by PIT with {@link #verbose(boolean) verbose} logging; otherwise, the
+     * estimated time of arrival is based on the costs recorded by the previous executions, or on the completed
+     * batches when {@link #shards(int) sharding}.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param isProgress {@code true} or {@code false}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation progress(boolean isProgress) {
+        progress_ = isProgress;
+        return this;
+    }
+
+    /**
+     * Returns whether the progress is rendered instead of the output of PIT.
+     *
+     * @return {@code true} or {@code false}
+     * @since 1.1
+     */
+    public boolean progress() {
+        return progress_;
+    }
+
+    /**
+     * Project base.
+     *
+     * @param file the file
+     * @return this operations instance
+     */
+    public PitestOperation projectBase(String file) {
+        options_.put("--projectBase", file);
+        return this;
+    }
+
+    /**
+     * Project base.
+     *
+     * @param file the file
+     * @return this operations instance
+     */
+    public PitestOperation projectBase(File file) {
+        return projectBase(file.getAbsolutePath());
+    }
+
+    /**
+     * Project base.
+     *
+     * @param file the file
+     * @return this operations instance
+     */
+    public PitestOperation projectBase(Path file) {
+        return projectBase(file.toFile());
+    }
+
+    /*
+     * Reads the results of the current run from the report directory, if any.
+     */
+    private void readResult() {
+        var reportDir = options_.get(REPORT_DIR);
+        if (reportDir != null) {
+            try {
+                result_ = MutationReportParser.parse(Path.of(reportDir), reportsSince());
+            } catch (IOException e) {
+                if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                    LOGGER.warning("Could not read the mutation results: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /*
+     * Returns the classes changed since the base revision, or the uncommitted changes if none was set.
+     */
+    private Set<String> recentlyChangedClasses() throws InterruptedException {
+        try {
+            var files = GitChangedClasses.changedFiles(project_.workDirectory(),
+                    changedSince_ == null ? "HEAD" : changedSince_);
+            return GitChangedClasses.toClassNames(files, project_.workDirectory(), project_.srcMainJavaDirectory(),
+                    project_.buildMainDirectory());
+        } catch (IOException e) {
+            return Set.of();
+        }
+    }
+
+    /*
+     * Records the costs of the classes in the reports written since the start time, from the durations and, if
+     * measured, overheads of their processes, and saves the cost model.
+     */
+    private void recordCosts(long start, List<Path> reportDirs, List<Duration> durations, List<Duration> overheads) {
+        var costModel = costModel();
+        try {
+            var isRecorded = false;
+            for (var i = 0; i < reportDirs.size(); i++) {
+                // allow for the file system timestamp granularity
+                var report = MutationReportParser.find(reportDirs.get(i), start - 1000);
+                if (report != null) {
+                    var classes = costModel.record(report, durations.get(i), overheads.get(i));
+                    mutantFingerprints(classes).forEach(costModel::fingerprint);
+                    isRecorded = true;
+                }
+            }
+            if (isRecorded) {
+                costModel.save(Path.of(options_.get(REPORT_DIR), CostModel.FILE_NAME));
+            }
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                LOGGER.warning("Could not record the mutation costs: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Output directory for the reports.
+     *
+     * @param dir the directory
+     * @return this operation instance
+     */
+    public PitestOperation reportDir(String dir) {
+        if (isNotBlank(dir)) {
+            options_.put(REPORT_DIR, dir);
+        }
+        return this;
+    }
+
+    /**
+     * Output directory for the reports.
+     *
+     * @param dir the directory
+     * @return this operation instance
+     */
+    public PitestOperation reportDir(File dir) {
+        return reportDir(dir.getAbsolutePath());
+    }
+
+    /**
+     * Output directory for the reports.
+     *
+     * @param dir the directory
+     * @return this operation instance
+     */
+    public PitestOperation reportDir(Path dir) {
+        return reportDir(dir.toFile());
+    }
+
+    /*
+     * Returns the time since which the reports of the current run were written.
+     */
+    private long reportsSince() {
+        // allow for the file system timestamp granularity
+        return runStart_ - 1000;
+    }
+
+    /*
+     * Returns the report directory, failing if it is not specified.
+     */
+    private Path requireReportDir(String feature) throws ExitStatusException {
+        var reportDir = options_.get(REPORT_DIR);
+        if (reportDir == null) {
+            if (LOGGER.isLoggable(Level.SEVERE) && !silent()) {
+                LOGGER.severe("A report directory must be specified when " + feature + '.');
+            }
+            throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+        return Path.of(reportDir);
+    }
+
+    /**
+     * Returns the results of the last {@link #execute() execution}.
+     * <p>
+     * The results are read from the {@code XML} report, or the {@code CSV} report, which must be enabled using
+     * {@link #outputFormats(String...) outputFormats}. They are available even if the execution failed, for example
+     * because a threshold was not met.
+     *
+     * @return the results, or {@code null} if no report could be read
+     * @since 1.1
+     */
+    public PitestResult result() {
+        return result_;
+    }
+
+    /**
+     * Caches the mutation results of each target class in the given directory, and only analyzes the classes whose
+     * results are not cached.
      * <p>
-     * Default is {@code UTF-8}.
+     * The results of a class are keyed by its bytecode, the bytecode of the tests covering it, and the analysis
+     * settings. The cached results and the results of the analyzed classes are merged into the {@code XML} report of
+     * the {@link #reportDir(String) report directory}, which must be specified, and the
+     * {@link #mutationThreshold(int) mutation threshold} and {@link #maxSurviving(int) maximum surviving mutants}
+     * are checked against the merged results. The {@code HTML} report only covers the analyzed classes. The cached
+     * results of the classes deleted from the project's build main directory are removed.
+     * <p>
+     * Unlike the {@link #incremental(boolean) incremental analysis} history, the cache directory can be restored
+     * between builds on a different machine.
      *
-     * @param encoding the encoding
+     * @param dir the cache directory
      * @return this operation instance
+     * @since 1.1
      */
-    public PitestOperation outputEncoding(String encoding) {
-        if (isNotBlank(encoding)) {
-            options_.put("--outputEncoding", encoding);
+    public PitestOperation resultCache(String dir) {
+        if (isNotBlank(dir)) {
+            resultCache_ = Path.of(dir);
+        } else {
+            resultCache_ = null;
         }
         return this;
     }
 
     /**
-     * A list of formats in which to write mutation results as the mutations are analysed.
-     * Supported formats are {@code HTML}, {@code XML}, {@code CSV}.
-     * <p>
-     * Defaults to {@code HTML}.
+     * Caches the mutation results of each target class in the given directory.
      *
-     * @param outputFormat one or more output formats
+     * @param dir the cache directory
      * @return this operation instance
-     * @see #outputFormatsFiles(Collection)
+     * @see #resultCache(String)
+     * @since 1.1
      */
-    public PitestOperation outputFormats(File... outputFormat) {
-        return outputFormatsFiles(List.of(outputFormat));
+    public PitestOperation resultCache(File dir) {
+        return resultCache(dir.getAbsolutePath());
     }
 
     /**
-     * A list of formats in which to write mutation results as the mutations are analysed.
-     * Supported formats are {@code HTML}, {@code XML}, {@code CSV}.
-     * <p>
-     * Defaults to {@code HTML}.
+     * Caches the mutation results of each target class in the given directory.
      *
-     * @param outputFormat one or more output formats
+     * @param dir the cache directory
      * @return this operation instance
-     * @see #outputFormatsPaths(Collection)
+     * @see #resultCache(String)
+     * @since 1.1
      */
-    public PitestOperation outputFormats(Path... outputFormat) {
-        return outputFormatsPaths(List.of(outputFormat));
+    public PitestOperation resultCache(Path dir) {
+        return resultCache(dir.toFile());
     }
 
     /**
-     * A list of formats in which to write mutation results as the mutations are analysed.
-     * Supported formats are {@code HTML}, {@code XML}, {@code CSV}.
-     * <p>
-     * Defaults to {@code HTML}.
+     * Returns the mutation results cache directory.
      *
-     * @param outputFormat one or more output formats
-     * @return this operation instance
-     * @see #outputFormats(Collection)
+     * @return the cache directory, or {@code null}
+     * @since 1.1
      */
-    public PitestOperation outputFormats(String... outputFormat) {
-        return outputFormats(List.of(outputFormat));
+    public Path resultCache() {
+        return resultCache_;
     }
 
-    /**
-     * A list of formats in which to write mutation results as the mutations are analysed.
-     * Supported formats are {@code HTML}, {@code XML}, {@code CSV}.
-     * <p>
-     * Defaults to {@code HTML}.
-     *
-     * @param outputFormats the list of output formats
-     * @return this operation instance
-     * @see #outputFormats(String...)
+    /*
+     * Removes the classes not matching the target classes, if specified.
      */
-    public PitestOperation outputFormats(Collection<String> outputFormats) {
-        options_.put("--outputFormats", String.join(",", outputFormats.stream().filter(this::isNotBlank).toList()));
-        return this;
+    private void retainTargeted(Collection<String> classes) {
+        var globs = splitOption(TARGET_CLASSES).stream().map(TargetClassResolver::globToPattern).toList();
+        if (!globs.isEmpty()) {
+            classes.removeIf(c -> globs.stream().noneMatch(g -> g.matcher(c).matches()));
+        }
     }
 
     /**
-     * A list of formats in which to write mutation results as the mutations are analysed.
-     * Supported formats are {@code HTML}, {@code XML}, {@code CSV}.
+     * Re-verifies the mutants which timed out or ran out of memory, as these often do so spuriously when many
+     * {@link #threads(int) threads} compete for the machine.
      * <p>
-     * Defaults to {@code HTML}.
+     * After the main run, the classes of these mutants are analyzed again in a separate PIT process, with a single
+     * thread, no history, and the same timeouts, including the {@link #calibrateTimeouts(boolean) calibrated} ones.
+     * The statuses found by the second run replace those of the {@code XML} and {@code CSV} reports, and the
+     * thresholds are checked against the corrected results. This allows the main run to use more threads. The
+     * {@code HTML} report is not corrected, and still shows the original statuses.
+     * <p>
+     * Requires a {@link #reportDir(String) report directory}.
+     * <p>
+     * Defaults to {@code false}
      *
-     * @param outputFormats the list of output formats
+     * @param isReverify {@code true} or {@code false}
      * @return this operation instance
-     * @see #outputFormats(File...)
+     * @since 1.1
      */
-    public PitestOperation outputFormatsFiles(Collection<File> outputFormats) {
-        return outputFormats(outputFormats.stream().map(File::getAbsolutePath).toList());
+    public PitestOperation reverify(boolean isReverify) {
+        reverify_ = isReverify;
+        return this;
     }
 
     /**
-     * A list of formats in which to write mutation results as the mutations are analysed.
-     * Supported formats are {@code HTML}, {@code XML}, {@code CSV}.
-     * <p>
-     * Defaults to {@code HTML}.
+     * Returns whether the mutants which timed out or ran out of memory are re-verified.
      *
-     * @param outputFormats the list of output formats
-     * @return this operation instance
-     * @see #outputFormats(Path...)
+     * @return {@code true} or {@code false}
+     * @since 1.1
      */
-    public PitestOperation outputFormatsPaths(Collection<Path> outputFormats) {
-        return outputFormats(outputFormats.stream().map(Path::toFile).map(File::getAbsolutePath).toList());
+    public boolean reverify() {
+        return reverify_;
+    }
+
+    /*
+     * Analyzes classes again in a single-threaded process, and corrects the statuses of their mutants which timed out
+     * or ran out of memory in the report.
+     */
+    private void reverify(Path report, List<String> classes, Path reverifyDir)
+            throws IOException, InterruptedException {
+        if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            LOGGER.info(String.format("Re-verifying the timed out or out of memory mutants of %d classes.",
+                    classes.size()));
+        }
+        var reports = new ArrayList<Path>();
+        for (var name : List.of(ReportMerger.MUTATIONS_XML, ReportMerger.MUTATIONS_CSV)) {
+            if (Files.isRegularFile(report.resolveSibling(name))) {
+                reports.add(report.resolveSibling(name));
+            }
+        }
+        var options = shardOptions(classes, reverifyDir);
+        options.put(THREADS, "1");
+        options.put(OUTPUT_FORMATS, reports.stream().map(r -> r.getFileName().toString().endsWith(".xml") ? "XML"
+                : "CSV").collect(Collectors.joining(",")));
+        for (var option : List.of(HISTORY_INPUT, HISTORY_OUTPUT, MUTATION_THRESHOLD, MAX_SURVIVING,
+                COVERAGE_THRESHOLD)) {
+            options.remove(option);
+        }
+
+        var runner = new PitestBatchRunner(1, workDirectory());
+        var exitValue = runner.run(List.of(executeConstructProcessCommandList(options))).get(0);
+        if (exitValue != ExitStatusException.EXIT_SUCCESS
+                || !reports.stream().allMatch(r -> Files.isRegularFile(reverifyDir.resolve(r.getFileName())))) {
+            if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                LOGGER.warning("Could not re-verify the mutants, keeping their original statuses.");
+            }
+            return;
+        }
 
+        var changed = 0;
+        for (var path : reports) {
+            var corrections = reverifyDir.resolve(path.getFileName());
+            // both reports hold the same mutants
+            changed = Math.max(changed, path.getFileName().toString().endsWith(".xml")
+                    ? ReportMerger.correctXml(path, corrections, REVERIFIED_STATUSES)
+                    : ReportMerger.correctCsv(path, corrections, REVERIFIED_STATUSES));
+        }
+        if (LOGGER.isLoggable(Level.INFO) && !silent()) {
+            LOGGER.info(String.format("Re-verification changed the status of %d mutants.", changed));
+            if (changed > 0 && Files.isRegularFile(report.resolveSibling("index.html"))) {
+                LOGGER.info("The HTML report still shows their original statuses.");
+            }
+        }
     }
 
-    /**
-     * Custom plugin properties.
-     *
-     * @param key   the key
-     * @param value the value
-     * @return this operation instance
+    /*
+     * Runs batches of classes as concurrent PIT processes, each reporting to its own directory of the build directory,
+     * merges the reports of the batches that ran into the report directory, and checks the thresholds against the
+     * merged results. With fail fast, the batches are cancelled as soon as the thresholds can no longer be met.
+     */
+    private void runBatches(List<List<String>> batches, Path reportPath, String prefix, int workers,
+                            Instant deadline) throws IOException, InterruptedException, ExitStatusException {
+        // kept out of the report directory, which only holds the merged reports
+        var scratchDir = operationDirectory("batches", reportPath);
+        BuildAvoidance.deleteDirectory(scratchDir);
+        var commands = new ArrayList<List<String>>(batches.size());
+        var batchDirs = new ArrayList<Path>(batches.size());
+        for (var i = 0; i < batches.size(); i++) {
+            var batchDir = scratchDir.resolve(prefix + (i + 1));
+            batchDirs.add(batchDir);
+            var options = shardOptions(batches.get(i), batchDir);
+            if (autoThreads_) {
+                // the automatic threads are shared by all the workers
+                options.put(THREADS, String.valueOf(Math.max(1, Integer.parseInt(options_.get(THREADS))
+                        / workers)));
+            }
+            // the thresholds are checked against the merged results
+            options.remove(MUTATION_THRESHOLD);
+            options.remove(MAX_SURVIVING);
+            commands.add(executeConstructProcessCommandList(options));
+        }
+
+        var console = progress_ ? openConsole(batches.stream().flatMap(List::stream).toList(), workers,
+                batches.size()) : null;
+        var metrics = metricsCollector_;
+        // the bounds of the mutation analysis phase of each batch, to tell its duration from the process overhead
+        var analysisStarts = new long[batches.size()];
+        var analysisEnds = new long[batches.size()];
+        BiConsumer<Integer, String> phases = (index, line) -> {
+            var phase = PitestConsole.phase(line);
+            if (phase == PitestConsole.Phase.MUTATION && analysisStarts[index] == 0) {
+                analysisStarts[index] = System.nanoTime();
+            } else if (phase == PitestConsole.Phase.REPORT && analysisEnds[index] == 0) {
+                analysisEnds[index] = System.nanoTime();
+            }
+        };
+        PitestBatchRunner runner;
+        if (console != null) {
+            runner = new PitestBatchRunner(workers, workDirectory(), (index, line) -> {
+                phases.accept(index, line);
+                if (metrics != null) {
+                    metrics.accept(line);
+                }
+                console.accept(prefix + (index + 1), line);
+            });
+        } else {
+            var output = outputTap(null, outputProcessor(), System.out);
+            var error = outputTap(null, errorProcessor(), System.err);
+            // the processors are called from the workers, one line at a time
+            runner = new PitestBatchRunner(workers, workDirectory(), (index, line) -> {
+                phases.accept(index, line);
+                synchronized (output) {
+                    output.apply(line);
+                }
+            }, (index, line) -> {
+                phases.accept(index, line);
+                synchronized (output) {
+                    error.apply(line);
+                }
+            });
+        }
+        IntConsumer listener = console == null ? null : index -> console.batchCompleted();
+        ThresholdTracker tracker = null;
+        if (failFast_ && (options_.containsKey(MUTATION_THRESHOLD) || options_.containsKey(MAX_SURVIVING))) {
+            var costModel = costModel();
+            var fingerprints = mutantFingerprints(batches.stream().flatMap(List::stream).toList());
+            var expected = new long[batches.size()];
+            var isKnown = true;
+            for (var i = 0; i < batches.size(); i++) {
+                for (var className : batches.get(i)) {
+                    var cost = costModel.cost(className);
+                    // the recorded number of mutants is only exact for unchanged classes and settings
+                    if (cost == null || !fingerprints.get(className).equals(costModel.fingerprint(className))) {
+                        isKnown = false;
+                    } else {
+                        expected[i] += cost.mutants();
+                    }
+                }
+            }
+            var threshold = options_.get(MUTATION_THRESHOLD);
+            var maxSurviving = options_.get(MAX_SURVIVING);
+            var thresholdTracker = new ThresholdTracker(threshold == null ? -1 : Integer.parseInt(threshold),
+                    maxSurviving == null ? -1 : Long.parseLong(maxSurviving),
+                    isKnown ? Arrays.stream(expected).sum() : -1);
+            var batchListener = listener;
+            listener = index -> {
+                if (batchListener != null) {
+                    batchListener.accept(index);
+                }
+                try {
+                    var result = MutationReportParser.parse(batchDirs.get(index));
+                    if (result != null) {
+                        thresholdTracker.add(result, expected[index]);
+                        if (thresholdTracker.unreachable() != null) {
+                            runner.cancel();
+                        }
+                    }
+                } catch (IOException e) {
+                    // checked once the reports are merged
+                }
+            };
+            tracker = thresholdTracker;
+        }
+
+        List<Duration> estimates = null;
+        if (deadline != null) {
+            // skip the batches which cannot complete before the deadline
+            var costModel = costModel();
+            estimates = batches.stream().map(b -> costModel.estimate(b).plus(costModel.overhead())).toList();
+        }
+
+        var start = System.currentTimeMillis();
+        List<Integer> exitValues;
+        try {
+            exitValues = runner.run(commands, deadline, estimates, listener);
+        } finally {
+            if (console != null) {
+                console.close();
+            }
+        }
+
+        var ranDirs = new ArrayList<Path>();
+        var ranDurations = new ArrayList<Duration>();
+        var ranOverheads = new ArrayList<Duration>();
+        var analyzed = 0;
+        for (var i = 0; i < batches.size(); i++) {
+            if (exitValues.get(i) != PitestBatchRunner.SKIPPED) {
+                var duration = runner.durations().get(i);
+                ranDirs.add(batchDirs.get(i));
+                ranDurations.add(duration);
+                ranOverheads.add(analysisStarts[i] == 0 || analysisEnds[i] < analysisStarts[i] ? null
+                        : duration.minusNanos(analysisEnds[i] - analysisStarts[i]));
+                analyzed += batches.get(i).size();
+            }
+        }
+        recordCosts(start, ranDirs, ranDurations, ranOverheads);
+
+        var isPartial = ranDirs.size() < batches.size();
+        ReportMerger.mergeXml(ranDirs.stream().map(d -> d.resolve(ReportMerger.MUTATIONS_XML)).toList(),
+                reportPath.resolve(ReportMerger.MUTATIONS_XML), isPartial);
+        if (ranDirs.stream().anyMatch(d -> Files.exists(d.resolve(ReportMerger.MUTATIONS_CSV)))) {
+            ReportMerger.mergeCsv(ranDirs.stream().map(d -> d.resolve(ReportMerger.MUTATIONS_CSV)).toList(),
+                    reportPath.resolve(ReportMerger.MUTATIONS_CSV));
+        }
+        if (ReportMerger.copyHtml(ranDirs, reportPath) && LOGGER.isLoggable(Level.FINE) && !silent()) {
+            LOGGER.fine("The HTML reports of the batches are linked from: " + reportPath.resolve("index.html"));
+        }
+
+        var reason = tracker == null ? null : tracker.unreachable();
+        if (reason != null) {
+            if (LOGGER.isLoggable(Level.SEVERE) && !silent()) {
+                LOGGER.severe(reason + String.format(" Stopped after analyzing %d of %d batches.", ranDirs.size(),
+                        batches.size()));
+            }
+            throw new ExitStatusException(ExitStatusException.EXIT_FAILURE);
+        }
+        if (runner.isExpired() && LOGGER.isLoggable(Level.WARNING) && !silent()) {
+            var total = batches.stream().mapToInt(List::size).sum();
+            LOGGER.warning(String.format("The time budget was exhausted after analyzing %d of %d classes.",
+                    analyzed, total));
+        }
+
+        for (var exitValue : exitValues) {
+            if (exitValue != ExitStatusException.EXIT_SUCCESS && exitValue != PitestBatchRunner.SKIPPED) {
+                throw new ExitStatusException(exitValue);
+            }
+        }
+        readResult();
+        checkThresholds();
+    }
+
+    /*
+     * Returns the directory of the reports of the current run: the report directory, or its timestamped subdirectory.
      */
-    public PitestOperation pluginConfiguration(String key, String value) {
-        options_.put("--pluginConfiguration", key + '=' + value);
-        return this;
+    private Path runReportDirectory(Path reportPath) throws IOException {
+        var report = MutationReportParser.find(reportPath, reportsSince());
+        if (report != null) {
+            return report.getParent();
+        }
+        var latest = MutationReportParser.latestTimestamped(reportPath);
+        if (latest != null && Files.getLastModifiedTime(latest).toMillis() >= reportsSince()) {
+            return latest;
+        }
+        return reportPath;
     }
 
     /**
-     * Project base.
+     * Splits the target classes into the given number of batches when {@link #shards(int) sharding}, instead of one
+     * batch per shard.
+     * <p>
+     * The batches, of similar estimated cost, are queued heaviest first, and each shard picks up the next batch as
+     * soon as it is done, until the queue is drained. A batch is never split once started, so the number of batches
+     * should be several times the number of shards: a few expensive classes then no longer hold up the whole run, at
+     * the cost of starting a PIT process, and running its coverage analysis, for each batch.
+     * <p>
+     * Also sets the number of batches of a {@link #timeBudget(Duration) time budget} run.
+     * <p>
+     * Defaults to {@code 0}, one batch per shard
      *
-     * @param file the file
-     * @return this operations instance
+     * @param batches the number of batches
+     * @return this operation instance
+     * @since 1.1
      */
-    public PitestOperation projectBase(String file) {
-        options_.put("--projectBase", file);
+    public PitestOperation shardBatches(int batches) {
+        shardBatches_ = Math.max(0, batches);
         return this;
     }
 
     /**
-     * Project base.
+     * Returns the number of batches when sharding.
      *
-     * @param file the file
-     * @return this operations instance
+     * @return the number of batches
+     * @since 1.1
      */
-    public PitestOperation projectBase(File file) {
-        return projectBase(file.getAbsolutePath());
+    public int shardBatches() {
+        return shardBatches_;
     }
 
-    /**
-     * Project base.
-     *
-     * @param file the file
-     * @return this operations instance
+    /*
+     * Returns the options for a shard, targeting only the given classes and reporting in the given directory.
      */
-    public PitestOperation projectBase(Path file) {
-        return projectBase(file.toFile());
+    private Map<String, String> shardOptions(List<String> classes, Path reportDir) throws IOException {
+        var options = new HashMap<>(options_);
+        options.put(TARGET_CLASSES, targetGlobs(classes));
+        options.put(REPORT_DIR, reportDir.toString());
+        options.put(TIMESTAMPED_REPORTS, FALSE);
+        options.put(OUTPUT_FORMATS, xmlOutputFormats());
+        return options;
     }
 
-
     /**
-     * Output directory for the reports.
+     * Splits the mutation analysis into the given number of shards, each run by a separate PIT process.
+     * <p>
+     * The target classes found in the project's build main directory are split into shards of similar estimated cost,
+     * from the costs recorded by the previous executions or their bytecode size, which are then analyzed concurrently,
+     * each with its own report directory in the project's build directory. Once all shards have completed, their
+     * {@code XML} and {@code CSV} reports are merged into the {@link #reportDir(String) report directory}, and the
+     * {@link #mutationThreshold(int) mutation threshold} and {@link #maxSurviving(int) maximum surviving mutants}
+     * are checked against the merged results. The operation also fails if any of the shards did.
+     * <p>
+     * The {@code HTML} reports cannot be merged: they are copied to the {@code batches} subdirectory of the report
+     * directory, and linked from its {@code index.html}.
+     * <p>
+     * The {@link #threads(int) threads} setting applies to each shard individually, unless
+     * {@link #autoThreads(boolean) sized automatically}.
+     * <p>
+     * Defaults to {@code 1}
      *
-     * @param dir the directory
+     * @param shards the number of shards
      * @return this operation instance
+     * @since 1.1
      */
-    public PitestOperation reportDir(String dir) {
-        if (isNotBlank(dir)) {
-            options_.put("--reportDir", dir);
-        }
+    public PitestOperation shards(int shards) {
+        shards_ = Math.max(1, shards);
         return this;
     }
 
     /**
-     * Output directory for the reports.
+     * Returns the number of shards.
      *
-     * @param dir the directory
-     * @return this operation instance
+     * @return the number of shards
+     * @since 1.1
      */
-    public PitestOperation reportDir(File dir) {
-        return reportDir(dir.getAbsolutePath());
+    public int shards() {
+        return shards_;
     }
 
-    /**
-     * Output directory for the reports.
-     *
-     * @param dir the directory
-     * @return this operation instance
-     */
-    public PitestOperation reportDir(Path dir) {
-        return reportDir(dir.toFile());
+    /*
+     * Returns the class data sharing archive of the launcher libraries, dumping it if needed, or null if unavailable.
+     */
+    private Path sharedArchive() {
+        try {
+            return ClassDataSharing.archive(new File(project_.buildDirectory(), "pitest/cds").toPath(), javaTool(),
+                    launcherEntries());
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                LOGGER.warning("Could not create the class data sharing archive: " + e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
     }
 
     /**
@@ -1143,6 +3281,39 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
         return this;
     }
 
+    /**
+     * Skips running PIT when none of its inputs changed since the last run, replaying its report and exit status
+     * instead.
+     * <p>
+     * The inputs are the options and settings of the operation, including the Java tool and the commit the
+     * {@link #changedSince(String) changed since} revision resolves to, the content of the compiled main and test
+     * classes, and the compile and test dependencies. The outcome of the last run is stored in the project's build
+     * directory, along with a copy of its report from the {@link #reportDir(String) report directory}, which must be
+     * specified. Only a successful run, or a run which did not meet the
+     * {@link #mutationThreshold(int) mutation threshold} or {@link #maxSurviving(int) maximum surviving mutants}, is
+     * replayed.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param isSkipUnchanged {@code true} or {@code false}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation skipUnchanged(boolean isSkipUnchanged) {
+        skipUnchanged_ = isSkipUnchanged;
+        return this;
+    }
+
+    /**
+     * Returns whether PIT is skipped when its inputs are unchanged.
+     *
+     * @return {@code true} or {@code false}
+     * @since 1.1
+     */
+    public boolean skipUnchanged() {
+        return skipUnchanged_;
+    }
+
     /**
      * The folder(s) containing the source code.
      *
@@ -1211,6 +3382,17 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
 
     }
 
+    /*
+     * Splits a comma-delimited option value.
+     */
+    private List<String> splitOption(String key) {
+        var value = options_.get(key);
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).filter(this::isNotBlank).toList();
+    }
+
     /**
      * The classes to be mutated. This is expressed as a list of globs.
      * <p>
@@ -1225,7 +3407,7 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      * @see #targetClasses(Collection)
      */
     public PitestOperation targetClasses(Collection<String> targetClass) {
-        options_.put("--targetClasses", String.join(",", targetClass.stream().filter(this::isNotBlank).toList()));
+        options_.put(TARGET_CLASSES, String.join(",", targetClass.stream().filter(this::isNotBlank).toList()));
         return this;
     }
 
@@ -1246,6 +3428,28 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
         return targetClasses(List.of(targetClass));
     }
 
+    /*
+     * Returns the target classes option matching exactly the given top-level classes and their nested classes.
+     */
+    private String targetGlobs(Collection<String> classes) {
+        return String.join(",", TargetClassResolver.targetGlobs(classes));
+    }
+
+    /*
+     * Returns the directories of the classes to mutate: the build output and the mutable code paths directories.
+     */
+    private List<File> targetRoots() {
+        var roots = new ArrayList<File>();
+        roots.add(project_.buildMainDirectory());
+        for (var path : splitOption(MUTABLE_CODE_PATHS)) {
+            var dir = new File(path);
+            if (dir.isDirectory() && !roots.contains(dir)) {
+                roots.add(dir);
+            }
+        }
+        return roots;
+    }
+
     /**
      * A list of globs can be supplied to this parameter to limit the tests available to be run.
      * If this parameter is not supplied then any test fixture that matched targetClasses may be used, it is however
@@ -1297,10 +3501,44 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      * @return this operation instance
      */
     public PitestOperation threads(int threads) {
-        options_.put("--threads", String.valueOf(threads));
+        options_.put(THREADS, String.valueOf(threads));
         return this;
     }
 
+    /**
+     * Limits the wall-clock time of the mutation analysis.
+     * <p>
+     * The target classes are ordered by priority: classes changed since the {@link #changedSince(String) base
+     * revision}, or uncommitted, first, then classes missing from the previous results, then classes with the most
+     * surviving or uncovered mutants in the previous results. They are then split into consecutive
+     * {@link #shardBatches(int) batches}, {@code 10} by default, of similar estimated cost, run by up to
+     * {@link #shards(int) shards} concurrent PIT processes.
+     * <p>
+     * A batch is not started if its estimated cost, from the previous executions, would exceed the remaining budget,
+     * and the batches still running once the budget is exhausted are stopped. The reports of the completed batches
+     * are merged into the {@link #reportDir(String) report directory}, which must be specified, and marked as
+     * {@link PitestResult#partial() partial} if any batch was skipped. The thresholds are checked against the merged
+     * results.
+     *
+     * @param budget the time budget, {@code null} or not positive for none
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation timeBudget(Duration budget) {
+        timeBudget_ = budget == null || budget.isNegative() || budget.isZero() ? null : budget;
+        return this;
+    }
+
+    /**
+     * Returns the time budget.
+     *
+     * @return the time budget, or {@code null} if none
+     * @since 1.1
+     */
+    public Duration timeBudget() {
+        return timeBudget_;
+    }
+
     /**
      * Constant amount of additional time to allow a test to run for (after the application of the timeoutFactor)
      * before considering it to be stuck in an infinite loop.
@@ -1308,10 +3546,11 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      * Defaults to {@code 4000}
      *
      * @param factor the factor amount
+     * @see #calibrateTimeouts(boolean)
      * @return this operation instance
      */
     public PitestOperation timeoutConst(int factor) {
-        options_.put("--timeoutConst", String.valueOf(factor));
+        options_.put(TIMEOUT_CONST, String.valueOf(factor));
         return this;
     }
 
@@ -1322,9 +3561,10 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      *
      * @param factor the factor
      * @return this operation instance
+     * @see #calibrateTimeouts(boolean)
      */
     public PitestOperation timeoutFactor(double factor) {
-        options_.put("--timeoutFactor", String.valueOf(factor));
+        options_.put(TIMEOUT_FACTOR, String.valueOf(factor));
         return this;
     }
 
@@ -1339,9 +3579,9 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      */
     public PitestOperation timestampedReports(boolean isTimestamped) {
         if (isTimestamped) {
-            options_.put("--timestampedReports", TRUE);
+            options_.put(TIMESTAMPED_REPORTS, TRUE);
         } else {
-            options_.put("--timestampedReports", FALSE);
+            options_.put(TIMESTAMPED_REPORTS, FALSE);
         }
         return this;
     }
@@ -1349,6 +3589,8 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
     /**
      * Support large classpaths by creating a classpath jar.
      * <p>
+     * The PIT process is also launched with a manifest-only classpath jar, stored in the project's build directory.
+     * <p>
      * Defaults to {@code false}
      *
      * @param isUseClasspathJar {@code true} or {@code false}
@@ -1356,9 +3598,9 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
      */
     public PitestOperation useClasspathJar(boolean isUseClasspathJar) {
         if (isUseClasspathJar) {
-            options_.put("--useClasspathJar", TRUE);
+            options_.put(USE_CLASSPATH_JAR, TRUE);
         } else {
-            options_.put("--useClasspathJar", FALSE);
+            options_.put(USE_CLASSPATH_JAR, FALSE);
         }
         return this;
     }
@@ -1392,4 +3634,82 @@ public class PitestOperation extends AbstractProcessOperation<PitestOperation> {
         options_.put("--verbosity", verbosity);
         return this;
     }
+
+    /**
+     * Keeps running PIT whenever the compiled main or test classes change, until interrupted, for a near real-time
+     * feedback loop.
+     * <p>
+     * After a first run, the class directories are watched for changes. Once the compiler is done writing, i.e. no
+     * class changed for {@code 500} ms, PIT runs again on the changed classes and on the classes tested by the changed
+     * test classes, according to the previous mutation reports and the naming conventions, e.g. {@code FooTest} tests
+     * {@code Foo}. Should there be too many changes to track, PIT runs again as on the first run, e.g. restricted to
+     * the classes {@link #changedSince(String) changed since} a revision.
+     * <p>
+     * Best combined with {@link #incremental(boolean) incremental} analysis, as well as {@link #daemon(boolean) daemon}
+     * or {@link #inProcess(boolean) in-process} execution.
+     * <p>
+     * Defaults to {@code false}
+     *
+     * @param isWatch {@code true} or {@code false}
+     * @return this operation instance
+     * @since 1.1
+     */
+    public PitestOperation watch(boolean isWatch) {
+        watch_ = isWatch;
+        return this;
+    }
+
+    /**
+     * Returns whether PIT is run again whenever classes change.
+     *
+     * @return {@code true} or {@code false}
+     * @since 1.1
+     */
+    public boolean watch() {
+        return watch_;
+    }
+
+    /*
+     * Writes the metrics of the last execution to the report directory.
+     */
+    private void writeMetrics(PitestMetrics metrics) {
+        var reportDir = options_.get(REPORT_DIR);
+        try {
+            if (reportDir == null) {
+                metrics.values(result_, -1);
+                if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                    LOGGER.warning("A report directory must be specified when exporting metrics.");
+                }
+                return;
+            }
+            var threads = options_.get(THREADS);
+            metrics.write(Path.of(reportDir), result_, threads == null ? -1 : Integer.parseInt(threads));
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(Level.WARNING) && !silent()) {
+                LOGGER.warning("Could not write the metrics: " + e.getMessage());
+            }
+        }
+    }
+
+    /*
+     * Returns the output formats, including XML.
+     */
+    private String xmlOutputFormats() {
+        var formats = new ArrayList<>(splitOption(OUTPUT_FORMATS));
+        if (formats.stream().noneMatch("XML"::equalsIgnoreCase)) {
+            if (formats.isEmpty()) {
+                formats.add("HTML");
+            }
+            formats.add("XML");
+        }
+        return String.join(",", formats);
+    }
+
+    /*
+     * An execution step.
+     */
+    @FunctionalInterface
+    private interface ExecuteAction {
+        void execute() throws IOException, InterruptedException, ExitStatusException;
+    }
 }
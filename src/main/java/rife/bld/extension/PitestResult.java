@@ -0,0 +1,283 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.util.*;
+
+/**
+ * The results of a PIT mutation analysis, as read from its {@code XML} or {@code CSV} report.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+public class PitestResult {
+    /**
+     * The killed status.
+     */
+    public static final String KILLED = "KILLED";
+    /**
+     * The memory error status.
+     */
+    public static final String MEMORY_ERROR = "MEMORY_ERROR";
+    /**
+     * The no coverage status.
+     */
+    public static final String NO_COVERAGE = "NO_COVERAGE";
+    /**
+     * The run error status.
+     */
+    public static final String RUN_ERROR = "RUN_ERROR";
+    /**
+     * The survived status.
+     */
+    public static final String SURVIVED = "SURVIVED";
+    /**
+     * The timed out status.
+     */
+    public static final String TIMED_OUT = "TIMED_OUT";
+    private final Map<String, Counts> classes_ = new TreeMap<>();
+    private final Map<String, Counts> mutators_ = new TreeMap<>();
+    private final List<Mutant> survivors_ = new ArrayList<>();
+    private final Counts totals_ = new Counts();
+    private boolean partial_;
+
+    /**
+     * Adds a mutant to the results.
+     *
+     * @param mutant the mutant
+     */
+    void add(Mutant mutant) {
+        totals_.add(mutant);
+        classes_.computeIfAbsent(mutant.mutatedClass(), k -> new Counts()).add(mutant);
+        mutators_.computeIfAbsent(mutant.mutator(), k -> new Counts()).add(mutant);
+        if (!mutant.detected()) {
+            survivors_.add(mutant);
+        }
+    }
+
+    /**
+     * Returns the counts for each mutated class.
+     *
+     * @return the map of class names to counts
+     */
+    public Map<String, Counts> classes() {
+        return Collections.unmodifiableMap(classes_);
+    }
+
+    /**
+     * Returns the number of detected mutants.
+     *
+     * @return the number of detected mutants
+     */
+    public long detected() {
+        return totals_.detected();
+    }
+
+    /**
+     * Returns the number of killed mutants.
+     *
+     * @return the number of killed mutants
+     */
+    public long killed() {
+        return totals_.count(KILLED);
+    }
+
+    /**
+     * Returns the mutation score, the percentage of detected mutants.
+     *
+     * @return the mutation score
+     */
+    public int mutationScore() {
+        return totals_.mutationScore();
+    }
+
+    /**
+     * Returns the counts for each mutator.
+     *
+     * @return the map of mutator names to counts
+     */
+    public Map<String, Counts> mutators() {
+        return Collections.unmodifiableMap(mutators_);
+    }
+
+    /**
+     * Returns whether the results are partial, i.e. not all target classes were analyzed.
+     *
+     * @return {@code true} or {@code false}
+     */
+    public boolean partial() {
+        return partial_;
+    }
+
+    /**
+     * Sets whether the results are partial.
+     *
+     * @param isPartial {@code true} or {@code false}
+     */
+    void partial(boolean isPartial) {
+        partial_ = isPartial;
+    }
+
+    /**
+     * Returns the number of survived mutants.
+     *
+     * @return the number of survived mutants
+     */
+    public long survived() {
+        return totals_.count(SURVIVED);
+    }
+
+    /**
+     * Returns the mutants which were not detected, either because they survived or were not covered by any test.
+     *
+     * @return the list of undetected mutants
+     */
+    public List<Mutant> survivors() {
+        return Collections.unmodifiableList(survivors_);
+    }
+
+    @Override
+    public String toString() {
+        return "PitestResult{" +
+                "total=" + total() +
+                ", detected=" + detected() +
+                ", mutationScore=" + mutationScore() +
+                ", statuses=" + totals_.statuses() +
+                ", partial=" + partial_ +
+                '}';
+    }
+
+    /**
+     * Returns the total number of mutants.
+     *
+     * @return the number of mutants
+     */
+    public long total() {
+        return totals_.total();
+    }
+
+    /**
+     * Returns the overall counts.
+     *
+     * @return the counts
+     */
+    public Counts totals() {
+        return totals_;
+    }
+
+    /**
+     * A mutant.
+     *
+     * @param mutatedClass      the mutated class
+     * @param mutatedMethod     the mutated method
+     * @param methodDescription the mutated method descriptor
+     * @param lineNumber        the mutated line number
+     * @param mutator           the mutator
+     * @param description       the mutation description
+     * @param status            the status, e.g. {@code KILLED}
+     * @param detected          whether the mutant was detected
+     * @param killingTests      the tests that killed the mutant
+     * @param succeedingTests   the tests that did not kill the mutant, only reported with a full mutation matrix
+     * @param sourceFile        the source file name
+     */
+    public record Mutant(String mutatedClass, String mutatedMethod, String methodDescription, int lineNumber,
+                         String mutator, String description, String status, boolean detected,
+                         List<String> killingTests, List<String> succeedingTests, String sourceFile) {
+        /**
+         * Returns whether a status is a detected status.
+         *
+         * @param status the status
+         * @return {@code true} if detected
+         */
+        public static boolean isDetected(String status) {
+            return KILLED.equals(status) || TIMED_OUT.equals(status) || MEMORY_ERROR.equals(status)
+                    || RUN_ERROR.equals(status) || "NON_VIABLE".equals(status);
+        }
+    }
+
+    /**
+     * Mutant counts, by status.
+     */
+    public static class Counts {
+        private final Map<String, Long> statuses_ = new TreeMap<>();
+        private long detected_;
+        private long total_;
+
+        void add(Mutant mutant) {
+            statuses_.merge(mutant.status(), 1L, Long::sum);
+            total_++;
+            if (mutant.detected()) {
+                detected_++;
+            }
+        }
+
+        /**
+         * Returns the number of mutants with the given status.
+         *
+         * @param status the status
+         * @return the number of mutants
+         */
+        public long count(String status) {
+            return statuses_.getOrDefault(status, 0L);
+        }
+
+        /**
+         * Returns the number of detected mutants.
+         *
+         * @return the number of detected mutants
+         */
+        public long detected() {
+            return detected_;
+        }
+
+        /**
+         * Returns the mutation score, the rounded percentage of detected mutants, or {@code 100} if there are none.
+         *
+         * @return the mutation score
+         */
+        public int mutationScore() {
+            return total_ == 0 ? 100 : Math.round(100f * detected_ / total_);
+        }
+
+        /**
+         * Returns the number of mutants for each status.
+         *
+         * @return the map of statuses to counts
+         */
+        public Map<String, Long> statuses() {
+            return Collections.unmodifiableMap(statuses_);
+        }
+
+        @Override
+        public String toString() {
+            return "Counts{" +
+                    "total=" + total_ +
+                    ", detected=" + detected_ +
+                    ", statuses=" + statuses_ +
+                    '}';
+        }
+
+        /**
+         * Returns the total number of mutants.
+         *
+         * @return the number of mutants
+         */
+        public long total() {
+            return total_;
+        }
+    }
+}
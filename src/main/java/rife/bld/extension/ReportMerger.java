@@ -0,0 +1,358 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.XMLEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Merges the {@code mutations.xml} and {@code mutations.csv} reports of several PIT runs into a single report.
+ * <p>
+ * The XML reports are streamed, so memory usage does not grow with the number of mutations. The statuses of a
+ * report can also be corrected from the report of a later run of some of its classes.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class ReportMerger {
+    /**
+     * The CSV report file name.
+     */
+    static final String MUTATIONS_CSV = "mutations.csv";
+    /**
+     * The XML report file name.
+     */
+    static final String MUTATIONS_XML = "mutations.xml";
+    private static final String BATCHES = "batches";
+    private static final String INDEX_HTML = "index.html";
+    // the elements identifying a mutation, as opposed to its results
+    private static final Set<String> KEY_ELEMENTS = Set.of("mutatedClass", "mutatedMethod", "methodDescription",
+            "lineNumber", "mutator", "indexes", "index", "blocks", "block", "description");
+    private static final String MUTATION = "mutation";
+    private static final String MUTATIONS = "mutations";
+    private static final String PARTIAL = "partial";
+    private static final String STATUS = "status";
+
+    private ReportMerger() {
+        // no-op
+    }
+
+    /**
+     * Copies the HTML reports of several PIT runs to the {@code batches} subdirectory of a report directory, and
+     * writes an index linking to them.
+     * <p>
+     * Unlike the XML and CSV reports, the HTML reports cannot be merged. The copies of the previous runs are deleted.
+     *
+     * @param inputs    the report directories of the runs, those without an HTML report are skipped
+     * @param reportDir the report directory
+     * @return whether any HTML report was copied
+     * @throws IOException if an I/O error occurs
+     */
+    static boolean copyHtml(List<Path> inputs, Path reportDir) throws IOException {
+        var batchesDir = reportDir.resolve(BATCHES);
+        BuildAvoidance.deleteDirectory(batchesDir);
+        var links = new StringBuilder();
+        for (var input : inputs) {
+            if (Files.isRegularFile(input.resolve(INDEX_HTML))) {
+                var name = input.getFileName().toString();
+                BuildAvoidance.copyDirectory(input, batchesDir.resolve(name));
+                links.append("<li><a href=\"").append(BATCHES).append('/').append(name).append('/').append(INDEX_HTML)
+                        .append("\">").append(name).append("</a></li>\n");
+            }
+        }
+        if (links.isEmpty()) {
+            return false;
+        }
+        Files.writeString(reportDir.resolve(INDEX_HTML), "<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n"
+                + "<title>Pit Test Coverage Report</title>\n</head>\n<body>\n<h1>Pit Test Coverage Report</h1>\n<ul>\n"
+                + links + "</ul>\n</body>\n</html>\n", StandardCharsets.UTF_8);
+        return true;
+    }
+
+    /**
+     * Replaces the mutations of a CSV report having one of the given statuses with their counterpart in another
+     * report.
+     *
+     * @param report      the report to correct, in place
+     * @param corrections the report of the later run
+     * @param statuses    the statuses to correct
+     * @return the number of mutations whose status changed
+     * @throws IOException if an I/O error occurs
+     */
+    static int correctCsv(Path report, Path corrections, Set<String> statuses) throws IOException {
+        // sourceFile,mutatedClass,mutator,method,lineNumber,status,killingTest
+        var replacements = new HashMap<String, Deque<String[]>>();
+        for (var line : Files.readAllLines(corrections, StandardCharsets.UTF_8)) {
+            var fields = line.split(",", 7);
+            if (fields.length >= 6) {
+                replacements.computeIfAbsent(csvKey(fields), k -> new ArrayDeque<>()).add(fields);
+            }
+        }
+
+        var changed = 0;
+        var lines = new ArrayList<String>();
+        for (var line : Files.readAllLines(report, StandardCharsets.UTF_8)) {
+            var fields = line.split(",", 7);
+            if (fields.length >= 6 && statuses.contains(fields[5])) {
+                var replacement = replacements.getOrDefault(csvKey(fields), new ArrayDeque<>()).poll();
+                if (replacement != null) {
+                    if (!replacement[5].equals(fields[5])) {
+                        changed++;
+                    }
+                    line = String.join(",", replacement);
+                }
+            }
+            lines.add(line);
+        }
+        var tmp = Files.createTempFile(report.toAbsolutePath().getParent(), "mutations", ".tmp");
+        Files.write(tmp, lines, StandardCharsets.UTF_8);
+        Files.move(tmp, report, StandardCopyOption.REPLACE_EXISTING);
+        return changed;
+    }
+
+    /**
+     * Replaces the mutations of an XML report having one of the given statuses with their counterpart in another
+     * report.
+     * <p>
+     * The corrections are held in memory, while the report is streamed.
+     *
+     * @param report      the report to correct, in place
+     * @param corrections the report of the later run
+     * @param statuses    the statuses to correct
+     * @return the number of mutations whose status changed
+     * @throws IOException if an I/O or parsing error occurs
+     */
+    static int correctXml(Path report, Path corrections, Set<String> statuses) throws IOException {
+        var inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+
+        var replacements = new HashMap<String, List<XMLEvent>>();
+        try (var in = Files.newInputStream(corrections)) {
+            var reader = inputFactory.createXMLEventReader(in);
+            List<XMLEvent> mutation;
+            while ((mutation = nextMutation(reader)) != null) {
+                replacements.put(xmlKey(mutation), mutation);
+            }
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not read the mutation report: " + corrections, e);
+        }
+
+        var changed = 0;
+        var tmp = Files.createTempFile(report.toAbsolutePath().getParent(), "mutations", ".tmp");
+        try (var in = Files.newInputStream(report); var out = Files.newOutputStream(tmp)) {
+            var reader = inputFactory.createXMLEventReader(in);
+            var writer = XMLOutputFactory.newFactory().createXMLEventWriter(out, StandardCharsets.UTF_8.name());
+            while (reader.hasNext()) {
+                var event = reader.peek();
+                if (event.isStartElement() && MUTATION.equals(event.asStartElement().getName().getLocalPart())) {
+                    var mutation = nextMutation(reader);
+                    var status = status(mutation);
+                    var replacement = statuses.contains(status) ? replacements.get(xmlKey(mutation)) : null;
+                    if (replacement != null) {
+                        if (!status.equals(status(replacement))) {
+                            changed++;
+                        }
+                        mutation = replacement;
+                    }
+                    for (var e : mutation) {
+                        writer.add(e);
+                    }
+                } else {
+                    writer.add(reader.nextEvent());
+                }
+            }
+            writer.close();
+            reader.close();
+        } catch (XMLStreamException e) {
+            Files.deleteIfExists(tmp);
+            throw new IOException("Could not correct the mutation report: " + report, e);
+        }
+        Files.move(tmp, report, StandardCopyOption.REPLACE_EXISTING);
+        return changed;
+    }
+
+    /**
+     * Concatenates CSV reports.
+     *
+     * @param inputs the reports to merge, missing files are skipped
+     * @param output the merged report
+     * @throws IOException if an I/O error occurs
+     */
+    static void mergeCsv(List<Path> inputs, Path output) throws IOException {
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (var writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            for (var input : inputs) {
+                if (Files.isRegularFile(input)) {
+                    try (var reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                        reader.transferTo(writer);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges XML reports.
+     * <p>
+     * The merged report is marked as partial if any of the reports is, or if {@code isPartial} is {@code true}.
+     *
+     * @param inputs    the reports to merge, missing files are skipped
+     * @param output    the merged report
+     * @param isPartial whether the merged report is known to be partial
+     * @throws IOException if an I/O or parsing error occurs
+     */
+    static void mergeXml(List<Path> inputs, Path output, boolean isPartial) throws IOException {
+        var inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        var events = XMLEventFactory.newFactory();
+
+        var partial = isPartial;
+        for (var input : inputs) {
+            partial = partial || isPartial(inputFactory, input);
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (var out = Files.newOutputStream(output)) {
+            var writer = XMLOutputFactory.newFactory().createXMLEventWriter(out, StandardCharsets.UTF_8.name());
+            writer.add(events.createStartDocument(StandardCharsets.UTF_8.name(), "1.0"));
+            writer.add(events.createCharacters("\n"));
+            writer.add(events.createStartElement("", "", MUTATIONS));
+            writer.add(events.createAttribute(PARTIAL, String.valueOf(partial)));
+            writer.add(events.createCharacters("\n"));
+
+            for (var input : inputs) {
+                if (!Files.isRegularFile(input)) {
+                    continue;
+                }
+                try (var in = Files.newInputStream(input)) {
+                    var reader = inputFactory.createXMLEventReader(in);
+                    var depth = 0;
+                    while (reader.hasNext()) {
+                        var event = reader.nextEvent();
+                        if (depth == 0 && event.isStartElement()
+                                && MUTATION.equals(event.asStartElement().getName().getLocalPart())) {
+                            depth = 1;
+                            writer.add(event);
+                        } else if (depth > 0) {
+                            writer.add(event);
+                            if (event.isStartElement()) {
+                                depth++;
+                            } else if (event.isEndElement() && --depth == 0) {
+                                writer.add(events.createCharacters("\n"));
+                            }
+                        }
+                    }
+                    reader.close();
+                }
+            }
+
+            writer.add(events.createEndElement("", "", MUTATIONS));
+            writer.add(events.createCharacters("\n"));
+            writer.add(events.createEndDocument());
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not merge the mutation reports into: " + output, e);
+        }
+    }
+
+    private static String csvKey(String[] fields) {
+        return fields[1] + ',' + fields[2] + ',' + fields[3] + ',' + fields[4];
+    }
+
+    private static boolean isPartial(XMLInputFactory factory, Path input) throws IOException {
+        if (!Files.isRegularFile(input)) {
+            return false;
+        }
+        try (var in = Files.newInputStream(input)) {
+            var reader = factory.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        return Boolean.parseBoolean(reader.getAttributeValue(null, PARTIAL));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not read the mutation report: " + input, e);
+        }
+        return false;
+    }
+
+    /*
+     * Reads the events of the next mutation element, or returns null at the end of the report.
+     */
+    private static List<XMLEvent> nextMutation(XMLEventReader reader) throws XMLStreamException {
+        List<XMLEvent> mutation = null;
+        var depth = 0;
+        while (reader.hasNext()) {
+            var event = reader.nextEvent();
+            if (depth == 0) {
+                if (event.isStartElement() && MUTATION.equals(event.asStartElement().getName().getLocalPart())) {
+                    mutation = new ArrayList<>();
+                    mutation.add(event);
+                    depth = 1;
+                }
+            } else {
+                mutation.add(event);
+                if (event.isStartElement()) {
+                    depth++;
+                } else if (event.isEndElement() && --depth == 0) {
+                    return mutation;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String status(List<XMLEvent> mutation) {
+        var status = mutation.get(0).asStartElement().getAttributeByName(new QName(STATUS));
+        return status == null ? "" : status.getValue();
+    }
+
+    private static String xmlKey(List<XMLEvent> mutation) {
+        var key = new StringBuilder();
+        String element = null;
+        for (var event : mutation) {
+            if (event.isStartElement()) {
+                element = event.asStartElement().getName().getLocalPart();
+            } else if (event.isCharacters() && element != null && KEY_ELEMENTS.contains(element)) {
+                key.append(event.asCharacters().getData());
+            } else if (event.isEndElement()) {
+                if (KEY_ELEMENTS.contains(event.asEndElement().getName().getLocalPart())) {
+                    key.append('|');
+                }
+                element = null;
+            }
+        }
+        return key.toString();
+    }
+}
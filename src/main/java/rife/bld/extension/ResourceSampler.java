@@ -0,0 +1,188 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Samples the CPU time and resident memory of the processes started by the current process, and counts the PIT
+ * minions, the processes started by its children.
+ * <p>
+ * On Linux, the CPU time is read from the children CPU time of {@code /proc/self/stat}, which accounts for all the
+ * descendants once they were waited for, and the resident memory is the sum of the {@code VmRSS} of the live
+ * descendants. Elsewhere, the CPU time is the sum of the last sampled CPU time of each descendant, and the resident
+ * memory is not available.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class ResourceSampler implements AutoCloseable {
+    // USER_HZ, which is 100 on virtually all Linux systems
+    private static final long CLOCK_TICKS = 100;
+    private static final Path SELF_STAT = Path.of("/proc/self/stat");
+    private final Map<Long, Duration> cpu_ = new HashMap<>();
+    private final Set<Long> minions_ = new HashSet<>();
+    private final long startTicks_;
+    private final Thread thread_;
+    private volatile int maxMinions_;
+    private volatile long peakRss_ = -1;
+    private volatile boolean running_ = true;
+
+    /**
+     * Starts sampling.
+     *
+     * @param interval the sampling interval
+     */
+    ResourceSampler(Duration interval) {
+        startTicks_ = childrenTicks();
+        thread_ = new Thread(() -> {
+            while (running_) {
+                sample();
+                try {
+                    Thread.sleep(interval.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }, "resource-sampler");
+        thread_.setDaemon(true);
+        thread_.start();
+    }
+
+    /**
+     * Stops sampling, waiting for the last sample to complete.
+     * <p>
+     * If interrupted while waiting, the interrupt status is restored and the samples may still change.
+     */
+    @Override
+    public void close() {
+        running_ = false;
+        thread_.interrupt();
+        try {
+            thread_.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the CPU time of the descendants since sampling started.
+     *
+     * @return the CPU time in milliseconds
+     */
+    long cpuMillis() {
+        var ticks = childrenTicks();
+        if (ticks >= 0 && startTicks_ >= 0) {
+            return (ticks - startTicks_) * 1000 / CLOCK_TICKS;
+        }
+        synchronized (cpu_) {
+            return cpu_.values().stream().mapToLong(Duration::toMillis).sum();
+        }
+    }
+
+    /**
+     * Returns the highest number of minions sampled at once.
+     *
+     * @return the number of minions
+     */
+    int maxMinions() {
+        return maxMinions_;
+    }
+
+    /**
+     * Returns the number of distinct minions sampled.
+     *
+     * @return the number of minions
+     */
+    int minions() {
+        synchronized (minions_) {
+            return minions_.size();
+        }
+    }
+
+    /**
+     * Returns the peak resident memory of the descendants.
+     *
+     * @return the peak resident memory in bytes, or {@code -1} if not available
+     */
+    long peakRss() {
+        return peakRss_;
+    }
+
+    private static long childrenTicks() {
+        try {
+            var stat = Files.readString(SELF_STAT, StandardCharsets.UTF_8);
+            // fields after the command name, starting with the state (field 3); cutime and cstime are fields 16 and 17
+            var fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            return Long.parseLong(fields[13]) + Long.parseLong(fields[14]);
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static long rss(long pid) {
+        try {
+            for (var line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                // VmRSS:     123456 kB
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.substring(6).trim().split("\\s+")[0]) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // the process exited
+        }
+        return -1;
+    }
+
+    private void sample() {
+        var self = ProcessHandle.current();
+        var total = -1L;
+        var minions = 0;
+        for (var process : self.descendants().toList()) {
+            if (process.parent().filter(p -> !p.equals(self)).isPresent()) {
+                minions++;
+                synchronized (minions_) {
+                    minions_.add(process.pid());
+                }
+            }
+            var rss = rss(process.pid());
+            if (rss > 0) {
+                total = Math.max(total, 0) + rss;
+            }
+            process.info().totalCpuDuration().ifPresent(d -> {
+                synchronized (cpu_) {
+                    cpu_.put(process.pid(), d);
+                }
+            });
+        }
+        if (total > peakRss_) {
+            peakRss_ = total;
+        }
+        if (minions > maxMinions_) {
+            maxMinions_ = minions;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves PIT target class globs into the concrete top-level classes found in compiled output directories.
+ * <p>
+ * Inner and anonymous classes are folded into their top-level class, so that a class and all of its nested classes
+ * always end up in the same batch.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class TargetClassResolver {
+    private static final String CLASS_EXT = ".class";
+
+    private TargetClassResolver() {
+        // no-op
+    }
+
+    /**
+     * Converts a PIT glob into a regular expression pattern.
+     * <p>
+     * Like PIT, {@code *} matches any sequence of characters and {@code ?} matches any single character.
+     *
+     * @param glob the glob
+     * @return the pattern
+     */
+    static Pattern globToPattern(String glob) {
+        var regex = new StringBuilder(glob.length() + 8);
+        for (var c : glob.trim().toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> {
+                    if ("\\.[]{}()<>+-=^$|!".indexOf(c) >= 0) {
+                        regex.append('\\');
+                    }
+                    regex.append(c);
+                }
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Splits classes into the given number of batches, balancing their weight.
+     * <p>
+     * Classes are assigned heaviest first to the currently lightest batch. Empty batches are dropped.
+     *
+     * @param classes the classes mapped to their weight
+     * @param count   the number of batches
+     * @return the batches
+     */
+    static List<List<String>> partition(Map<String, Long> classes, int count) {
+        var size = Math.max(1, Math.min(count, classes.size()));
+        var batches = new ArrayList<List<String>>(size);
+        var weights = new long[size];
+        for (var i = 0; i < size; i++) {
+            batches.add(new ArrayList<>());
+        }
+
+        var sorted = new ArrayList<>(classes.entrySet());
+        sorted.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        for (var entry : sorted) {
+            var lightest = 0;
+            for (var i = 1; i < size; i++) {
+                if (weights[i] < weights[lightest]) {
+                    lightest = i;
+                }
+            }
+            batches.get(lightest).add(entry.getKey());
+            weights[lightest] += entry.getValue();
+        }
+
+        batches.removeIf(List::isEmpty);
+        batches.forEach(Collections::sort);
+        return batches;
+    }
+
+    /**
+     * Splits classes into the given number of batches, balancing their weight, and orders the batches heaviest first.
+     * <p>
+     * The batches are meant to be pulled from a shared queue by a pool of workers, each picking up the next batch as
+     * soon as it is done. The split itself is static: a running batch is never divided. With several batches per
+     * worker, running the heaviest first keeps the longest batches from starting last, and the lighter ones even out
+     * the workers at the end of the run.
+     *
+     * @param classes the classes mapped to their weight
+     * @param count   the number of batches
+     * @return the batches, heaviest first
+     * @see #partition(Map, int)
+     */
+    static List<List<String>> queue(Map<String, Long> classes, int count) {
+        var batches = new ArrayList<>(partition(classes, count));
+        batches.sort(Comparator.comparingLong((List<String> batch) ->
+                batch.stream().mapToLong(c -> classes.getOrDefault(c, 0L)).sum()).reversed());
+        return batches;
+    }
+
+    /**
+     * Resolves the top-level classes matching the given globs.
+     * <p>
+     * The directories are walked in parallel.
+     *
+     * @param roots    the compiled classes root directories
+     * @param includes the globs of classes to include, all classes if empty
+     * @param excludes the globs of classes to exclude
+     * @return the sorted classes mapped to their total bytecode size, including nested classes
+     * @throws IOException if an I/O error occurs
+     */
+    static SortedMap<String, Long> resolve(Collection<File> roots, Collection<String> includes,
+                                           Collection<String> excludes) throws IOException {
+        var includePatterns = includes.stream().filter(s -> !s.isBlank())
+                .map(TargetClassResolver::globToPattern).toList();
+        var excludePatterns = excludes.stream().filter(s -> !s.isBlank())
+                .map(TargetClassResolver::globToPattern).toList();
+
+        var classes = new ConcurrentHashMap<String, Long>();
+        var walks = new ArrayList<Walk>();
+        for (var root : roots) {
+            if (root.isDirectory()) {
+                var rootPath = root.toPath();
+                walks.add(new Walk(rootPath, rootPath, (file, size) -> {
+                    var topLevel = topLevelName(toClassName(rootPath, file));
+                    if (matches(topLevel, includePatterns, true) && !matches(topLevel, excludePatterns, false)) {
+                        classes.merge(topLevel, size, Long::sum);
+                    }
+                }));
+            }
+        }
+        try {
+            ForkJoinTask.invokeAll(walks);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new TreeMap<>(classes);
+    }
+
+    /**
+     * Returns the globs matching exactly the given top-level classes and their nested classes.
+     * <p>
+     * Each class is matched by its name and the name of its nested classes, never by a package glob, as PIT would
+     * match it against the library classes of the same package too.
+     *
+     * @param classes the top-level classes
+     * @return the list of globs
+     */
+    static List<String> targetGlobs(Collection<String> classes) {
+        var globs = new ArrayList<String>(classes.size() * 2);
+        for (var name : new TreeSet<>(classes)) {
+            globs.add(name);
+            globs.add(name + "$*");
+        }
+        return globs;
+    }
+
+    /**
+     * Returns the top-level class name of a possibly nested class.
+     *
+     * @param className the class name
+     * @return the top-level class name
+     */
+    static String topLevelName(String className) {
+        var dollar = className.indexOf('$');
+        return dollar > 0 ? className.substring(0, dollar) : className;
+    }
+
+    private static boolean isClassFile(String name) {
+        return name.endsWith(CLASS_EXT) && !"module-info.class".equals(name) && !"package-info.class".equals(name);
+    }
+
+    private static boolean matches(String name, List<Pattern> patterns, boolean isEmptyMatch) {
+        if (patterns.isEmpty()) {
+            return isEmptyMatch;
+        }
+        for (var pattern : patterns) {
+            if (pattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toClassName(Path root, Path file) {
+        var relative = root.relativize(file).toString();
+        return relative.substring(0, relative.length() - CLASS_EXT.length()).replace(File.separatorChar, '.');
+    }
+
+    /*
+     * Walks a directory, forking a task for each subdirectory.
+     */
+    private static final class Walk extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private final transient BiConsumer<Path, Long> consumer_;
+        private final transient Path dir_;
+        private final transient Path root_;
+
+        Walk(Path root, Path dir, BiConsumer<Path, Long> consumer) {
+            root_ = root;
+            dir_ = dir;
+            consumer_ = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            var subdirs = new ArrayList<Walk>();
+            try (var entries = Files.newDirectoryStream(dir_)) {
+                for (var entry : entries) {
+                    var attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    if (attributes.isDirectory()) {
+                        subdirs.add(new Walk(root_, entry, consumer_));
+                    } else if (attributes.isRegularFile() && isClassFile(entry.getFileName().toString())) {
+                        consumer_.accept(entry, attributes.size());
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            invokeAll(subdirs);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sizes the number of PIT threads from the available processors, the Linux cgroup CPU quota and the memory available
+ * for the minion JVMs.
+ * <p>
+ * Both cgroup v2 and v1 hierarchies are supported. Missing or unreadable cgroup files are treated as no limit.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class ThreadSizing {
+    /**
+     * The heap assumed for a minion when no maximum heap size is configured.
+     */
+    static final long DEFAULT_MINION_HEAP = 512L * 1024 * 1024;
+    /**
+     * The memory used by a minion beyond its heap: metaspace, code cache, thread stacks, etc.
+     */
+    static final long MINION_OVERHEAD = 256L * 1024 * 1024;
+    /**
+     * The memory reserved for the main PIT process.
+     */
+    static final long RESERVED_MEMORY = 1024L * 1024 * 1024;
+    private static final Path CGROUP_ROOT = Path.of("/sys/fs/cgroup");
+    private static final long UNLIMITED = 1L << 60;
+
+    private ThreadSizing() {
+        // no-op
+    }
+
+    /**
+     * Returns the available memory, the lowest of the memory left by the limit of each cgroup, once its usage is set
+     * aside, and the memory reported as available by the system.
+     *
+     * @param dirs    the cgroup directories to search, most specific first
+     * @param meminfo the {@code /proc/meminfo} file
+     * @return the available memory in bytes, or {@code -1} if unknown
+     */
+    static long availableMemory(List<Path> dirs, Path meminfo) {
+        var available = memAvailable(meminfo);
+        if (available < 0) {
+            var os = ManagementFactory.getOperatingSystemMXBean();
+            if (os instanceof com.sun.management.OperatingSystemMXBean bean) {
+                available = bean.getFreeMemorySize();
+            }
+        }
+        for (var dir : dirs) {
+            var limit = memoryLimit(List.of(dir));
+            if (limit > 0) {
+                var left = Math.max(0, limit - memoryUsage(dir));
+                if (available < 0 || left < available) {
+                    available = left;
+                }
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Returns the cgroup directories of the current process and their ancestors, most specific first.
+     * <p>
+     * With cgroup v1, the directories of each controller hierarchy are returned.
+     *
+     * @return the cgroup directories
+     */
+    static List<Path> cgroupDirs() {
+        var cgroup = read(Path.of("/proc/self/cgroup"));
+        return cgroupDirs(CGROUP_ROOT, cgroup == null ? List.of() : List.of(cgroup.split("\n")));
+    }
+
+    /**
+     * Returns the cgroup directories listed in {@code /proc/self/cgroup} and their ancestors, most specific first.
+     *
+     * @param root  the cgroup file system mount point
+     * @param lines the lines of {@code /proc/self/cgroup}
+     * @return the cgroup directories
+     */
+    static List<Path> cgroupDirs(Path root, List<String> lines) {
+        var dirs = new ArrayList<Path>();
+        for (var line : lines) {
+            // cgroup v2: "0::/path", cgroup v1: "4:cpu,cpuacct:/path"
+            var fields = line.split(":", 3);
+            if (fields.length < 3) {
+                continue;
+            }
+            var bases = new ArrayList<Path>();
+            if (fields[1].isEmpty()) {
+                bases.add(root);
+            } else if (!fields[1].startsWith("name=")) {
+                bases.add(root.resolve(fields[1]));
+                for (var controller : fields[1].split(",")) {
+                    bases.add(root.resolve(controller));
+                }
+            }
+            for (var base : bases) {
+                if (Files.isDirectory(base)) {
+                    // the path is relative to the root of the hierarchy, which may be the container's own cgroup
+                    var relative = fields[2].replaceFirst("^/+", "");
+                    var dir = relative.isEmpty() ? base : base.resolve(relative);
+                    while (dir != null && dir.startsWith(base)) {
+                        if (!dirs.contains(dir)) {
+                            dirs.add(dir);
+                        }
+                        dir = dir.getParent();
+                    }
+                    break;
+                }
+            }
+        }
+        if (!dirs.contains(root)) {
+            dirs.add(root);
+        }
+        return dirs;
+    }
+
+    /**
+     * Returns the cgroup CPU quota, in processors: the lowest quota of the given cgroups.
+     *
+     * @param dirs the cgroup directories to search, most specific first
+     * @return the CPU quota, or {@code -1} if none
+     */
+    static double cpuQuota(List<Path> dirs) {
+        var lowest = -1d;
+        for (var dir : dirs) {
+            var quota = -1d;
+            // cgroup v2: "<quota> <period>" or "max <period>"
+            var cpuMax = read(dir.resolve("cpu.max"));
+            if (cpuMax != null) {
+                var fields = cpuMax.split("\\s+");
+                if (fields.length == 2 && !"max".equals(fields[0])) {
+                    quota = quota(fields[0], fields[1]);
+                }
+            } else {
+                // cgroup v1
+                var cfsQuota = read(dir.resolve("cpu.cfs_quota_us"));
+                var period = read(dir.resolve("cpu.cfs_period_us"));
+                if (cfsQuota != null && period != null) {
+                    quota = quota(cfsQuota, period);
+                }
+            }
+            if (quota > 0 && (lowest < 0 || quota < lowest)) {
+                lowest = quota;
+            }
+        }
+        return lowest;
+    }
+
+    /**
+     * Returns the largest maximum heap size found in JVM arguments, using {@code -Xmx} or
+     * {@code -XX:MaxHeapSize}.
+     *
+     * @param args the JVM arguments
+     * @return the maximum heap size in bytes, or {@code -1} if none
+     */
+    static long maxHeap(List<String> args) {
+        var heap = -1L;
+        for (var arg : args) {
+            var value = -1L;
+            if (arg.startsWith("-Xmx")) {
+                value = parseSize(arg.substring(4));
+            } else if (arg.startsWith("-XX:MaxHeapSize=")) {
+                value = parseSize(arg.substring(16));
+            }
+            heap = Math.max(heap, value);
+        }
+        return heap;
+    }
+
+    /**
+     * Returns the memory limit of the cgroup: the lowest limit of the given cgroups.
+     *
+     * @param dirs the cgroup directories to search, most specific first
+     * @return the memory limit in bytes, or {@code -1} if none
+     */
+    static long memoryLimit(List<Path> dirs) {
+        var lowest = -1L;
+        for (var dir : dirs) {
+            var limit = readLong(dir, "memory.max", "memory.limit_in_bytes");
+            if (limit > 0 && limit < UNLIMITED && (lowest < 0 || limit < lowest)) {
+                lowest = limit;
+            }
+        }
+        return lowest;
+    }
+
+    /**
+     * Returns the memory used by a cgroup, not counting the inactive file cache which can be reclaimed.
+     *
+     * @param dir the cgroup directory
+     * @return the memory usage in bytes, or {@code 0} if unknown
+     */
+    static long memoryUsage(Path dir) {
+        var usage = readLong(dir, "memory.current", "memory.usage_in_bytes");
+        if (usage <= 0) {
+            return 0;
+        }
+        var stat = read(dir.resolve("memory.stat"));
+        if (stat != null) {
+            for (var line : stat.split("\n")) {
+                // cgroup v2: "inactive_file <bytes>", cgroup v1: "total_inactive_file <bytes>"
+                var fields = line.trim().split("\\s+");
+                if (fields.length == 2 && ("inactive_file".equals(fields[0])
+                        || "total_inactive_file".equals(fields[0]))) {
+                    try {
+                        return Math.max(0, usage - Long.parseLong(fields[1]));
+                    } catch (NumberFormatException e) {
+                        return usage;
+                    }
+                }
+            }
+        }
+        return usage;
+    }
+
+    /**
+     * Parses a JVM memory size, e.g. {@code 512m} or {@code 2G}.
+     *
+     * @param size the size
+     * @return the size in bytes, or {@code -1} if invalid
+     */
+    static long parseSize(String size) {
+        if (size == null || size.isBlank()) {
+            return -1;
+        }
+        var value = size.trim().toLowerCase(Locale.ROOT);
+        var multiplier = switch (value.charAt(value.length() - 1)) {
+            case 'k' -> 1024L;
+            case 'm' -> 1024L * 1024;
+            case 'g' -> 1024L * 1024 * 1024;
+            case 't' -> 1024L * 1024 * 1024 * 1024;
+            default -> 1L;
+        };
+        if (multiplier > 1) {
+            value = value.substring(0, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value) * multiplier;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the number of threads to use.
+     * <p>
+     * The number of threads is the lowest of the processors, the CPU quota rounded down and the number of minions
+     * fitting in the available memory, once the {@link #RESERVED_MEMORY reserved memory} is set aside for each main
+     * PIT process. It is never less than {@code 1}.
+     *
+     * @param processors      the number of available processors
+     * @param cpuQuota        the CPU quota, or {@code -1}
+     * @param availableMemory the available memory in bytes, or {@code -1}
+     * @param minionMemory    the memory used by a single minion in bytes
+     * @param processes       the number of concurrent main PIT processes
+     * @return the number of threads
+     */
+    static int threads(int processors, double cpuQuota, long availableMemory, long minionMemory, int processes) {
+        var threads = processors;
+        if (cpuQuota > 0) {
+            threads = Math.min(threads, (int) Math.floor(cpuQuota));
+        }
+        if (availableMemory > 0 && minionMemory > 0) {
+            threads = (int) Math.min(threads,
+                    (availableMemory - RESERVED_MEMORY * Math.max(1, processes)) / minionMemory);
+        }
+        return Math.max(1, threads);
+    }
+
+    private static long memAvailable(Path meminfo) {
+        var content = read(meminfo);
+        if (content != null) {
+            for (var line : content.split("\n")) {
+                // MemAvailable:   12345678 kB
+                if (line.startsWith("MemAvailable:")) {
+                    var fields = line.substring(13).trim().split("\\s+");
+                    try {
+                        return Long.parseLong(fields[0]) * 1024;
+                    } catch (NumberFormatException e) {
+                        return -1;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static double quota(String quota, String period) {
+        try {
+            var q = Long.parseLong(quota);
+            var p = Long.parseLong(period);
+            return q > 0 && p > 0 ? (double) q / p : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long readLong(Path dir, String... names) {
+        for (var name : names) {
+            var value = read(dir.resolve(name));
+            if (value != null) {
+                try {
+                    return Long.parseLong(value);
+                } catch (NumberFormatException e) {
+                    // e.g. "max"
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static String read(Path file) {
+        try {
+            return Files.isRegularFile(file) ? Files.readString(file, StandardCharsets.UTF_8).trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
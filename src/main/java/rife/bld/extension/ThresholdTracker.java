@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+/**
+ * Tracks the mutation results of batches as they complete, to find out as early as possible whether the mutation
+ * threshold or the maximum number of surviving mutants can no longer be met.
+ * <p>
+ * The mutation threshold is unreachable when the score would remain below it even if all the mutants still to be
+ * analyzed were detected. Underestimating the remaining mutants would underestimate the best possible score, so
+ * their number must be exact: recorded in the {@link CostModel cost model} for the same bytecode and settings. If it
+ * is unknown, or a batch turns out not to have the expected number of mutants, only the maximum number of surviving
+ * mutants is tracked.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class ThresholdTracker {
+    private final long maxSurviving_;
+    private final int mutationThreshold_;
+    private long detected_;
+    private long remaining_;
+    private long survived_;
+    private long total_;
+
+    /**
+     * Creates a new tracker.
+     *
+     * @param mutationThreshold the mutation threshold, or {@code -1} for none
+     * @param maxSurviving      the maximum number of surviving mutants, or {@code -1} for none
+     * @param remaining         the exact number of mutants to analyze, or {@code -1} if unknown
+     */
+    ThresholdTracker(int mutationThreshold, long maxSurviving, long remaining) {
+        mutationThreshold_ = mutationThreshold;
+        maxSurviving_ = maxSurviving;
+        remaining_ = remaining;
+    }
+
+    /**
+     * Adds the results of a completed batch.
+     *
+     * @param result   the results of the batch
+     * @param expected the expected number of mutants of the batch
+     */
+    synchronized void add(PitestResult result, long expected) {
+        detected_ += result.detected();
+        survived_ += result.survived();
+        total_ += result.total();
+        if (remaining_ >= 0) {
+            remaining_ = result.total() == expected ? Math.max(0, remaining_ - expected) : -1;
+        }
+    }
+
+    /**
+     * Returns why the thresholds can no longer be met.
+     *
+     * @return the reason, or {@code null} if they still can be
+     */
+    synchronized String unreachable() {
+        if (maxSurviving_ >= 0 && survived_ > maxSurviving_) {
+            return String.format("Had %d surviving mutants, but only %d survivors allowed.", survived_,
+                    maxSurviving_);
+        }
+        if (mutationThreshold_ >= 0 && remaining_ >= 0 && total_ + remaining_ > 0) {
+            var bestScore = Math.round(100f * (detected_ + remaining_) / (total_ + remaining_));
+            if (bestScore < mutationThreshold_) {
+                return String.format("Mutation score can be at most %d, below threshold of %d.", bestScore,
+                        mutationThreshold_);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * Calibrates the PIT timeouts from the observed test durations, so that mutants stuck in an infinite loop are
+ * abandoned as early as possible.
+ * <p>
+ * PIT allows each test to run for its normal duration, multiplied by the timeout factor, plus the timeout constant.
+ * The constant is derived from the duration of the coverage phase, during which each test class runs once, divided
+ * by the number of test classes and multiplied by a safety margin. It is never lower than {@value #MIN_CONST} ms,
+ * nor higher than PIT's default of {@value #DEFAULT_CONST} ms.
+ * <p>
+ * A mutant timing out where it previously ran to completion shows the timeouts are too tight: the constant is then
+ * doubled and is never lowered below that again. Once the constant is back at its default, the factor is raised
+ * instead.
+ *
+ * @author <a href="https://erik.thauvin.net/">Erik C. Thauvin</a>
+ * @since 1.1
+ */
+final class TimeoutCalibration {
+    /**
+     * PIT's default timeout constant, in milliseconds.
+     */
+    static final long DEFAULT_CONST = 4000;
+    /**
+     * PIT's default timeout factor.
+     */
+    static final double DEFAULT_FACTOR = 1.25;
+    /**
+     * The name of the file the calibration is persisted in.
+     */
+    static final String FILE_NAME = "timeouts.properties";
+    /**
+     * The minimum timeout constant, in milliseconds, absorbing the class loading and JIT compilation of a mutant.
+     */
+    static final long MIN_CONST = 1000;
+    private static final String CONST_KEY = "timeoutConst";
+    private static final String FACTOR_KEY = "timeoutFactor";
+    private static final double FACTOR_STEP = 0.25;
+    private static final String FLOOR_KEY = "minTimeoutConst";
+    private static final int MARGIN = 3;
+    private static final double MAX_FACTOR = 3;
+    private long const_ = DEFAULT_CONST;
+    private double factor_ = DEFAULT_FACTOR;
+    private long floor_ = MIN_CONST;
+
+    /**
+     * Loads the calibration from a file.
+     *
+     * @param file the file
+     * @return the calibration, PIT's defaults if the file does not exist
+     * @throws IOException if an I/O error occurs
+     */
+    static TimeoutCalibration load(Path file) throws IOException {
+        var calibration = new TimeoutCalibration();
+        if (Files.isRegularFile(file)) {
+            var properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            try {
+                calibration.const_ = Long.parseLong(properties.getProperty(CONST_KEY, String.valueOf(DEFAULT_CONST)));
+                calibration.factor_ = Double.parseDouble(properties.getProperty(FACTOR_KEY,
+                        String.valueOf(DEFAULT_FACTOR)));
+                calibration.floor_ = Long.parseLong(properties.getProperty(FLOOR_KEY, String.valueOf(MIN_CONST)));
+            } catch (NumberFormatException ignored) {
+                // start over from the defaults
+                return new TimeoutCalibration();
+            }
+        }
+        return calibration;
+    }
+
+    /**
+     * Returns the mutants which timed out, but previously ran to completion.
+     *
+     * @param previous the statuses of the previous run
+     * @param current  the statuses of the current run
+     * @return the number of mutants
+     */
+    static int spuriousTimeouts(Map<String, String> previous, Map<String, String> current) {
+        var count = 0;
+        for (var entry : current.entrySet()) {
+            var status = previous.get(entry.getKey());
+            if (PitestResult.TIMED_OUT.equals(entry.getValue())
+                    && (PitestResult.KILLED.equals(status) || PitestResult.SURVIVED.equals(status))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the status of each mutant in the mutation report of a directory.
+     *
+     * @param reportDir the report directory
+     * @return the map of mutants to statuses, empty if there is no report
+     * @throws IOException if an I/O error occurs
+     */
+    static Map<String, String> statuses(Path reportDir) throws IOException {
+        return statuses(reportDir, Long.MIN_VALUE);
+    }
+
+    /**
+     * Returns the status of each mutant in the mutation report written to a directory since the given time.
+     *
+     * @param reportDir the report directory
+     * @param since     the time, in milliseconds since the epoch
+     * @return the map of mutants to statuses, empty if there is no such report
+     * @throws IOException if an I/O error occurs
+     */
+    static Map<String, String> statuses(Path reportDir, long since) throws IOException {
+        var statuses = new HashMap<String, String>();
+        var report = MutationReportParser.find(reportDir, since);
+        if (report != null) {
+            Consumer<PitestResult.Mutant> consumer = mutant -> statuses.put(mutant.mutatedClass() + '.'
+                    + mutant.mutatedMethod() + mutant.methodDescription() + ':' + mutant.lineNumber() + ':'
+                    + mutant.mutator() + ':' + mutant.description(), mutant.status());
+            if (report.getFileName().toString().endsWith(".xml")) {
+                MutationReportParser.parseXml(report, consumer);
+            } else {
+                MutationReportParser.parseCsv(report, consumer);
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Saves the calibration to a file.
+     *
+     * @param file the file
+     * @throws IOException if an I/O error occurs
+     */
+    void save(Path file) throws IOException {
+        var properties = new Properties();
+        properties.setProperty(CONST_KEY, String.valueOf(const_));
+        properties.setProperty(FACTOR_KEY, String.format(Locale.ROOT, "%.2f", factor_));
+        properties.setProperty(FLOOR_KEY, String.valueOf(floor_));
+        var dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        var tmp = Files.createTempFile(dir, "timeouts", ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            properties.store(writer, "PIT timeouts calibration");
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Returns the calibrated timeout constant.
+     *
+     * @return the constant, in milliseconds
+     */
+    long timeoutConst() {
+        return const_;
+    }
+
+    /**
+     * Returns the calibrated timeout factor.
+     *
+     * @return the factor
+     */
+    double timeoutFactor() {
+        return factor_;
+    }
+
+    /**
+     * Updates the calibration with the observations of a run.
+     *
+     * @param coverageMillis   the duration of the coverage phase, or {@code -1} if unknown
+     * @param testClasses      the number of test classes run during the coverage phase, or {@code 0} if unknown
+     * @param spuriousTimeouts the number of mutants which timed out, but previously ran to completion
+     */
+    void update(long coverageMillis, long testClasses, int spuriousTimeouts) {
+        if (spuriousTimeouts > 0) {
+            if (const_ < DEFAULT_CONST) {
+                floor_ = Math.min(DEFAULT_CONST, const_ * 2);
+            } else {
+                factor_ = Math.min(MAX_FACTOR, factor_ + FACTOR_STEP);
+            }
+        }
+
+        var target = const_;
+        if (coverageMillis >= 0) {
+            target = Math.min(DEFAULT_CONST,
+                    Math.max(MIN_CONST, coverageMillis * MARGIN / Math.max(1, testClasses)));
+        }
+        const_ = Math.max(target, floor_);
+    }
+}
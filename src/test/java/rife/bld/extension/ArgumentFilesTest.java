@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArgumentFilesTest {
+    @Test
+    void length() {
+        assertThat(ArgumentFiles.length(List.of())).isZero();
+        assertThat(ArgumentFiles.length(List.of("java", "-cp", "foo"))).isEqualTo(12);
+    }
+
+    @Test
+    void quote() {
+        assertThat(ArgumentFiles.quote("--reportDir")).isEqualTo("\"--reportDir\"");
+        assertThat(ArgumentFiles.quote("C:\\My Project\\src")).isEqualTo("\"C:\\\\My Project\\\\src\"");
+        assertThat(ArgumentFiles.quote("-Dfoo=\"bar\"")).isEqualTo("\"-Dfoo=\\\"bar\\\"\"");
+    }
+
+    @Test
+    void writeArgFile(@TempDir Path tmp) throws IOException {
+        var file = ArgumentFiles.writeArgFile(tmp, List.of("--sourceDirs", "src/main/java"));
+        assertThat(Files.readAllLines(file)).containsExactly("\"--sourceDirs\"", "\"src/main/java\"");
+        assertThat(ArgumentFiles.writeArgFile(tmp, List.of("--sourceDirs", "src/main/java"))).as("same content")
+                .isEqualTo(file);
+        assertThat(ArgumentFiles.writeArgFile(tmp, List.of("--sourceDirs", "src"))).as("other content")
+                .isNotEqualTo(file);
+    }
+
+    @Test
+    void writeClassPathFile(@TempDir Path tmp) throws IOException {
+        var file = ArgumentFiles.writeClassPathFile(tmp, List.of("a.jar", "b.jar"));
+        assertThat(file.getFileName().toString()).endsWith(".classpath");
+        assertThat(Files.readAllLines(file)).containsExactly("a.jar", "b.jar");
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BudgetPlannerTest {
+    private static PitestResult.Mutant mutant(String className, String status) {
+        return new PitestResult.Mutant(className, "foo", "()V", 1, "M", "", status,
+                PitestResult.Mutant.isDetected(status), List.of(), List.of(), "Foo.java");
+    }
+
+    @Test
+    void batches() {
+        var weights = Map.of("a", 40L, "b", 10L, "c", 10L, "d", 20L, "e", 20L);
+        assertThat(BudgetPlanner.batches(List.of("a", "b", "c", "d", "e"), weights, 2))
+                .containsExactly(List.of("a", "b"), List.of("c", "d", "e"));
+        assertThat(BudgetPlanner.batches(List.of("a", "b", "c"), Map.of(), 3))
+                .as("no weights").containsExactly(List.of("a"), List.of("b"), List.of("c"));
+        assertThat(BudgetPlanner.batches(List.of("a", "b"), weights, 5))
+                .as("more batches than classes").containsExactly(List.of("a"), List.of("b"));
+        assertThat(BudgetPlanner.batches(List.of(), weights, 2)).as("empty").isEmpty();
+    }
+
+    @Test
+    void prioritize() {
+        var previous = new PitestResult();
+        previous.add(mutant("com.Killed", PitestResult.KILLED));
+        previous.add(mutant("com.Survivor", PitestResult.SURVIVED));
+        previous.add(mutant("com.Uncovered$Inner", PitestResult.NO_COVERAGE));
+        previous.add(mutant("com.Uncovered", PitestResult.NO_COVERAGE));
+        previous.add(mutant("com.Changed", PitestResult.KILLED));
+
+        var classes = List.of("com.Changed", "com.Killed", "com.New", "com.Survivor", "com.Uncovered");
+        assertThat(BudgetPlanner.prioritize(classes, Set.of("com.Changed"), previous))
+                .containsExactly("com.Changed", "com.New", "com.Uncovered", "com.Survivor", "com.Killed");
+        assertThat(BudgetPlanner.prioritize(classes, Set.of(), null)).as("no history").isEqualTo(classes);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildAvoidanceTest {
+    private static final String FINGERPRINT = "abc";
+
+    @Test
+    void replay(@TempDir Path tmp) throws IOException {
+        var reportDir = tmp.resolve("report");
+        Files.createDirectories(reportDir.resolve("com.example"));
+        Files.writeString(reportDir.resolve("mutations.xml"), "<mutations/>");
+        Files.writeString(reportDir.resolve("com.example/index.html"), "<html/>");
+
+        var avoidance = new BuildAvoidance(tmp.resolve("avoidance"));
+        assertThat(avoidance.replay(FINGERPRINT, reportDir)).as("nothing recorded").isNull();
+
+        avoidance.record(FINGERPRINT, 1, reportDir, reportDir);
+        BuildAvoidance.deleteDirectory(reportDir);
+
+        assertThat(avoidance.replay("def", reportDir)).as("changed").isNull();
+        assertThat(reportDir).doesNotExist();
+
+        assertThat(avoidance.replay(FINGERPRINT, reportDir)).isEqualTo(1);
+        assertThat(Files.readString(reportDir.resolve("mutations.xml"))).isEqualTo("<mutations/>");
+        assertThat(Files.readString(reportDir.resolve("com.example/index.html"))).isEqualTo("<html/>");
+    }
+
+    @Test
+    void recordOverwrites(@TempDir Path tmp) throws IOException {
+        var reportDir = tmp.resolve("report");
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve("old.txt"), "old");
+
+        var avoidance = new BuildAvoidance(tmp.resolve("avoidance"));
+        avoidance.record(FINGERPRINT, 0, reportDir, reportDir);
+
+        BuildAvoidance.deleteDirectory(reportDir);
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve("new.txt"), "new");
+        avoidance.record("def", 0, reportDir, reportDir);
+
+        BuildAvoidance.deleteDirectory(reportDir);
+        assertThat(avoidance.replay("def", reportDir)).isEqualTo(0);
+        assertThat(reportDir.resolve("new.txt")).exists();
+        assertThat(reportDir.resolve("old.txt")).doesNotExist();
+    }
+
+    @Test
+    void recordRunOnly(@TempDir Path tmp) throws IOException {
+        var reportDir = tmp.resolve("report");
+        var previous = reportDir.resolve("202401010000");
+        var current = reportDir.resolve("202501010000");
+        for (var dir : List.of(previous, current)) {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("mutations.xml"), "<mutations/>");
+        }
+
+        var avoidance = new BuildAvoidance(tmp.resolve("avoidance"));
+        avoidance.record(FINGERPRINT, 0, reportDir, current);
+        BuildAvoidance.deleteDirectory(reportDir);
+
+        assertThat(avoidance.replay(FINGERPRINT, reportDir)).isEqualTo(0);
+        assertThat(current.resolve("mutations.xml")).exists();
+        assertThat(previous).doesNotExist();
+    }
+
+    @Test
+    void recordWithoutTimestamped(@TempDir Path tmp) throws IOException {
+        var reportDir = tmp.resolve("report");
+        Files.createDirectories(reportDir.resolve("202401010000"));
+        Files.writeString(reportDir.resolve("mutations.xml"), "<mutations/>");
+
+        var avoidance = new BuildAvoidance(tmp.resolve("avoidance"));
+        avoidance.record(FINGERPRINT, 0, reportDir, reportDir);
+        BuildAvoidance.deleteDirectory(reportDir);
+
+        assertThat(avoidance.replay(FINGERPRINT, reportDir)).isEqualTo(0);
+        assertThat(reportDir.resolve("mutations.xml")).exists();
+        assertThat(reportDir.resolve("202401010000")).doesNotExist();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClassDataSharingTest {
+    private static File jar(Path dir, String name, String... entries) throws IOException {
+        var jar = dir.resolve(name);
+        try (var out = new ZipOutputStream(Files.newOutputStream(jar))) {
+            for (var entry : entries) {
+                out.putNextEntry(new ZipEntry(entry));
+                out.closeEntry();
+            }
+        }
+        return jar.toFile();
+    }
+
+    @Test
+    void archive(@TempDir Path tmp) throws IOException, InterruptedException {
+        var javaTool = ProcessHandle.current().info().command().orElse("java");
+        var jar = jar(tmp, "empty.jar", "META-INF/MANIFEST.MF");
+        var dir = tmp.resolve("cds");
+
+        var archive = ClassDataSharing.archive(dir, javaTool, List.of(jar, tmp.toFile()));
+        assertThat(archive).exists().hasParent(dir);
+        assertThat(archive.getFileName().toString()).endsWith(ClassDataSharing.ARCHIVE_EXT);
+        assertThat(ClassDataSharing.archive(dir, javaTool, List.of(jar))).as("cached").isEqualTo(archive);
+        assertThat(ClassDataSharing.archive(dir, javaTool, List.of(tmp.toFile()))).as("no jars").isNull();
+    }
+
+    @Test
+    void archiveFailed(@TempDir Path tmp) throws IOException, InterruptedException {
+        var javaTool = Files.writeString(tmp.resolve("java"), "#!/bin/sh\nexit 1\n");
+        if (!javaTool.toFile().setExecutable(true) || File.separatorChar == '\\') {
+            return;
+        }
+        var jar = jar(tmp, "empty.jar", "META-INF/MANIFEST.MF");
+        var dir = tmp.resolve("cds");
+
+        assertThatThrownBy(() -> ClassDataSharing.archive(dir, javaTool.toString(), List.of(jar)))
+                .isInstanceOf(IOException.class);
+        assertThat(ClassDataSharing.archive(dir, javaTool.toString(), List.of(jar))).as("not retried").isNull();
+    }
+
+    @Test
+    void classList(@TempDir Path tmp) throws IOException {
+        var jar = jar(tmp, "foo.jar", "com/example/", "com/example/Foo.class", "com/example/Foo$1.class",
+                "com/example/package-info.class", "module-info.class", "META-INF/versions/9/com/example/Foo.class",
+                "com/example/foo.properties");
+        var other = jar(tmp, "bar.jar", "com/example/Foo.class", "com/example/Bar.class");
+
+        assertThat(ClassDataSharing.classList(tmp.resolve("java"), List.of(jar, other)))
+                .containsExactly("com/example/Foo", "com/example/Foo$1", "com/example/Bar");
+    }
+
+    @Test
+    void fingerprint(@TempDir Path tmp) throws IOException {
+        var tool = Files.writeString(tmp.resolve("java"), "java");
+        var jar = jar(tmp, "foo.jar", "com/example/Foo.class");
+        var fingerprint = ClassDataSharing.fingerprint(tool, List.of(jar));
+
+        assertThat(ClassDataSharing.fingerprint(tool, List.of(jar))).isEqualTo(fingerprint);
+        Files.setLastModifiedTime(jar.toPath(), FileTime.fromMillis(0));
+        assertThat(ClassDataSharing.fingerprint(tool, List.of(jar))).as("modified").isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void hasArchiveOption() {
+        assertThat(ClassDataSharing.hasArchiveOption("-Xmx1g,-XX:SharedArchiveFile=app.jsa")).isTrue();
+        assertThat(ClassDataSharing.hasArchiveOption("-Xmx1g")).isFalse();
+        assertThat(ClassDataSharing.hasArchiveOption(null)).isFalse();
+    }
+
+    @Test
+    void leadingJars(@TempDir Path tmp) throws IOException {
+        var foo = jar(tmp, "foo.jar", "Foo.class");
+        var bar = jar(tmp, "bar.jar", "Bar.class");
+
+        assertThat(ClassDataSharing.leadingJars(List.of(foo, bar, tmp.toFile(), foo))).containsExactly(foo, bar);
+        assertThat(ClassDataSharing.leadingJars(List.of(new File(tmp.toFile(), "*"), foo))).isEmpty();
+        assertThat(ClassDataSharing.leadingJars(List.of(new File(tmp.toFile(), "missing.jar")))).isEmpty();
+    }
+
+    @Test
+    void option() {
+        assertThat(ClassDataSharing.option(Path.of("app.jsa"))).isEqualTo("-XX:SharedArchiveFile=app.jsa");
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassResultCacheTest {
+    private static final String FOO = "com.example.Foo";
+    private static final String FOO_TEST = "com.example.FooTest";
+    private static final String FOO_TEST_METHOD = FOO_TEST + ".foo(" + FOO_TEST + ")";
+
+    private static Path report(Path dir, MutationsXml mutations) throws IOException {
+        return mutations.write(dir.resolve(ReportMerger.MUTATIONS_XML));
+    }
+
+    private static void writeClass(Path root, String className, String content) throws IOException {
+        var file = root.resolve(className.replace('.', '/') + ".class");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    @Test
+    void lookupChangedClass(@TempDir Path tmp) throws IOException {
+        var classes = tmp.resolve("classes");
+        var tests = tmp.resolve("tests");
+        writeClass(classes, FOO, "foo");
+        writeClass(tests, FOO_TEST, "test");
+
+        var cache = new ClassResultCache(tmp.resolve("cache"), "salt", classes.toFile(), tests.toFile());
+        cache.store(report(tmp, new MutationsXml().mutation(FOO, "KILLED").killingTest(FOO_TEST_METHOD)),
+                List.of(FOO));
+        writeClass(classes, FOO + "$Bar", "bar");
+
+        cache = new ClassResultCache(tmp.resolve("cache"), "salt", classes.toFile(), tests.toFile());
+        assertThat(cache.lookup(FOO)).isNull();
+        assertThat(tmp.resolve("cache").resolve(FOO + ".xml")).as("stale entry").doesNotExist();
+    }
+
+    @Test
+    void lookupChangedSalt(@TempDir Path tmp) throws IOException {
+        var classes = tmp.resolve("classes");
+        var tests = tmp.resolve("tests");
+        writeClass(classes, FOO, "foo");
+
+        new ClassResultCache(tmp.resolve("cache"), "salt", classes.toFile(), tests.toFile())
+                .store(report(tmp, new MutationsXml()), List.of(FOO));
+
+        var cache = new ClassResultCache(tmp.resolve("cache"), "other", classes.toFile(), tests.toFile());
+        assertThat(cache.lookup(FOO)).isNull();
+    }
+
+    @Test
+    void lookupChangedTests(@TempDir Path tmp) throws IOException {
+        var classes = tmp.resolve("classes");
+        var tests = tmp.resolve("tests");
+        writeClass(classes, FOO, "foo");
+        writeClass(tests, FOO_TEST, "test");
+        writeClass(tests, "com.example.OtherTest", "other");
+
+        var killed = new ClassResultCache(tmp.resolve("killed"), "salt", classes.toFile(), tests.toFile());
+        killed.store(report(tmp, new MutationsXml().mutation(FOO, "KILLED").killingTest(FOO_TEST_METHOD)),
+                List.of(FOO));
+        var survived = new ClassResultCache(tmp.resolve("survived"), "salt", classes.toFile(), tests.toFile());
+        survived.store(report(tmp, new MutationsXml().mutation(FOO, "SURVIVED")), List.of(FOO));
+
+        writeClass(tests, "com.example.OtherTest", "changed");
+
+        killed = new ClassResultCache(tmp.resolve("killed"), "salt", classes.toFile(), tests.toFile());
+        assertThat(killed.lookup(FOO)).as("unrelated test changed").isNotNull();
+        survived = new ClassResultCache(tmp.resolve("survived"), "salt", classes.toFile(), tests.toFile());
+        assertThat(survived.lookup(FOO)).as("survivor, any test changed").isNull();
+
+        writeClass(tests, FOO_TEST, "changed");
+        killed = new ClassResultCache(tmp.resolve("killed"), "salt", classes.toFile(), tests.toFile());
+        assertThat(killed.lookup(FOO)).as("covering test changed").isNull();
+    }
+
+    @Test
+    void prune(@TempDir Path tmp) throws IOException {
+        var classes = tmp.resolve("classes");
+        var tests = tmp.resolve("tests");
+        writeClass(classes, FOO, "foo");
+        writeClass(classes, "com.example.Bar", "bar");
+
+        var cache = new ClassResultCache(tmp.resolve("cache"), "salt", classes.toFile(), tests.toFile());
+        cache.store(report(tmp, new MutationsXml()), List.of(FOO, "com.example.Bar"));
+        Files.delete(classes.resolve("com/example/Bar.class"));
+        Files.writeString(tmp.resolve("cache").resolve(FOO + "123.tmp"), "interrupted");
+
+        assertThat(cache.prune()).isEqualTo(1);
+        assertThat(cache.lookup(FOO)).isNotNull();
+        assertThat(tmp.resolve("cache").resolve("com.example.Bar.xml")).doesNotExist();
+        assertThat(tmp.resolve("cache").resolve(FOO + "123.tmp")).doesNotExist();
+    }
+
+    @Test
+    void storeAndLookup(@TempDir Path tmp) throws IOException {
+        var classes = tmp.resolve("classes");
+        var tests = tmp.resolve("tests");
+        writeClass(classes, FOO, "foo");
+        writeClass(classes, FOO + "$Inner", "inner");
+        writeClass(classes, "com.example.Bar", "bar");
+        writeClass(tests, FOO_TEST, "test");
+
+        var cache = new ClassResultCache(tmp.resolve("cache"), "salt", classes.toFile(), tests.toFile());
+        cache.store(report(tmp, new MutationsXml()
+                        .mutation(FOO, "KILLED").killingTest(FOO_TEST_METHOD)
+                        .mutation("com.example.Bar", "SURVIVED")
+                        .mutation(FOO + "$Inner", "TIMED_OUT").killingTest(FOO_TEST + ".bar(" + FOO_TEST + ")")),
+                List.of(FOO, "com.example.Bar", "com.example.Baz"));
+
+        var entry = cache.lookup(FOO);
+        assertThat(entry).isNotNull();
+        var result = new PitestResult();
+        MutationReportParser.parseXml(entry, result::add);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.detected()).isEqualTo(2);
+
+        var empty = cache.lookup("com.example.Baz");
+        assertThat(empty).as("no mutations").isNotNull();
+        result = new PitestResult();
+        MutationReportParser.parseXml(empty, result::add);
+        assertThat(result.total()).isZero();
+
+        assertThat(cache.lookup("com.example.Bar")).isNotNull();
+        assertThat(cache.lookup("com.example.Missing")).isNull();
+    }
+
+    @Test
+    void testClassName() {
+        assertThat(ClassResultCache.testClassName(
+                "com.example.FooTest.[engine:junit-jupiter]/[class:com.example.FooTest]/[method:foo()]"))
+                .isEqualTo(FOO_TEST);
+        assertThat(ClassResultCache.testClassName("com.example.FooTest.foo(com.example.FooTest)"))
+                .isEqualTo(FOO_TEST);
+        assertThat(ClassResultCache.testClassName(FOO_TEST)).isEqualTo(FOO_TEST);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassWatcherTest {
+    @Test
+    void conventionalClass() {
+        assertThat(ClassWatcher.conventionalClass("com.example.FooTest")).isEqualTo("com.example.Foo");
+        assertThat(ClassWatcher.conventionalClass("com.example.FooTests")).isEqualTo("com.example.Foo");
+        assertThat(ClassWatcher.conventionalClass("com.example.FooIT")).isEqualTo("com.example.Foo");
+        assertThat(ClassWatcher.conventionalClass("com.example.FooTestCase")).isEqualTo("com.example.Foo");
+        assertThat(ClassWatcher.conventionalClass("com.example.TestFoo")).isEqualTo("com.example.Foo");
+        assertThat(ClassWatcher.conventionalClass("FooTest")).isEqualTo("Foo");
+        assertThat(ClassWatcher.conventionalClass("com.example.Foo")).isNull();
+        assertThat(ClassWatcher.conventionalClass("com.example.Test")).isNull();
+    }
+
+    @Test
+    void recordTests(@TempDir Path tmp) throws IOException {
+        Files.writeString(tmp.resolve("mutations.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <mutations>
+                <mutation detected='true' status='KILLED'><sourceFile>Foo.java</sourceFile>\
+                <mutatedClass>com.example.Foo$Inner</mutatedClass><mutatedMethod>add</mutatedMethod>\
+                <methodDescription>(II)I</methodDescription><lineNumber>5</lineNumber><mutator>M</mutator>\
+                <killingTests>com.example.FooTest.[engine:junit-jupiter]/[class:com.example.FooTest]/[method:add()]\
+                </killingTests><succeedingTests>com.example.BarTest.[engine:junit-jupiter]/[method:bar()]\
+                </succeedingTests><description>D</description></mutation>
+                </mutations>
+                """);
+        var tested = new HashMap<String, Set<String>>();
+        ClassWatcher.recordTests(tmp, tested);
+        assertThat(tested).containsOnlyKeys("com.example.FooTest", "com.example.BarTest");
+        assertThat(tested.get("com.example.FooTest")).containsExactly("com.example.Foo");
+        assertThat(tested.get("com.example.BarTest")).containsExactly("com.example.Foo");
+    }
+
+    @Test
+    void recordTestsWithoutReport(@TempDir Path tmp) throws IOException {
+        var tested = new HashMap<String, Set<String>>();
+        ClassWatcher.recordTests(tmp, tested);
+        assertThat(tested).isEmpty();
+    }
+
+    @Test
+    void take(@TempDir Path tmp) throws IOException, InterruptedException {
+        var main = tmp.resolve("main");
+        var test = tmp.resolve("test");
+        Files.createDirectories(main.resolve("com/example"));
+        try (var watcher = new ClassWatcher(List.of(main, test))) {
+            Files.write(main.resolve("com/example/Foo.class"), new byte[]{1});
+            Files.write(main.resolve("com/example/Foo$1.class"), new byte[]{1});
+            Files.createDirectories(main.resolve("com/example/sub"));
+            Files.write(main.resolve("com/example/sub/Bar.class"), new byte[]{1});
+            Files.writeString(main.resolve("com/example/foo.properties"), "foo");
+            Files.createDirectories(test.resolve("com/example"));
+            Files.write(test.resolve("com/example/FooTest.class"), new byte[]{1});
+
+            var changes = watcher.take(Duration.ofMillis(500));
+            assertThat(changes.get(main)).containsExactly("com.example.Foo", "com.example.sub.Bar");
+            assertThat(changes.get(test)).containsExactly("com.example.FooTest");
+        }
+    }
+
+    @Test
+    void testClass() {
+        assertThat(ClassWatcher.testClass(
+                "com.example.FooTest.[engine:junit-jupiter]/[class:com.example.FooTest]/[method:add()]"))
+                .isEqualTo("com.example.FooTest");
+        assertThat(ClassWatcher.testClass("com.example.FooTest.[engine:junit-jupiter]/[class:com.example.FooTest]"
+                + "/[nested-class:Inner]/[method:add()]")).isEqualTo("com.example.FooTest");
+        assertThat(ClassWatcher.testClass("com.example.FooTest.[engine:junit-jupiter]/[method:add(int)]"))
+                .isEqualTo("com.example.FooTest");
+        assertThat(ClassWatcher.testClass("com.example.FooTest.add(com.example.FooTest)"))
+                .isEqualTo("com.example.FooTest");
+        assertThat(ClassWatcher.testClass("com.example.FooTest$Inner.add")).isEqualTo("com.example.FooTest");
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClasspathResolverTest {
+    private static File jar(Path dir, String name, String groupId, String artifactId, String content)
+            throws IOException {
+        Files.createDirectories(dir);
+        var file = dir.resolve(name);
+        try (var out = new JarOutputStream(Files.newOutputStream(file))) {
+            if (artifactId != null) {
+                out.putNextEntry(new JarEntry("META-INF/maven/" + groupId + '/' + artifactId + "/pom.properties"));
+                out.write(("groupId=" + groupId + "\nartifactId=" + artifactId + "\nversion=1.0\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+            out.putNextEntry(new JarEntry("content.txt"));
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        return file.toFile();
+    }
+
+    @Test
+    void classpathJar(@TempDir Path tmp) throws IOException {
+        var resolver = new ClasspathResolver(tmp.resolve("cache"));
+        var entries = List.of(new File(tmp.toFile(), "a.jar"), new File(tmp.toFile(), "classes"));
+        var jar = resolver.classpathJar(entries);
+        assertThat(resolver.classpathJar(entries)).as("reused").isEqualTo(jar);
+
+        try (var jarFile = new JarFile(jar.toFile())) {
+            assertThat(jarFile.getManifest().getMainAttributes().getValue("Class-Path"))
+                    .isEqualTo(entries.get(0).toURI() + " " + entries.get(1).toURI());
+        }
+    }
+
+    @Test
+    void coordinates(@TempDir Path tmp) throws IOException {
+        assertThat(ClasspathResolver.coordinates(jar(tmp, "pitest-1.17.4.jar", "org.pitest", "pitest", "a")))
+                .isEqualTo("org.pitest:pitest");
+        assertThat(ClasspathResolver.coordinates(jar(tmp, "foo-bar-2.0.1-jdk8.jar", "com.foo", "foo-bar", "b")))
+                .as("classifier").isEqualTo("com.foo:foo-bar:jdk8");
+        assertThat(ClasspathResolver.coordinates(jar(tmp, "foo-bar-2.0.1.jar", null, null, "c")))
+                .as("no pom.properties").isNull();
+    }
+
+    @Test
+    void dedupeWithoutCoordinates(@TempDir Path tmp) throws IOException {
+        var first = jar(tmp.resolve("a"), "util-1.0.jar", null, null, "com.a");
+        var second = jar(tmp.resolve("b"), "util-1.0.jar", null, null, "com.b");
+        var copy = tmp.resolve("c").resolve("util-1.0.jar");
+        Files.createDirectories(copy.getParent());
+        Files.copy(first.toPath(), copy);
+
+        assertThat(ClasspathResolver.dedupe(List.of(first, second, copy.toFile()))).as("same file name")
+                .containsExactly(first, second);
+    }
+
+    @Test
+    void resolve(@TempDir Path tmp) throws IOException {
+        var test = tmp.resolve("test");
+        var compile = tmp.resolve("compile");
+        var pitest = jar(test, "pitest-1.17.4.jar", "org.pitest", "pitest", "pitest");
+        jar(test, "pitest-1.17.4-sources.jar", null, null, "sources");
+        var junit = jar(test, "junit-5.11.jar", "org.junit", "junit", "junit");
+        jar(compile, "pitest-1.17.3.jar", "org.pitest", "pitest", "older");
+        Files.copy(junit.toPath(), compile.resolve("copy.jar"));
+        var bld = jar(compile, "bld-2.2.0.jar", "com.uwyn.rife2", "bld", "bld");
+
+        var resolver = new ClasspathResolver(tmp.resolve("cache"));
+        var classpath = resolver.resolve(List.of(test.toFile(), compile.toFile()));
+        assertThat(classpath).containsExactly(junit, pitest, bld);
+        assertThat(tmp.resolve("cache").toFile().list()).hasSize(1);
+
+        assertThat(resolver.resolve(List.of(test.toFile(), compile.toFile()))).as("cached").isEqualTo(classpath);
+
+        var added = jar(compile, "added-1.0.jar", null, null, "added");
+        assertThat(resolver.resolve(List.of(test.toFile(), compile.toFile()))).as("changed").contains(added);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CostModelTest {
+    @Test
+    void estimate() {
+        var model = new CostModel();
+        assertThat(model.estimate(List.of("com.Foo"))).as("empty").isEqualTo(Duration.ZERO);
+
+        model.record("com.Foo", 2, Duration.ofMillis(100));
+        model.record("com.Bar", 4, Duration.ofMillis(300));
+        assertThat(model.estimate(List.of("com.Foo", "com.Bar"))).isEqualTo(Duration.ofMillis(400));
+        assertThat(model.estimate(List.of("com.Baz"))).as("average").isEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    void fingerprint() {
+        var model = new CostModel();
+        model.record("com.Foo", 2, Duration.ofMillis(100));
+        model.fingerprint("com.Foo", "abc");
+        assertThat(model.fingerprint("com.Foo")).isEqualTo("abc");
+
+        model.record("com.Foo", 3, Duration.ofMillis(100));
+        assertThat(model.fingerprint("com.Foo")).as("discarded").isNull();
+    }
+
+    @Test
+    void loadMissing(@TempDir Path tmp) throws IOException {
+        assertThat(CostModel.load(tmp.resolve(CostModel.FILE_NAME)).isEmpty()).isTrue();
+    }
+
+    @Test
+    void record() {
+        var model = new CostModel();
+        model.record("com.Foo", 2, Duration.ofMillis(100));
+        model.record("com.Foo", 3, Duration.ofMillis(300));
+        assertThat(model.cost("com.Foo")).as("smoothed").isEqualTo(new CostModel.Cost(3, 160, 2));
+        assertThat(model.cost("com.Bar")).isNull();
+    }
+
+    @Test
+    void recordOverhead(@TempDir Path tmp) throws IOException {
+        var report = new MutationsXml().mutation("com.Foo", "KILLED").write(tmp.resolve("mutations.xml"));
+
+        var model = new CostModel();
+        assertThat(model.overhead()).isEqualTo(Duration.ZERO);
+        model.record(report, Duration.ofMillis(2500), Duration.ofMillis(2000));
+        assertThat(model.overhead()).isEqualTo(Duration.ofMillis(2000));
+        assertThat(model.cost("com.Foo").millis()).as("measured").isEqualTo(500);
+
+        model.record(report, Duration.ofMillis(2500), null);
+        assertThat(model.overhead()).as("unchanged").isEqualTo(Duration.ofMillis(2000));
+        assertThat(model.cost("com.Foo").millis()).as("recorded overhead").isEqualTo(500);
+
+        model.record(report, Duration.ofMillis(3000), Duration.ofMillis(1000));
+        assertThat(model.overhead()).as("smoothed").isEqualTo(Duration.ofMillis(1700));
+        assertThat(model.cost("com.Foo").millis()).isEqualTo(950);
+    }
+
+    @Test
+    void recordReport(@TempDir Path tmp) throws IOException {
+        var report = new MutationsXml()
+                .mutation("com.Foo", "KILLED")
+                .mutation("com.Foo$Inner", "SURVIVED").succeedingTests("T1|T2")
+                .mutation("com.Bar", "NO_COVERAGE")
+                .mutation("com.Baz", "TIMED_OUT")
+                .write(tmp.resolve("mutations.xml"));
+
+        var model = new CostModel();
+        assertThat(model.record(report, Duration.ofMillis(1300), null))
+                .containsExactly("com.Bar", "com.Baz", "com.Foo");
+
+        assertThat(model.costs().keySet()).containsExactly("com.Bar", "com.Baz", "com.Foo");
+        assertThat(model.cost("com.Foo")).isEqualTo(new CostModel.Cost(2, 300, 1));
+        assertThat(model.cost("com.Bar")).isEqualTo(new CostModel.Cost(1, 0, 1));
+        assertThat(model.cost("com.Baz")).isEqualTo(new CostModel.Cost(1, 1000, 1));
+    }
+
+    @Test
+    void saveAndLoad(@TempDir Path tmp) throws IOException {
+        var model = new CostModel();
+        model.record("com.Foo", 2, Duration.ofMillis(100));
+        model.record("com.Bar", 4, Duration.ofMillis(300));
+        var file = tmp.resolve("reports").resolve(CostModel.FILE_NAME);
+        model.save(file);
+
+        assertThat(Files.readAllLines(file)).containsExactly("class,mutants,millis,runs,fingerprint",
+                "com.Bar,4,300,1,", "com.Foo,2,100,1,");
+        assertThat(CostModel.load(file).costs()).isEqualTo(model.costs());
+
+        model.fingerprint("com.Foo", "abc");
+        model.save(file);
+        assertThat(CostModel.load(file).fingerprint("com.Foo")).isEqualTo("abc");
+        assertThat(CostModel.load(file).fingerprint("com.Bar")).isNull();
+
+        Files.writeString(file, "(process),0,2000,3\n", StandardOpenOption.APPEND);
+        var loaded = CostModel.load(file);
+        assertThat(loaded.overhead()).isEqualTo(Duration.ofMillis(2000));
+        assertThat(loaded.costs()).as("not a class").doesNotContainKey("(process)");
+        loaded.save(file);
+        assertThat(Files.readAllLines(file)).last().isEqualTo("(process),0,2000,3");
+    }
+
+    @Test
+    void weights() {
+        var model = new CostModel();
+        var sizes = Map.of("com.Foo", 1000L, "com.Bar", 2000L);
+        assertThat(model.weights(sizes)).as("no costs").isEqualTo(sizes);
+
+        model.record("com.Foo", 2, Duration.ofMillis(500));
+        assertThat(model.weights(sizes)).containsEntry("com.Foo", 500L).containsEntry("com.Bar", 1000L);
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stands in for the PIT command line in the tests of the operation, launched by a {@link #javaTool(Path) java tool}
+ * script.
+ * <p>
+ * The classes and the statuses of their mutants are read from the {@link #CONFIG configuration} in the working
+ * directory, e.g. {@code com.example.Foo=KILLED,SURVIVED}. The mutants of a class are killed by, or run, the test
+ * set with {@code test.com.example.Foo}, if any, and single-threaded runs use the {@code reverify.com.example.Foo}
+ * statuses, if any. The classes matching the target classes are written to the report directory in the output
+ * formats, then logged as one line per run to the {@link #LOG log}, followed by the values of the {@code logged}
+ * options of the configuration, if any.
+ * <p>
+ * The first run writes the number of {@code generate} classes of the configuration, if set, to the
+ * {@code com.example} package of the build output.
+ * <p>
+ * Like PIT, it fails if the mutation threshold or the maximum surviving mutants is not met, or with the
+ * {@code exit} status of the configuration, if set.
+ * <p>
+ * The {@link #entryPointJar(Path) programmatic entry point} only logs its runs as {@link #ENTRY_POINT}, and returns
+ * the {@code statistics} of the configuration, e.g. {@code 80,50,3} for the line coverage, mutation score and
+ * surviving mutants.
+ */
+final class FakePitest {
+    /**
+     * The configuration file, in the working directory.
+     */
+    static final String CONFIG = "fake-pitest.properties";
+    /**
+     * The line logged by the programmatic entry point for each run.
+     */
+    static final String ENTRY_POINT = "entry point";
+    /**
+     * The log file, in the working directory.
+     */
+    static final String LOG = "fake-pitest.log";
+    private static final String MAIN_CLASS = "org.pitest.mutationtest.commandline.MutationCoverageReport";
+    private static final Map<String, String> SOURCES = Map.of(
+            "org/pitest/mutationtest/commandline/OptionsParser.java", """
+                    package org.pitest.mutationtest.commandline;
+
+                    import org.pitest.mutationtest.config.ReportOptions;
+
+                    import java.util.Optional;
+                    import java.util.function.Predicate;
+
+                    public class OptionsParser {
+                        public OptionsParser(Predicate<String> filter) {
+                        }
+
+                        public Result parse(String[] args) {
+                            return new Result();
+                        }
+
+                        public static class Result {
+                            public Optional<String> getErrorMessage() {
+                                return Optional.empty();
+                            }
+
+                            public ReportOptions getOptions() {
+                                return new ReportOptions();
+                            }
+
+                            public boolean isOk() {
+                                return true;
+                            }
+                        }
+                    }
+                    """,
+            "org/pitest/mutationtest/commandline/PluginFilter.java", """
+                    package org.pitest.mutationtest.commandline;
+
+                    import org.pitest.mutationtest.config.PluginServices;
+
+                    import java.util.function.Predicate;
+
+                    public class PluginFilter implements Predicate<String> {
+                        public PluginFilter(PluginServices plugins) {
+                        }
+
+                        @Override
+                        public boolean test(String s) {
+                            return true;
+                        }
+                    }
+                    """,
+            "org/pitest/mutationtest/config/PluginServices.java", """
+                    package org.pitest.mutationtest.config;
+
+                    public class PluginServices {
+                        public static PluginServices makeForLoader(ClassLoader loader) {
+                            return new PluginServices();
+                        }
+                    }
+                    """,
+            "org/pitest/mutationtest/config/ReportOptions.java", """
+                    package org.pitest.mutationtest.config;
+
+                    public class ReportOptions {
+                    }
+                    """,
+            "org/pitest/mutationtest/tooling/EntryPoint.java", """
+                    package org.pitest.mutationtest.tooling;
+
+                    import org.pitest.mutationtest.config.PluginServices;
+                    import org.pitest.mutationtest.config.ReportOptions;
+
+                    import java.io.File;
+                    import java.io.IOException;
+                    import java.io.Reader;
+                    import java.nio.file.Files;
+                    import java.nio.file.StandardOpenOption;
+                    import java.util.Map;
+                    import java.util.Optional;
+                    import java.util.Properties;
+
+                    public class EntryPoint {
+                        public Result execute(File baseDir, ReportOptions options, PluginServices plugins,
+                                              Map<String, String> environment) throws IOException {
+                            var config = new Properties();
+                            try (Reader reader = Files.newBufferedReader(baseDir.toPath().resolve("%s"))) {
+                                config.load(reader);
+                            }
+                            Files.writeString(baseDir.toPath().resolve("%s"), "%s\\n", StandardOpenOption.CREATE,
+                                    StandardOpenOption.APPEND);
+                            var values = config.getProperty("statistics").split(",");
+                            return new Result(new Statistics(Integer.parseInt(values[0]), Long.parseLong(values[1]),
+                                    Long.parseLong(values[2])));
+                        }
+
+                        public static class Result {
+                            private final Statistics statistics_;
+
+                            Result(Statistics statistics) {
+                                statistics_ = statistics;
+                            }
+
+                            public Optional<Exception> getError() {
+                                return Optional.empty();
+                            }
+
+                            public Optional<Statistics> getStatistics() {
+                                return Optional.of(statistics_);
+                            }
+                        }
+
+                        public record Statistics(int coverage, long score, long survived) {
+                            public Statistics getCoverageSummary() {
+                                return this;
+                            }
+
+                            public int getCoverage() {
+                                return coverage;
+                            }
+
+                            public Statistics getMutationStatistics() {
+                                return this;
+                            }
+
+                            public long getPercentageDetected() {
+                                return score;
+                            }
+
+                            public long getTotalSurvivingMutations() {
+                                return survived;
+                            }
+                        }
+                    }
+                    """.formatted(CONFIG, LOG, ENTRY_POINT));
+
+    private FakePitest() {
+        // no-op
+    }
+
+    /**
+     * Compiles the programmatic entry point of the fake PIT into a jar.
+     *
+     * @param jar the jar file
+     * @throws IOException if an I/O error occurs
+     */
+    static void entryPointJar(Path jar) throws IOException {
+        var sourceDir = Files.createTempDirectory("fake-pitest");
+        var sources = new ArrayList<String>();
+        for (var source : SOURCES.entrySet()) {
+            var file = sourceDir.resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            sources.add(Files.writeString(file, source.getValue()).toString());
+        }
+        var args = new ArrayList<>(List.of("-d", sourceDir.toString()));
+        args.addAll(sources);
+        if (ToolProvider.getSystemJavaCompiler().run(null, null, null, args.toArray(String[]::new)) != 0) {
+            throw new IOException("Could not compile the fake PIT entry point.");
+        }
+
+        Files.createDirectories(jar.toAbsolutePath().getParent());
+        try (var out = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> files = Files.walk(sourceDir)) {
+            for (var file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".class"))::iterator) {
+                out.putNextEntry(new JarEntry(sourceDir.relativize(file).toString().replace(File.separatorChar, '/')));
+                out.write(Files.readAllBytes(file));
+                out.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Writes a {@code java} script launching the fake PIT instead of PIT.
+     *
+     * @param dir the directory to write the script to
+     * @return the script path, or {@code null} if it cannot be run on this platform
+     * @throws IOException if an I/O error occurs
+     */
+    static String javaTool(Path dir) throws IOException {
+        // the processes run in another working directory
+        var classpath = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .map(p -> new File(p).getAbsolutePath()).collect(Collectors.joining(File.pathSeparator));
+        var script = Files.writeString(dir.resolve("java"), "#!/bin/sh\nexec \""
+                + new File(System.getProperty("java.home"), "bin/java") + "\" -cp \"" + classpath + "\" "
+                + FakePitest.class.getName() + " \"$@\"\n");
+        if (!script.toFile().setExecutable(true) || File.separatorChar == '\\') {
+            return null;
+        }
+        return script.toString();
+    }
+
+    /**
+     * Returns the runs logged in a directory.
+     *
+     * @param dir the working directory
+     * @return the classes analyzed by each run, separated by commas
+     * @throws IOException if an I/O error occurs
+     */
+    static List<String> runs(Path dir) throws IOException {
+        var log = dir.resolve(LOG);
+        return Files.exists(log) ? Files.readAllLines(log) : List.of();
+    }
+
+    public static void main(String[] launcherArgs) throws IOException {
+        // the launcher does not expand the argument files following the main class of the script
+        var args = new ArrayList<String>();
+        for (var arg : launcherArgs) {
+            if (arg.startsWith("@")) {
+                Files.readAllLines(Path.of(arg.substring(1))).forEach(line -> args.add(unquote(line)));
+            } else {
+                args.add(arg);
+            }
+        }
+
+        var options = new HashMap<String, String>();
+        var start = args.indexOf(MAIN_CLASS) + 1;
+        for (var i = start; i < args.size(); i++) {
+            if (args.get(i).startsWith("--")) {
+                var hasValue = i + 1 < args.size() && !args.get(i + 1).startsWith("--");
+                options.put(args.get(i), hasValue ? args.get(++i) : "");
+            }
+        }
+
+        var config = new Properties();
+        try (var reader = Files.newBufferedReader(Path.of(CONFIG), StandardCharsets.UTF_8)) {
+            config.load(reader);
+        }
+        var targets = Arrays.stream(options.getOrDefault("--targetClasses", "").split(","))
+                .filter(s -> !s.isBlank()).map(TargetClassResolver::globToPattern).toList();
+        var isSingleThreaded = "1".equals(options.get("--threads"));
+
+        var analyzed = new TreeSet<String>();
+        var xml = new MutationsXml();
+        var csv = new StringBuilder();
+        var detected = 0;
+        var total = 0;
+        for (var name : new TreeSet<>(config.stringPropertyNames())) {
+            if (!name.contains(".") || name.startsWith("test.") || name.startsWith("reverify.")
+                    || !targets.isEmpty() && targets.stream().noneMatch(p -> p.matcher(name).matches())) {
+                continue;
+            }
+            analyzed.add(name);
+            var statuses = config.getProperty(name);
+            if (isSingleThreaded) {
+                statuses = config.getProperty("reverify." + name, statuses);
+            }
+            var test = config.getProperty("test." + name);
+            var line = 0;
+            for (var status : statuses.split(",")) {
+                var isDetected = PitestResult.Mutant.isDetected(status);
+                xml.mutation(name, status).line(++line);
+                if (test != null) {
+                    if (isDetected) {
+                        xml.killingTest(test);
+                    } else {
+                        xml.succeedingTests(test);
+                    }
+                }
+                csv.append("Foo.java,").append(name).append(",M,foo,").append(line).append(',').append(status)
+                        .append(',').append(isDetected && test != null ? test : "none").append('\n');
+                total++;
+                if (isDetected) {
+                    detected++;
+                }
+            }
+        }
+        var reportDir = Path.of(options.get("--reportDir"));
+        if (!"false".equals(options.get("--timestampedReports"))) {
+            reportDir = reportDir.resolve(String.valueOf(System.currentTimeMillis()));
+        }
+        Files.createDirectories(reportDir);
+        for (var format : options.getOrDefault("--outputFormats", "HTML").split(",")) {
+            switch (format) {
+                case "XML" -> xml.write(reportDir.resolve("mutations.xml"));
+                case "CSV" -> Files.writeString(reportDir.resolve("mutations.csv"), csv);
+                default -> Files.writeString(reportDir.resolve("index.html"), "<html></html>\n");
+            }
+        }
+        if (options.containsKey("--historyOutputLocation")) {
+            Files.writeString(Path.of(options.get("--historyOutputLocation")), String.join("\n", analyzed));
+        }
+        var generated = Path.of("build/main/com/example");
+        if (config.containsKey("generate") && !Files.exists(generated.resolve("Generated0.class"))) {
+            for (var i = 0; i < Integer.parseInt(config.getProperty("generate")); i++) {
+                Files.writeString(generated.resolve("Generated" + i + ".class"), "generated");
+            }
+        }
+        // logged once the reports are written
+        var line = new StringBuilder(String.join(",", analyzed));
+        for (var option : config.getProperty("logged", "").split(",")) {
+            if (!option.isBlank()) {
+                line.append(' ').append(option).append('=').append(options.get(option));
+            }
+        }
+        Files.writeString(Path.of(LOG), line.append('\n'), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        var score = total == 0 ? 100 : Math.round(100f * detected / total);
+        var threshold = options.get("--mutationThreshold");
+        var maxSurviving = options.get("--maxSurviving");
+        if (config.containsKey("exit")) {
+            System.exit(Integer.parseInt(config.getProperty("exit")));
+        } else if (threshold != null && score < Integer.parseInt(threshold)
+                || maxSurviving != null && total - detected > Long.parseLong(maxSurviving)) {
+            System.exit(1);
+        }
+    }
+
+    private static String unquote(String arg) {
+        var unquoted = new StringBuilder();
+        for (var i = 1; i < arg.length() - 1; i++) {
+            var c = arg.charAt(i);
+            if (c == '\\') {
+                c = switch (arg.charAt(++i)) {
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    case 't' -> '\t';
+                    default -> arg.charAt(i);
+                };
+            }
+            unquoted.append(c);
+        }
+        return unquoted.toString();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FingerprintsTest {
+    @Test
+    void classFiles(@TempDir Path tmp) throws IOException {
+        var dir = tmp.resolve("com/example");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("Foo.class"), "foo");
+        var inner = Files.writeString(dir.resolve("Foo$Inner.class"), "inner");
+        var fingerprint = Fingerprints.classFiles(tmp.toFile(), "com.example.Foo");
+
+        Files.writeString(dir.resolve("FooBar.class"), "other");
+        assertThat(Fingerprints.classFiles(tmp.toFile(), "com.example.Foo")).as("other class")
+                .isEqualTo(fingerprint);
+
+        Files.writeString(inner, "changed");
+        assertThat(Fingerprints.classFiles(tmp.toFile(), "com.example.Foo")).as("nested class")
+                .isNotEqualTo(fingerprint);
+        assertThat(Fingerprints.classFiles(tmp.toFile(), "com.missing.Foo")).as("missing")
+                .isEqualTo(Fingerprints.files(List.of()));
+    }
+
+    @Test
+    void files(@TempDir Path tmp) throws IOException {
+        var dir = tmp.resolve("classes");
+        Files.createDirectories(dir.resolve("com/example"));
+        var foo = Files.writeString(dir.resolve("com/example/Foo.class"), "foo");
+        Files.writeString(dir.resolve("com/example/Bar.class"), "bar");
+        var roots = List.of(dir.toFile(), tmp.resolve("missing").toFile());
+
+        var fingerprint = Fingerprints.files(roots);
+        assertThat(Fingerprints.files(roots)).as("stable").isEqualTo(fingerprint);
+
+        Files.writeString(foo, "changed");
+        assertThat(Fingerprints.files(roots)).as("content").isNotEqualTo(fingerprint);
+
+        Files.writeString(foo, "foo");
+        assertThat(Fingerprints.files(roots)).as("restored").isEqualTo(fingerprint);
+
+        Files.move(foo, dir.resolve("com/example/Baz.class"));
+        assertThat(Fingerprints.files(roots)).as("renamed").isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void hex() {
+        assertThat(Fingerprints.hex(new byte[]{0, 15, (byte) 255})).isEqualTo("000fff");
+    }
+
+    @Test
+    void options() {
+        var a = new LinkedHashMap<String, String>();
+        a.put("--foo", "1");
+        a.put("--bar", "2");
+        var b = new LinkedHashMap<String, String>();
+        b.put("--bar", "2");
+        b.put("--foo", "1");
+
+        assertThat(Fingerprints.options(a, Set.of())).as("order").isEqualTo(Fingerprints.options(b, Set.of()));
+        assertThat(Fingerprints.options(Map.of("--foo", "1"), Set.of()))
+                .isNotEqualTo(Fingerprints.options(Map.of("--foo", "2"), Set.of()));
+        assertThat(Fingerprints.options(Map.of("--foo", "1", "--verbose", "true"), Set.of("--verbose")))
+                .as("ignored").isEqualTo(Fingerprints.options(Map.of("--foo", "1"), Set.of()));
+    }
+
+    @Test
+    void pitVersion(@TempDir Path tmp) throws IOException {
+        assertThat(Fingerprints.pitVersion(tmp.toFile())).isEqualTo("unknown");
+
+        Files.createFile(tmp.resolve("pitest-command-line-1.17.4.jar"));
+        Files.createFile(tmp.resolve("pitest-1.17.4.jar"));
+        assertThat(Fingerprints.pitVersion(tmp.toFile())).isEqualTo("1.17.4");
+    }
+
+    @Test
+    void sha256() {
+        assertThat(Fingerprints.sha256(List.of("foo", "bar")))
+                .isNotEqualTo(Fingerprints.sha256(List.of("foob", "ar")));
+    }
+}
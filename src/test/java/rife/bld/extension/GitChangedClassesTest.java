@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class GitChangedClassesTest {
+    @Test
+    void changedFilesNotRepository(@TempDir Path tmp) {
+        assertThatCode(() -> GitChangedClasses.changedFiles(tmp.toFile(), "HEAD"))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void mergeBase(@TempDir Path tmp) throws Exception {
+        git(tmp, "init", "-q");
+        Files.writeString(tmp.resolve("Foo.java"), "class Foo {}");
+        git(tmp, "add", "Foo.java");
+        git(tmp, "-c", "user.name=test", "-c", "user.email=test@example.com", "commit", "-q", "-m", "foo");
+        git(tmp, "branch", "base");
+
+        assertThat(GitChangedClasses.mergeBase(tmp.toFile(), "base"))
+                .isEqualTo(GitChangedClasses.mergeBase(tmp.toFile(), "HEAD")).hasSize(40);
+        assertThatCode(() -> GitChangedClasses.mergeBase(tmp.toFile(), "missing"))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void toClassNames(@TempDir Path tmp) throws IOException {
+        var classes = tmp.resolve("build/main/com/example");
+        Files.createDirectories(classes);
+        Files.createFile(classes.resolve("Foo.class"));
+        Files.createFile(classes.resolve("Bar.class"));
+
+        var names = GitChangedClasses.toClassNames(
+                List.of("src/main/java/com/example/Foo.java",
+                        "src/main/java/com/example/Bar.java",
+                        "src/main/java/com/example/Deleted.java",
+                        "src/test/java/com/example/FooTest.java",
+                        "src/main/resources/com/example/foo.properties"),
+                tmp.toFile(), tmp.resolve("src/main/java").toFile(), tmp.resolve("build/main").toFile());
+
+        assertThat(names).containsExactly("com.example.Bar", "com.example.Foo");
+    }
+
+    private static void git(Path dir, String... args) throws IOException, InterruptedException {
+        var command = new ArrayList<String>();
+        command.add("git");
+        command.addAll(List.of(args));
+        var process = new ProcessBuilder(command).directory(dir.toFile()).inheritIO().start();
+        assertThat(process.waitFor()).isZero();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalHistoryTest {
+    private static final String HISTORY = "history";
+
+    @Test
+    void commit(@TempDir Path tmp) throws IOException {
+        var history = new IncrementalHistory(tmp, "abc");
+        assertThat(history.prepare()).as("no history").isFalse();
+
+        Files.writeString(history.output(), HISTORY);
+        history.commit();
+
+        assertThat(history.output()).doesNotExist();
+        assertThat(Files.readString(history.input())).isEqualTo(HISTORY);
+        assertThat(history.prepare()).as("valid history").isTrue();
+    }
+
+    @Test
+    void commitEmpty(@TempDir Path tmp) throws IOException {
+        var history = new IncrementalHistory(tmp, "abc");
+        history.prepare();
+        Files.createFile(history.output());
+        history.commit();
+
+        assertThat(history.output()).doesNotExist();
+        assertThat(history.input()).doesNotExist();
+    }
+
+    @Test
+    void prepareCorrupted(@TempDir Path tmp) throws IOException {
+        var history = new IncrementalHistory(tmp, "abc");
+        history.prepare();
+        Files.writeString(history.output(), HISTORY);
+        history.commit();
+
+        Files.writeString(history.input(), "corrupted");
+        assertThat(history.prepare()).isFalse();
+        assertThat(history.input()).doesNotExist();
+    }
+
+    @Test
+    void prepareStale(@TempDir Path tmp) throws IOException {
+        var old = new IncrementalHistory(tmp, "old");
+        old.prepare();
+        Files.writeString(old.output(), HISTORY);
+        old.commit();
+
+        var history = new IncrementalHistory(tmp, "new");
+        assertThat(history.prepare()).isFalse();
+        assertThat(old.input()).doesNotExist();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinionProfileTest {
+    @Test
+    void argsFor() {
+        var unsupported = new ArrayList<String>();
+        assertThat(MinionProfile.SHORT_LIVED.argsFor(List.of(), 17, unsupported::add))
+                .isEqualTo(MinionProfile.SHORT_LIVED.args());
+        assertThat(MinionProfile.SHORT_LIVED.argsFor(List.of(), -1, unsupported::add))
+                .as("unknown version").isEqualTo(MinionProfile.SHORT_LIVED.args());
+        assertThat(unsupported).isEmpty();
+    }
+
+    @Test
+    void argsForOverridden() {
+        var unsupported = new ArrayList<String>();
+        assertThat(MinionProfile.SHORT_LIVED.argsFor(List.of("-XX:+UseG1GC", "-Xmx1g", "-XX:TieredStopAtLevel=4"),
+                17, unsupported::add)).containsExactly("-XX:ActiveProcessorCount=1", "-XX:-UsePerfData",
+                "-Xshare:auto");
+        assertThat(MinionProfile.THROUGHPUT.argsFor(List.of("-Xms256m"), 17, unsupported::add))
+                .as("heap").containsExactly("-XX:+UseParallelGC");
+        assertThat(unsupported).isEmpty();
+    }
+
+    @Test
+    void argsForUnsupported() {
+        var unsupported = new ArrayList<String>();
+        assertThat(MinionProfile.SHORT_LIVED.argsFor(List.of(), 8, unsupported::add))
+                .doesNotContain("-XX:ActiveProcessorCount=1").contains("-XX:+UseSerialGC");
+        assertThat(unsupported).containsExactly("-XX:ActiveProcessorCount=1");
+    }
+
+    @Test
+    void javaVersion(@TempDir Path tmp) throws IOException {
+        var bin = Files.createDirectories(tmp.resolve("jdk").resolve("bin"));
+        var java = bin.resolve("java");
+        assertThat(MinionProfile.javaVersion(java)).as("no release").isEqualTo(-1);
+
+        Files.writeString(tmp.resolve("jdk").resolve("release"), "IMPLEMENTOR=\"Eclipse Adoptium\"\n"
+                + "JAVA_VERSION=\"17.0.9\"\n");
+        assertThat(MinionProfile.javaVersion(java)).isEqualTo(17);
+        Files.writeString(tmp.resolve("jdk").resolve("release"), "JAVA_VERSION=\"1.8.0_392\"\n");
+        assertThat(MinionProfile.javaVersion(java)).isEqualTo(8);
+    }
+
+    @Test
+    void option() {
+        assertThat(MinionProfile.option("-Xmx512m")).isEqualTo("-Xmx");
+        assertThat(MinionProfile.option("-Xshare:auto")).isEqualTo("-Xshare");
+        assertThat(MinionProfile.option("-XX:+UseSerialGC")).isEqualTo(MinionProfile.option("-XX:+UseZGC"));
+        assertThat(MinionProfile.option("-XX:-UsePerfData")).isEqualTo(MinionProfile.option("-XX:+UsePerfData"));
+        assertThat(MinionProfile.option("-XX:TieredStopAtLevel=1")).isEqualTo("-XX:TieredStopAtLevel");
+        assertThat(MinionProfile.option("-Dfoo=bar")).isEqualTo("-Dfoo");
+    }
+}
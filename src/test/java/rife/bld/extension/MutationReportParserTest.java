@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MutationReportParserTest {
+    private static final String FOO = "com.example.Foo";
+    private static final String MATH = "org.pitest.mutationtest.engine.gregor.mutators.MathMutator";
+    private static final String XML = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <mutations partial="true">
+            <mutation detected='true' status='KILLED' numberOfTestsRun='2'><sourceFile>Foo.java</sourceFile>\
+            <mutatedClass>com.example.Foo</mutatedClass><mutatedMethod>add</mutatedMethod>\
+            <methodDescription>(II)I</methodDescription><lineNumber>12</lineNumber>\
+            <mutator>org.pitest.mutationtest.engine.gregor.mutators.MathMutator</mutator>\
+            <indexes><index>5</index></indexes><blocks><block>0</block></blocks>\
+            <killingTest>com.example.FooTest.[engine:junit-jupiter]/[method:add()]</killingTest>\
+            <description>Replaced integer addition with subtraction</description></mutation>
+            <mutation detected='false' status='SURVIVED' numberOfTestsRun='1'><sourceFile>Foo.java</sourceFile>\
+            <mutatedClass>com.example.Foo</mutatedClass><mutatedMethod>sub</mutatedMethod>\
+            <methodDescription>(II)I</methodDescription><lineNumber>16</lineNumber>\
+            <mutator>org.pitest.mutationtest.engine.gregor.mutators.MathMutator</mutator>\
+            <indexes><index>5</index></indexes><blocks><block>0</block></blocks>\
+            <killingTest/><description>Replaced integer subtraction with addition</description></mutation>
+            <mutation detected='true' status='TIMED_OUT' numberOfTestsRun='1'><sourceFile>Bar.java</sourceFile>\
+            <mutatedClass>com.example.Bar</mutatedClass><mutatedMethod>loop</mutatedMethod>\
+            <methodDescription>()V</methodDescription><lineNumber>3</lineNumber>\
+            <mutator>org.pitest.mutationtest.engine.gregor.mutators.IncrementsMutator</mutator>\
+            <indexes><index>7</index></indexes><blocks><block>1</block></blocks>\
+            <killingTest/><description>Changed increment from 1 to -1</description></mutation>
+            </mutations>
+            """;
+
+    @Test
+    void parseCsv(@TempDir Path tmp) throws IOException {
+        Files.writeString(tmp.resolve("mutations.csv"),
+                "Foo.java,com.example.Foo," + MATH + ",add,12,KILLED,com.example.FooTest.add()\n"
+                        + "Foo.java,com.example.Foo," + MATH + ",sub,16,NO_COVERAGE,none\n");
+
+        var result = MutationReportParser.parse(tmp);
+
+        assertThat(result.total()).isEqualTo(2L);
+        assertThat(result.killed()).isEqualTo(1L);
+        assertThat(result.mutationScore()).isEqualTo(50);
+        assertThat(result.survivors()).hasSize(1);
+        assertThat(result.survivors().get(0).status()).isEqualTo(PitestResult.NO_COVERAGE);
+        assertThat(result.survivors().get(0).killingTests()).isEmpty();
+    }
+
+    @Test
+    void parseMissing(@TempDir Path tmp) throws IOException {
+        assertThat(MutationReportParser.parse(tmp)).isNull();
+        assertThat(MutationReportParser.parse(tmp.resolve("missing"))).as("missing directory").isNull();
+    }
+
+    @Test
+    void findSince(@TempDir Path tmp) throws IOException {
+        var report = Files.writeString(tmp.resolve("mutations.xml"), XML);
+        Files.setLastModifiedTime(report, FileTime.fromMillis(1000L));
+
+        assertThat(MutationReportParser.find(tmp, 1000L)).isEqualTo(report);
+        assertThat(MutationReportParser.find(tmp, 2000L)).as("stale").isNull();
+        assertThat(MutationReportParser.parse(tmp, 2000L)).as("stale").isNull();
+    }
+
+    @Test
+    void findTimestampedOnly(@TempDir Path tmp) throws IOException {
+        for (var dir : List.of("202501010000", "reverify", "shard-1")) {
+            Files.createDirectories(tmp.resolve(dir));
+            Files.writeString(tmp.resolve(dir).resolve("mutations.xml"), XML);
+        }
+
+        assertThat(MutationReportParser.find(tmp)).isEqualTo(tmp.resolve("202501010000").resolve("mutations.xml"));
+    }
+
+    @Test
+    void parseTimestamped(@TempDir Path tmp) throws IOException {
+        Files.createDirectories(tmp.resolve("202401010000"));
+        Files.createDirectories(tmp.resolve("202501010000"));
+        Files.writeString(tmp.resolve("202501010000").resolve("mutations.xml"), XML);
+
+        assertThat(MutationReportParser.find(tmp)).isEqualTo(tmp.resolve("202501010000").resolve("mutations.xml"));
+    }
+
+    @Test
+    void parseXml(@TempDir Path tmp) throws IOException {
+        Files.writeString(tmp.resolve("mutations.xml"), XML);
+
+        var result = MutationReportParser.parse(tmp);
+
+        assertThat(result.partial()).isTrue();
+        assertThat(result.total()).isEqualTo(3L);
+        assertThat(result.detected()).isEqualTo(2L);
+        assertThat(result.killed()).isEqualTo(1L);
+        assertThat(result.survived()).isEqualTo(1L);
+        assertThat(result.mutationScore()).isEqualTo(67);
+        assertThat(result.totals().count(PitestResult.TIMED_OUT)).isEqualTo(1L);
+
+        assertThat(result.classes().keySet()).containsExactly("com.example.Bar", FOO);
+        assertThat(result.classes().get(FOO).total()).isEqualTo(2L);
+        assertThat(result.classes().get(FOO).mutationScore()).isEqualTo(50);
+        assertThat(result.mutators().get(MATH).statuses()).containsEntry(PitestResult.SURVIVED, 1L);
+
+        var survivor = result.survivors().get(0);
+        assertThat(survivor.mutatedClass()).isEqualTo(FOO);
+        assertThat(survivor.mutatedMethod()).isEqualTo("sub");
+        assertThat(survivor.lineNumber()).isEqualTo(16);
+        assertThat(survivor.description()).isEqualTo("Replaced integer subtraction with addition");
+    }
+
+    @Test
+    void parseXmlKillingTests(@TempDir Path tmp) throws IOException {
+        var report = Files.writeString(tmp.resolve("mutations.xml"), XML);
+        var mutants = new ArrayList<PitestResult.Mutant>();
+
+        MutationReportParser.parseXml(report, mutants::add);
+
+        assertThat(mutants).hasSize(3);
+        assertThat(mutants.get(0).killingTests())
+                .isEqualTo(List.of("com.example.FooTest.[engine:junit-jupiter]/[method:add()]"));
+        assertThat(mutants.get(1).killingTests()).isEmpty();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds {@code mutations.xml} reports, as written by PIT, for the tests.
+ * <p>
+ * The test methods of a mutation are only written if set.
+ */
+final class MutationsXml {
+    private final List<Mutation> mutations_ = new ArrayList<>();
+    private boolean partial_;
+
+    /**
+     * Sets the killing test of the last mutation.
+     *
+     * @param test the test
+     * @return this builder
+     */
+    MutationsXml killingTest(String test) {
+        last().killingTest = test;
+        return this;
+    }
+
+    /**
+     * Sets the line number of the last mutation.
+     *
+     * @param line the line number
+     * @return this builder
+     */
+    MutationsXml line(int line) {
+        last().line = line;
+        return this;
+    }
+
+    /**
+     * Adds a mutation, on line {@code 1} of the {@code foo} method.
+     *
+     * @param mutatedClass the mutated class
+     * @param status       the status
+     * @return this builder
+     */
+    MutationsXml mutation(String mutatedClass, String status) {
+        var mutation = new Mutation();
+        mutation.mutatedClass = mutatedClass;
+        mutation.status = status;
+        mutations_.add(mutation);
+        return this;
+    }
+
+    /**
+     * Marks the report as partial.
+     *
+     * @param isPartial {@code true} or {@code false}
+     * @return this builder
+     */
+    MutationsXml partial(boolean isPartial) {
+        partial_ = isPartial;
+        return this;
+    }
+
+    /**
+     * Sets the succeeding tests of the last mutation.
+     *
+     * @param tests the tests, separated by {@code |}
+     * @return this builder
+     */
+    MutationsXml succeedingTests(String tests) {
+        last().succeedingTests = tests;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        var xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<mutations partial=\"")
+                .append(partial_).append("\">\n");
+        for (var m : mutations_) {
+            xml.append("<mutation detected='").append(PitestResult.Mutant.isDetected(m.status))
+                    .append("' status='").append(m.status).append("' numberOfTestsRun='1'>")
+                    .append("<sourceFile>Foo.java</sourceFile><mutatedClass>").append(m.mutatedClass)
+                    .append("</mutatedClass><mutatedMethod>foo</mutatedMethod>")
+                    .append("<methodDescription>()V</methodDescription><lineNumber>").append(m.line)
+                    .append("</lineNumber><mutator>M</mutator>")
+                    .append("<indexes><index>1</index></indexes>");
+            if (m.killingTest != null) {
+                xml.append("<killingTest>").append(m.killingTest).append("</killingTest>");
+            }
+            if (m.succeedingTests != null) {
+                xml.append("<succeedingTests>").append(m.succeedingTests).append("</succeedingTests>");
+            }
+            xml.append("<description>negated</description></mutation>\n");
+        }
+        return xml.append("</mutations>\n").toString();
+    }
+
+    /**
+     * Writes the report.
+     *
+     * @param file the report file
+     * @return the report file
+     * @throws IOException if an I/O error occurs
+     */
+    Path write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        return Files.writeString(file, toString());
+    }
+
+    private Mutation last() {
+        return mutations_.get(mutations_.size() - 1);
+    }
+
+    private static final class Mutation {
+        private String killingTest;
+        private int line = 1;
+        private String mutatedClass;
+        private String status;
+        private String succeedingTests;
+    }
+}
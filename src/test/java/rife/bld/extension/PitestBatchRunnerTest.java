@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PitestBatchRunnerTest {
+    private static List<String> java(Class<?> mainClass, String... args) {
+        // the processes run in another working directory
+        var classpath = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .map(p -> new File(p).getAbsolutePath()).collect(Collectors.joining(File.pathSeparator));
+        var command = new ArrayList<>(List.of(new File(System.getProperty("java.home"), "bin/java").getPath(), "-cp",
+                classpath, mainClass.getName()));
+        command.addAll(List.of(args));
+        return command;
+    }
+
+    private static List<String> sleep(long millis) {
+        return java(Sleep.class, String.valueOf(millis));
+    }
+
+    @Test
+    void run(@TempDir Path tmp) throws IOException, InterruptedException {
+        var runner = new PitestBatchRunner(2, tmp.toFile());
+        assertThat(runner.run(List.of(sleep(0), sleep(0)))).containsExactly(0, 0);
+        assertThat(runner.isExpired()).isFalse();
+    }
+
+    @Test
+    void runOutput(@TempDir Path tmp) throws IOException, InterruptedException {
+        var output = new CopyOnWriteArrayList<String>();
+        var error = new CopyOnWriteArrayList<String>();
+        var runner = new PitestBatchRunner(1, tmp.toFile(), (index, line) -> output.add(index + ":" + line),
+                (index, line) -> error.add(index + ":" + line));
+        assertThat(runner.run(List.of(java(Echo.class)))).containsExactly(0);
+        assertThat(output).containsExactly("0:out");
+        assertThat(error).containsExactly("0:err");
+
+        output.clear();
+        runner = new PitestBatchRunner(1, tmp.toFile(), (index, line) -> output.add(index + ":" + line));
+        runner.run(List.of(java(Echo.class)));
+        assertThat(output).as("merged").containsExactlyInAnyOrder("0:out", "0:err");
+    }
+
+    @Test
+    void runPastDeadline(@TempDir Path tmp) throws IOException, InterruptedException {
+        var runner = new PitestBatchRunner(1, tmp.toFile());
+        var start = Instant.now();
+        var exitValues = runner.run(List.of(sleep(60_000)), start.plusSeconds(2), null, null);
+        assertThat(exitValues).as("stopped").containsExactly(PitestBatchRunner.SKIPPED);
+        assertThat(runner.isExpired()).isTrue();
+        assertThat(Duration.between(start, Instant.now())).isLessThan(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void runWithEstimates(@TempDir Path tmp) throws IOException, InterruptedException {
+        var runner = new PitestBatchRunner(1, tmp.toFile());
+        var exitValues = runner.run(List.of(sleep(0), sleep(0)), Instant.now().plusSeconds(30),
+                List.of(Duration.ofHours(1), Duration.ZERO), null);
+        assertThat(exitValues).as("too long to start").containsExactly(PitestBatchRunner.SKIPPED, 0);
+        assertThat(runner.isExpired()).isTrue();
+    }
+
+    /**
+     * Prints a line to the standard output and error.
+     */
+    public static final class Echo {
+        public static void main(String[] args) {
+            System.out.println("out");
+            System.err.println("err");
+        }
+    }
+
+    /**
+     * Sleeps for the given number of milliseconds.
+     */
+    public static final class Sleep {
+        public static void main(String[] args) throws InterruptedException {
+            Thread.sleep(Long.parseLong(args[0]));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PitestConsoleTest {
+    @Test
+    void accept(@TempDir Path tmp) throws IOException {
+        var log = tmp.resolve("logs").resolve("pitest.log");
+        var bytes = new ByteArrayOutputStream();
+        try (var console = new PitestConsole(log, new PrintStream(bytes, true, StandardCharsets.UTF_8), false,
+                Duration.ZERO, -1, 0)) {
+            console.accept("10:00:00 PIT >> INFO : Sending 2 test classes to minion");
+            console.accept("10:00:01 PIT >> FINE : noisy detail");
+            console.accept("10:00:02 PIT >> WARNING : Slow test");
+            console.accept("shard-1", ">> Generated 4 mutations Killed 3 (75%)");
+        }
+
+        assertThat(Files.readAllLines(log)).containsExactly(
+                "10:00:00 PIT >> INFO : Sending 2 test classes to minion",
+                "10:00:01 PIT >> FINE : noisy detail",
+                "10:00:02 PIT >> WARNING : Slow test",
+                "shard-1 >> Generated 4 mutations Killed 3 (75%)");
+        var out = bytes.toString(StandardCharsets.UTF_8);
+        assertThat(out).contains("[coverage], 00:00 elapsed").contains("WARNING : Slow test")
+                .contains(">> Generated 4 mutations").doesNotContain("noisy detail");
+    }
+
+    @Test
+    void format() {
+        assertThat(PitestConsole.format(0)).isEqualTo("00:00");
+        assertThat(PitestConsole.format(125_000)).isEqualTo("02:05");
+        assertThat(PitestConsole.format(3_725_000)).isEqualTo("1:02:05");
+    }
+
+    @Test
+    void isMutantResult() {
+        assertThat(PitestConsole.isMutantResult("PIT >> FINE : MINION : Mutation MutationIdentifier [location=x] "
+                + "detected = KILLED by [com.FooTest]")).isTrue();
+        assertThat(PitestConsole.isMutantResult("PIT >> FINE : Running 3 tests")).isFalse();
+    }
+
+    @Test
+    void isPassThrough() {
+        assertThat(PitestConsole.isPassThrough("PIT >> SEVERE : Tests failing without mutation")).isTrue();
+        assertThat(PitestConsole.isPassThrough("java.lang.IllegalStateException: boom")).isTrue();
+        assertThat(PitestConsole.isPassThrough(">> Line Coverage (for mutated classes only): 10/12 (83%)")).isTrue();
+        assertThat(PitestConsole.isPassThrough("PIT >> INFO : Calculated coverage in 1 seconds.")).isFalse();
+    }
+
+    @Test
+    void phase() {
+        assertThat(PitestConsole.phase("PIT >> INFO : Created  3 mutation test units in pre scan")).isNull();
+        assertThat(PitestConsole.phase("PIT >> INFO : Sending 2 test classes to minion"))
+                .isEqualTo(PitestConsole.Phase.COVERAGE);
+        assertThat(PitestConsole.phase("PIT >> INFO : Created  3 mutation test units"))
+                .isEqualTo(PitestConsole.Phase.MUTATION);
+        assertThat(PitestConsole.phase("PIT >> INFO : Completed in 5 seconds")).isEqualTo(PitestConsole.Phase.REPORT);
+    }
+
+    @Test
+    void progressLine(@TempDir Path tmp) throws IOException {
+        try (var console = new PitestConsole(tmp.resolve("pitest.log"), null, false, Duration.ofMinutes(2), 10, 0)) {
+            assertThat(console.progressLine(30_000)).isEqualTo("[scan], 00:30 elapsed, ETA 01:30");
+            console.accept("PIT >> INFO : Created  3 mutation test units");
+            for (var i = 0; i < 4; i++) {
+                console.accept("Mutation MutationIdentifier [x] detected = KILLED");
+            }
+            assertThat(console.progressLine(40_000))
+                    .isEqualTo("[mutation analysis] 4/10 mutants, 00:40 elapsed, ETA 01:00");
+        }
+
+        try (var console = new PitestConsole(tmp.resolve("pitest.log"), null, false, Duration.ZERO, -1, 4)) {
+            console.batchCompleted();
+            assertThat(console.progressLine(10_000)).isEqualTo("[scan] 1/4 batches, 00:10 elapsed, ETA 00:30");
+        }
+    }
+}
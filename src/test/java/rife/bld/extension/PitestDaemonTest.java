@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class PitestDaemonTest {
+    @Test
+    void classPath() throws IOException {
+        assertThat(Path.of(PitestDaemon.classPath())).exists();
+    }
+
+    @Test
+    void fingerprint(@TempDir Path tmp) throws IOException {
+        var jar = Files.writeString(tmp.resolve("pitest.jar"), "jar");
+        var libraries = List.of(jar.toFile());
+        var fingerprint = PitestDaemon.fingerprint("java", "ext.jar", libraries);
+
+        assertThat(PitestDaemon.fingerprint("java", "ext.jar", libraries)).isEqualTo(fingerprint);
+        assertThat(PitestDaemon.fingerprint("java", "other.jar", libraries)).as("classpath").isNotEqualTo(fingerprint);
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(0));
+        assertThat(PitestDaemon.fingerprint("java", "ext.jar", libraries)).as("modified").isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void secureDirectory(@TempDir Path tmp) throws IOException {
+        var dir = tmp.resolve("build/pitest/daemon");
+        PitestDaemon.secureDirectory(dir);
+        assertThat(dir).isDirectory();
+        PitestDaemon.secureDirectory(dir);
+
+        var link = Files.createSymbolicLink(tmp.resolve("link"), dir);
+        assertThatCode(() -> PitestDaemon.secureDirectory(link)).as("link").isInstanceOf(IOException.class);
+        if (!tmp.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return;
+        }
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(dir))).isEqualTo("rwx------");
+
+        Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwxr-xr-x"));
+        PitestDaemon.secureDirectory(dir);
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(dir))).as("restricted")
+                .isEqualTo("rwx------");
+
+        Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwxrwxrwx"));
+        assertThatCode(() -> PitestDaemon.secureDirectory(dir)).as("shared").isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void stopAll(@TempDir Path tmp) throws IOException {
+        PitestDaemon.stopAll(tmp.resolve("missing"));
+
+        var stale = Files.createFile(tmp.resolve("0123456789abcdef.sock"));
+        var log = Files.createFile(tmp.resolve("daemon.log"));
+        PitestDaemon.stopAll(tmp);
+        assertThat(stale).doesNotExist();
+        assertThat(log).exists();
+    }
+}
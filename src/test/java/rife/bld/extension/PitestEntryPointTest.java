@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PitestEntryPointTest {
+    @Test
+    void expand(@TempDir Path tmp) throws IOException {
+        var lib = Files.createDirectories(tmp.resolve("lib"));
+        Files.createFile(lib.resolve("b.jar"));
+        Files.createFile(lib.resolve("a.jar"));
+        Files.createFile(lib.resolve("readme.txt"));
+        var classes = tmp.resolve("classes").toFile();
+
+        assertThat(PitestEntryPoint.expand(List.of(new File(lib.toFile(), "*"), classes,
+                new File(tmp.resolve("missing").toFile(), "*"))))
+                .containsExactly(lib.resolve("a.jar").toFile(), lib.resolve("b.jar").toFile(), classes);
+    }
+
+    @Test
+    void isFor(@TempDir Path tmp) throws IOException {
+        var libraries = List.of(tmp.resolve("pitest.jar").toFile());
+        try (var entryPoint = new PitestEntryPoint(libraries)) {
+            assertThat(entryPoint.isFor(List.of(tmp.resolve("pitest.jar").toFile()))).isTrue();
+            assertThat(entryPoint.isFor(List.of())).isFalse();
+        }
+    }
+
+    @Test
+    void runWithoutPitest(@TempDir Path tmp) throws IOException {
+        try (var entryPoint = new PitestEntryPoint(List.of())) {
+            assertThatThrownBy(() -> entryPoint.run(tmp.toFile(), List.of()))
+                    .isInstanceOf(ClassNotFoundException.class);
+        }
+    }
+}
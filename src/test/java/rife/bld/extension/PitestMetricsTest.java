@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PitestMetricsTest {
+    @Test
+    void accept() {
+        var metrics = new PitestMetrics();
+        for (var line : List.of("PIT >> FINE : Sending 3 test classes to minion",
+                "- Timings",
+                "================================================================================",
+                "> pre-scan for mutations : < 1 second",
+                "> scan classpath : 1 seconds",
+                "> coverage and dependency analysis : 2 seconds",
+                "> run mutation analysis : 1 minutes and 5 seconds",
+                "--------------------------------------------------------------------------------",
+                "> Total  : 1 minutes and 8 seconds",
+                ">> Line Coverage (for mutated classes only): 10/12 (83%)")) {
+            metrics.accept(line);
+        }
+        metrics.accept("> run mutation analysis : 5 seconds");
+
+        assertThat(metrics.phases()).containsEntry("pre_scan_for_mutations", 0d)
+                .containsEntry("scan_classpath", 1d)
+                .containsEntry("coverage_and_dependency_analysis", 2d)
+                .containsEntry("run_mutation_analysis", 70d)
+                .hasSize(4);
+        assertThat(metrics.testClasses()).isEqualTo(3);
+    }
+
+    @Test
+    void json() {
+        var values = new LinkedHashMap<String, Object>();
+        values.put("wallSeconds", 1.5d);
+        values.put("phaseSeconds", Map.of("scan_classpath", 1d));
+        values.put("mutants", 10);
+        assertThat(PitestMetrics.json(values)).isEqualTo("""
+                {
+                  "wallSeconds": 1.500,
+                  "phaseSeconds": {"scan_classpath": 1.000},
+                  "mutants": 10
+                }
+                """);
+    }
+
+    @Test
+    void label() {
+        assertThat(PitestMetrics.label(" coverage and dependency analysis "))
+                .isEqualTo("coverage_and_dependency_analysis");
+        assertThat(PitestMetrics.label("pre-scan for mutations")).isEqualTo("pre_scan_for_mutations");
+    }
+
+    @Test
+    void parseSeconds() {
+        assertThat(PitestMetrics.parseSeconds("< 1 second")).isZero();
+        assertThat(PitestMetrics.parseSeconds("3 seconds")).isEqualTo(3);
+        assertThat(PitestMetrics.parseSeconds("2 minutes and 5 seconds")).isEqualTo(125);
+        assertThat(PitestMetrics.parseSeconds("1 hours, 2 minutes and 5 seconds")).isEqualTo(3725);
+        assertThat(PitestMetrics.parseSeconds("soon")).isEqualTo(-1);
+        assertThat(PitestMetrics.parseSeconds("")).isEqualTo(-1);
+    }
+
+    @Test
+    void prometheus() {
+        var values = new LinkedHashMap<String, Object>();
+        values.put("phaseSeconds", Map.of("scan_classpath", 1d));
+        values.put("mutantsPerSecond", 2.25d);
+        assertThat(PitestMetrics.prometheus(values)).isEqualTo("""
+                # TYPE pitest_phase_seconds gauge
+                pitest_phase_seconds{phase="scan_classpath"} 1.000
+                # TYPE pitest_mutants_per_second gauge
+                pitest_mutants_per_second 2.250
+                """);
+    }
+
+    @Test
+    void write(@TempDir Path tempDir) throws IOException {
+        var metrics = new PitestMetrics();
+        metrics.accept("> run mutation analysis : 4 seconds");
+        metrics.write(tempDir, null, 2);
+
+        assertThat(Files.readString(tempDir.resolve(PitestMetrics.JSON_FILE)))
+                .contains("\"threads\": 2", "\"mutants\": 0", "\"run_mutation_analysis\": 4.000");
+        assertThat(Files.readString(tempDir.resolve(PitestMetrics.PROMETHEUS_FILE)))
+                .contains("pitest_threads 2", "pitest_phase_seconds{phase=\"run_mutation_analysis\"} 4.000");
+    }
+}
@@ -18,6 +18,7 @@ package rife.bld.extension;
 
 import org.assertj.core.api.AutoCloseableSoftAssertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import rife.bld.BaseProject;
 import rife.bld.Project;
 import rife.bld.WebProject;
@@ -26,9 +27,19 @@ import rife.bld.operations.exceptions.ExitStatusException;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -39,8 +50,99 @@ import static rife.bld.extension.PitestOperation.TRUE;
 class PitestOperationTest {
     private static final String AS_LIST = "as list";
     private static final String BAR = "bar";
+    private static final String BAR_CLASS = "com.example.Bar";
     private static final String FOO = "foo";
     private static final String FOOBAR = FOO + ',' + BAR;
+    private static final String FOO_CLASS = "com.example.Foo";
+
+    private static void awaitRuns(Path tmp, int runs) throws IOException, InterruptedException {
+        var deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (FakePitest.runs(tmp).size() < runs && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    private static Path classFile(Path tmp, String dir, String className) throws IOException {
+        var file = tmp.resolve("build").resolve(dir).resolve(className.replace('.', '/') + ".class");
+        Files.createDirectories(file.getParent());
+        return file;
+    }
+
+    private static PitestOperation fakeOperation(Path tmp, String javaTool, String... config) throws IOException {
+        Files.createDirectories(tmp.resolve("build/test"));
+        for (var entry : config) {
+            var name = entry.substring(0, entry.indexOf('='));
+            if (name.startsWith("com.")) {
+                Files.writeString(classFile(tmp, "main", name), name);
+            }
+        }
+        Files.write(tmp.resolve(FakePitest.CONFIG), List.of(config));
+
+        var project = new BaseProject() {
+            @Override
+            public File workDirectory() {
+                return tmp.toFile();
+            }
+        };
+        return new PitestOperation()
+                .fromProject(project)
+                .javaTool(javaTool)
+                .workDirectory(tmp.toFile())
+                .argFileThreshold(-1)
+                .reportDir(tmp.resolve("report").toString())
+                .timestampedReports(false)
+                .outputFormats("XML");
+    }
+
+    private static void git(Path dir, String... args) throws IOException, InterruptedException {
+        var command = new ArrayList<String>();
+        command.add("git");
+        command.addAll(List.of(args));
+        var process = new ProcessBuilder(command).directory(dir.toFile()).inheritIO().start();
+        assertThat(process.waitFor()).isZero();
+    }
+
+    @Test
+    void argFile(@TempDir Path tmp) throws IOException {
+        var project = new BaseProject() {
+            @Override
+            public File workDirectory() {
+                return tmp.toFile();
+            }
+        };
+        var op = new PitestOperation()
+                .fromProject(project)
+                .argFileThreshold(0)
+                .classPath("a.jar", "b.jar")
+                .targetClasses("com.example.*");
+
+        var args = op.executeConstructProcessCommandList();
+        assertThat(args).hasSize(2);
+        assertThat(args.get(1)).startsWith("@");
+
+        var argFile = Files.readAllLines(Path.of(args.get(1).substring(1)));
+        assertThat(argFile).startsWith("\"-cp\"")
+                .contains("\"org.pitest.mutationtest.commandline.MutationCoverageReport\"")
+                .contains("\"--classPathFile\"", "\"--targetClasses\"", "\"com.example.*\"")
+                .doesNotContain("\"--classPath\"");
+        var classPathFile = argFile.get(argFile.indexOf("\"--classPathFile\"") + 1);
+        assertThat(Files.readAllLines(Path.of(classPathFile.substring(1, classPathFile.length() - 1))))
+                .containsExactly("a.jar", "b.jar");
+    }
+
+    @Test
+    void argFileThreshold() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .argFileThreshold(1000);
+        assertThat(op.argFileThreshold()).isEqualTo(1000);
+
+        op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .argFileThreshold(-1)
+                .targetClasses(Collections.nCopies(5000, "com.example.Foo"));
+        assertThat(op.executeConstructProcessCommandList()).as("never").contains("--targetClasses");
+    }
 
     @Test
     void argLine() {
@@ -50,6 +152,19 @@ class PitestOperationTest {
         assertThat(op.options().get("--argLine")).isEqualTo(FOO);
     }
 
+    @Test
+    void autoThreads() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .autoThreads(true);
+        assertThat(op.autoThreads()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .autoThreads(false);
+        assertThat(op.autoThreads()).isFalse();
+    }
+
     @Test
     void avoidCallsTo() {
         var op = new PitestOperation()
@@ -63,6 +178,30 @@ class PitestOperationTest {
         assertThat(op.options().get("--avoidCallsTo")).as(AS_LIST).isEqualTo(FOOBAR);
     }
 
+    @Test
+    void calibrateTimeouts() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .calibrateTimeouts(true);
+        assertThat(op.calibrateTimeouts()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .calibrateTimeouts(false);
+        assertThat(op.calibrateTimeouts()).isFalse();
+    }
+
+    @Test
+    void changedSince() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .changedSince(FOO);
+        assertThat(op.changedSince()).isEqualTo(FOO);
+
+        op = op.changedSince(" ");
+        assertThat(op.changedSince()).as("blank").isNull();
+    }
+
     @Test
     void checkAllParameters() throws IOException {
         var args = Files.readAllLines(Paths.get("src", "test", "resources", "pitest-args.txt"));
@@ -137,6 +276,19 @@ class PitestOperationTest {
         }
     }
 
+    @Test
+    void classDataSharing() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .classDataSharing(true);
+        assertThat(op.classDataSharing()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .classDataSharing(false);
+        assertThat(op.classDataSharing()).isFalse();
+    }
+
     @Test
     void classPath() {
         var op = new PitestOperation()
@@ -158,6 +310,17 @@ class PitestOperationTest {
         assertThat(op.options().get("--classPathFile")).isEqualTo(FOO);
     }
 
+    @Test
+    void costModel(@TempDir Path tmp) throws IOException {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject());
+        assertThat(op.costModel().isEmpty()).as("no report dir").isTrue();
+
+        Files.writeString(tmp.resolve(CostModel.FILE_NAME), "class,mutants,millis,runs\ncom.Foo,2,100,1\n");
+        op.reportDir(tmp.toString());
+        assertThat(op.costModel().cost("com.Foo")).isEqualTo(new CostModel.Cost(2, 100, 1));
+    }
+
     @Test
     void coverageThreshold() {
         var op = new PitestOperation()
@@ -171,6 +334,19 @@ class PitestOperationTest {
         assertThat(op.options().get("--coverageThreshold")).isNull();
     }
 
+    @Test
+    void daemon() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .daemon(true);
+        assertThat(op.daemon()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .daemon(false);
+        assertThat(op.daemon()).isFalse();
+    }
+
     @Test
     void detectInlinedCode() {
         var op = new PitestOperation()
@@ -261,6 +437,119 @@ class PitestOperationTest {
         assertThat(tmpDir).isEmptyDirectory();
     }
 
+    @Test
+    void executeAvoidable(@TempDir Path tmp) throws Exception {
+        var javaTool = FakePitest.javaTool(tmp);
+        if (javaTool == null) {
+            return;
+        }
+        var op = fakeOperation(tmp, javaTool, FOO_CLASS + "=KILLED,SURVIVED").skipUnchanged(true);
+        var report = tmp.resolve("report/mutations.xml");
+
+        op.execute();
+        assertThat(FakePitest.runs(tmp)).containsExactly(FOO_CLASS);
+
+        Files.delete(report);
+        op.execute();
+        assertThat(FakePitest.runs(tmp)).as("replayed").hasSize(1);
+        assertThat(report).as("restored").exists();
+        assertThat(op.result().total()).isEqualTo(2);
+
+        Files.writeString(classFile(tmp, "main", FOO_CLASS), "changed");
+        op.execute();
+        assertThat(FakePitest.runs(tmp)).as("class changed").hasSize(2);
+
+        op.mutationThreshold(100);
+        assertThatCode(op::execute).isInstanceOf(ExitStatusException.class);
+        assertThatCode(op::execute).as("failure replayed").isInstanceOf(ExitStatusException.class);
+        assertThat(FakePitest.runs(tmp)).hasSize(3);
+
+        op.mutationThreshold(0).shards(2);
+        op.execute();
+        assertThat(FakePitest.runs(tmp)).as("setting changed").hasSize(4);
+
+        Files.writeString(tmp.resolve(FakePitest.CONFIG), FOO_CLASS + "=KILLED\nexit=3\n");
+        Files.writeString(classFile(tmp, "main", FOO_CLASS), "crashed");
+        assertThatCode(op::execute).isInstanceOf(ExitStatusException.class);
+        assertThatCode(op::execute).as("crash not replayed").isInstanceOf(ExitStatusException.class);
+        assertThat(FakePitest.runs(tmp)).hasSize(6);
+    }
+
+    @Test
+    void executeAvoidableSettings(@TempDir Path tmp) throws Exception {
+        var javaTool = FakePitest.javaTool(tmp);
+        if (javaTool == null) {
+            return;
+        }
+        FakePitest.entryPointJar(tmp.resolve("lib/test/fake-pitest.jar"));
+        var op = fakeOperation(tmp, javaTool, FOO_CLASS + "=KILLED,SURVIVED", "statistics=100,50,1")
+                .skipUnchanged(true);
+        op.execute();
+
+        var settings = new LinkedHashMap<String, Consumer<PitestOperation>>();
+        settings.put("argFileThreshold", o -> o.argFileThreshold(1));
+        settings.put("autoThreads", o -> o.autoThreads(true));
+        settings.put("calibrateTimeouts", o -> o.calibrateTimeouts(true));
+        settings.put("expandTargetClasses", o -> o.expandTargetClasses(true));
+        settings.put("failFast", o -> o.failFast(true));
+        settings.put("incremental", o -> o.incremental(true));
+        settings.put("reverify", o -> o.reverify(true));
+        settings.put("shardBatches", o -> o.shardBatches(2));
+        settings.put("resultCache", o -> o.resultCache(tmp.resolve("cache")));
+        // all the classes are cached, which would skip PIT
+        settings.put("no resultCache", o -> o.resultCache(""));
+        settings.put("inProcess", o -> o.inProcess(true));
+        // falls back to in-process, as the fake Java tool cannot start the daemon
+        settings.put("daemon", o -> o.daemon(true));
+        var runs = 1;
+        for (Map.Entry<String, Consumer<PitestOperation>> setting : settings.entrySet()) {
+            setting.getValue().accept(op);
+            op.execute();
+            assertThat(FakePitest.runs(tmp)).as(setting.getKey()).hasSize(++runs);
+        }
+
+        op.execute();
+        assertThat(FakePitest.runs(tmp)).as("replayed").hasSize(runs).endsWith(FakePitest.ENTRY_POINT);
+    }
+
+    @Test
+    void executeBudgeted(@TempDir Path tmp) throws Exception {
+        var javaTool = FakePitest.javaTool(tmp);
+        if (javaTool == null) {
+            return;
+        }
+        var op = fakeOperation(tmp, javaTool, BAR_CLASS + "=KILLED", FOO_CLASS + "=KILLED,SURVIVED")
+                .timeBudget(Duration.ofMinutes(10))
+                .shardBatches(2);
+        Files.createDirectories(tmp.resolve("report"));
+        Files.write(tmp.resolve("report").resolve(CostModel.FILE_NAME), List.of(
+                BAR_CLASS + ",1," + Duration.ofHours(1).toMillis() + ",1",
+                FOO_CLASS + ",2,1000,1"));
+
+        op.execute();
+        assertThat(FakePitest.runs(tmp)).as("over budget").containsExactly(FOO_CLASS);
+        assertThat(op.result().partial()).isTrue();
+        assertThat(op.result().total()).isEqualTo(2);
+        assertThat(Files.readString(tmp.resolve("report/mutations.xml"))).contains("partial=\"true\"");
+    }
+
+    @Test
+    void executeCached(@TempDir Path tmp) throws Exception {
+        var javaTool = FakePitest.javaTool(tmp);
+        if (javaTool == null) {
+            return;
+        }
+        var op = fakeOperation(tmp, javaTool, FOO_CLASS + "=KILLED,SURVIVED").resultCache(tmp.resolve("cache"));
+
+        op.execute();
+        op.mutationThreshold(10).maxSurviving(5).coverageThreshold(10).timeoutConst(5000).timeoutFactor(2).execute();
+        assertThat(FakePitest.runs(tmp)).as("thresholds and timeouts").hasSize(1);
+        assertThat(op.result().total()).isEqualTo(2);
+
+        op.mutators("ALL").execute();
+        assertThat(FakePitest.runs(tmp)).as("mutators").hasSize(2);
+    }
+
     @Test
     void executeConstructProcessCommandList() {
         var op = new PitestOperation().
@@ -295,12 +584,259 @@ class PitestOperationTest {
                         "--sourceDirs c:\\myProject\\src");
     }
 
+    @Test
+    void executeFailFast(@TempDir Path tmp) throws Exception {
+        var javaTool = FakePitest.javaTool(tmp);
+        if (javaTool == null) {
+            return;
+        }
+        var op = fakeOperation(tmp, javaTool, BAR_CLASS + "=SURVIVED", FOO_CLASS + "=SURVIVED")
+                .timeBudget(Duration.ofHours(1))
+                .shardBatches(2)
+                .failFast(true)
+                .maxSurviving(0);
+
+        assertThatCode(op::execute).isInstanceOf(ExitStatusException.class);
+        assertThat(FakePitest.runs(tmp)).as("cancelled").hasSize(1);
+    }
+
+    @Test
+    void executeIncremental(@TempDir Path tmp) throws Exception {
+        var javaTool = FakePitest.javaTool(tmp);
+        if (javaTool == null) {
+            return;
+        }
+        var op = fakeOperation(tmp, javaTool, BAR_CLASS + "=KILLED", FOO_CLASS + "=SURVIVED")
+                .incremental(true)
+                .resultCache(tmp.resolve("cache"));
+        var historyDir = tmp.resolve("build/pitest/history");
+
+        op.execute();
+        List<Path> history;
+        try (var files = Files.walk(historyDir)) {
+            history = files.filter(f -> f.toString().endsWith(".history")).toList();
+        }
+        assertThat(history).hasSize(1);
+        assertThat(Files.readAllLines(history.get(0))).containsExactly(BAR_CLASS, FOO_CLASS);
+
+        op.execute();
+        assertThat(FakePitest.runs(tmp)).as("cached").hasSize(1);
+        assertThat(history.get(0)).as("same settings").exists();
+
+        Files.writeString(classFile(tmp, "main", BAR_CLASS), "changed");
+        op.execute();
+        assertThat(FakePitest.runs(tmp)).containsExactly(BAR_CLASS + ',' + FOO_CLASS, BAR_CLASS);
+        assertThat(Files.readAllLines(history.get(0))).as("narrowed run").containsExactly(BAR_CLASS, FOO_CLASS);
+
+        op.resultCache("").reportDir(tmp.resolve("other").toString()).execute();
+        assertThat(history.get(0)).as("other operation").exists();
+        try (var dirs = Files.list(historyDir)) {
+            assertThat(dirs.toList()).hasSize(2);
+        }
+    }
+
+    @Test
+    void executeInProcess(@TempDir Path tmp) throws Exception {
+        FakePitest.entryPointJar(tmp.resolve("lib/test/fake-pitest.jar"));
+        var op = fakeOperation(tmp, "java", "statistics=80,50,3").inProcess(true);
+
+        assertThatCode(op::execute).doesNotThrowAnyException();
+        assertThatCode(op.mutationThreshold(50)::execute).doesNotThrowAnyException();
+        assertThatCode(op.mutationThreshold(51)::execute).as("mutation threshold")
+                .isInstanceOf(ExitStatusException.class);
+        assertThatCode(op.mutationThreshold(0).maxSurviving(3)::execute).doesNotThrowAnyException();
+        assertThatCode(op.maxSurviving(2)::execute).as("max surviving").isInstanceOf(ExitStatusException.class);
+        assertThatCode(op.maxSurviving(3).coverageThreshold(80)::execute).doesNotThrowAnyException();
+        assertThatCode(op.coverageThreshold(81)::execute).as("coverage threshold")
+                .isInstanceOf(ExitStatusException.class);
+    }
+
     @Test
     void executeNoProject() {
         var op = new PitestOperation();
         assertThatCode(op::execute).isInstanceOf(ExitStatusException.class);
     }
 
+    @Test
+    void executeReverified(@TempDir Path tmp) throws Exception {
+        var javaTool = FakePitest.javaTool(tmp);
+        if (javaTool == null) {
+            return;
+        }
+        var op = fakeOperation(tmp, javaTool, BAR_CLASS + "=KILLED", FOO_CLASS + "=TIMED_OUT,MEMORY_ERROR,KILLED",
+                "reverify." + FOO_CLASS + "=SURVIVED,KILLED,KILLED")
+                .threads(4)
+                .reverify(true);
+
+        op.execute();
+        assertThat(FakePitest.runs(tmp)).containsExactly(BAR_CLASS + ',' + FOO_CLASS, FOO_CLASS);
+        assertThat(op.result().survived()).isEqualTo(1);
+        assertThat(op.result().totals().statuses())
+                .doesNotContainKeys(PitestResult.TIMED_OUT, PitestResult.MEMORY_ERROR);
+        assertThat(tmp.resolve("report/reverify")).doesNotExist();
+        try (var dirs = Files.list(tmp.resolve("build/pitest/reverify"))) {
+            assertThat(dirs.toList()).as("deleted").isEmpty();
+        }
+
+        op.maxSurviving(0);
+        assertThatCode(op::execute).as("corrected").isInstanceOf(ExitStatusException.class);
+    }
+
+    @Test
+    void executeReverifiedCalibrated(@TempDir Path tmp) throws Exception {
+        var javaTool = FakePitest.javaTool(tmp);
+        if (javaTool == null) {
+            return;
+        }
+        var op = fakeOperation(tmp, javaTool, BAR_CLASS + "=KILLED", FOO_CLASS + "=TIMED_OUT,KILLED",
+                "reverify." + FOO_CLASS + "=KILLED,KILLED", "logged=--timeoutConst,--timeoutFactor")
+                .threads(4)
+                .reverify(true)
+                .calibrateTimeouts(true);
+        Files.createDirectories(tmp.resolve("report"));
+        Files.write(tmp.resolve("report").resolve(TimeoutCalibration.FILE_NAME),
+                List.of("timeoutConst=1500", "timeoutFactor=1.5"));
+
+        op.execute();
+        var timeouts = " --timeoutConst=1500 --timeoutFactor=1.5";
+        assertThat(FakePitest.runs(tmp)).as("calibrated").containsExactly(BAR_CLASS + ',' + FOO_CLASS + timeouts,
+                FOO_CLASS + timeouts);
+        assertThat(op.result().totals().statuses()).doesNotContainKeys(PitestResult.TIMED_OUT);
+    }
+
+    @Test
+    void executeShards(@TempDir Path tmp) throws Exception {
+        var javaTool = FakePitest.javaTool(tmp);
+        if (javaTool == null) {
+            return;
+        }
+        var op = fakeOperation(tmp, javaTool, BAR_CLASS + "=KILLED,SURVIVED", FOO_CLASS + "=KILLED")
+                .shards(2)
+                .outputFormats("XML", "CSV", "HTML");
+
+        op.execute();
+        assertThat(FakePitest.runs(tmp)).containsExactlyInAnyOrder(BAR_CLASS, FOO_CLASS);
+        assertThat(op.result().total()).isEqualTo(3);
+        assertThat(op.result().partial()).isFalse();
+        assertThat(Files.readAllLines(tmp.resolve("report/mutations.csv"))).hasSize(3);
+        assertThat(tmp.resolve("report/index.html")).exists();
+        assertThat(tmp.resolve("report/batches")).isDirectory();
+    }
+
+    @Test
+    void executeShardsThresholds(@TempDir Path tmp) throws Exception {
+        var javaTool = FakePitest.javaTool(tmp);
+        if (javaTool == null) {
+            return;
+        }
+        var op = fakeOperation(tmp, javaTool, BAR_CLASS + "=KILLED,SURVIVED,SURVIVED",
+                FOO_CLASS + "=KILLED,KILLED,KILLED")
+                .shards(2)
+                .mutationThreshold(60);
+
+        assertThatCode(op::execute).as("merged score of 67").doesNotThrowAnyException();
+        assertThat(FakePitest.runs(tmp)).hasSize(2);
+
+        op.mutationThreshold(70);
+        assertThatCode(op::execute).isInstanceOf(ExitStatusException.class);
+
+        op.mutationThreshold(0).maxSurviving(1);
+        assertThatCode(op::execute).isInstanceOf(ExitStatusException.class);
+
+        op.maxSurviving(2);
+        Files.writeString(tmp.resolve(FakePitest.CONFIG), "exit=3\n", StandardOpenOption.APPEND);
+        assertThatCode(op::execute).isInstanceOfSatisfying(ExitStatusException.class,
+                e -> assertThat(e.getExitStatus()).isEqualTo(3));
+    }
+
+    @Test
+    void executeWatched(@TempDir Path tmp) throws Exception {
+        var javaTool = FakePitest.javaTool(tmp);
+        if (javaTool == null) {
+            return;
+        }
+        var op = fakeOperation(tmp, javaTool, BAR_CLASS + "=KILLED", FOO_CLASS + "=KILLED",
+                "test." + BAR_CLASS + "=com.example.BarSpec.bar(com.example.BarSpec)")
+                .watch(true);
+        Files.createDirectories(tmp.resolve("build/test/com/example"));
+
+        var watching = new Thread(() -> {
+            try {
+                op.execute();
+            } catch (InterruptedException e) {
+                // stopped watching
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        watching.start();
+        try {
+            awaitRuns(tmp, 1);
+            Files.writeString(classFile(tmp, "test", "com.example.FooTest"), "by convention");
+            awaitRuns(tmp, 2);
+            Files.writeString(classFile(tmp, "test", "com.example.BarSpec"), "from the report");
+            awaitRuns(tmp, 3);
+            Files.writeString(classFile(tmp, "test", "com.example.Helper"), "not a test");
+            Files.writeString(classFile(tmp, "main", FOO_CLASS), "changed");
+            awaitRuns(tmp, 4);
+        } finally {
+            watching.interrupt();
+            watching.join(30_000);
+        }
+        assertThat(FakePitest.runs(tmp)).containsExactly(BAR_CLASS + ',' + FOO_CLASS, FOO_CLASS, BAR_CLASS,
+                FOO_CLASS);
+    }
+
+    @Test
+    void executeWatchedOverflow(@TempDir Path tmp) throws Exception {
+        var javaTool = FakePitest.javaTool(tmp);
+        if (javaTool == null) {
+            return;
+        }
+        var op = fakeOperation(tmp, javaTool, BAR_CLASS + "=KILLED", FOO_CLASS + "=KILLED", "generate=1000")
+                .changedSince("HEAD")
+                .watch(true);
+        var sources = Files.createDirectories(tmp.resolve("src/main/java/com/example"));
+        Files.writeString(sources.resolve("Bar.java"), "class Bar {}");
+        Files.writeString(sources.resolve("Foo.java"), "class Foo {}");
+        git(tmp, "init", "-q");
+        git(tmp, "add", "src");
+        git(tmp, "-c", "user.name=test", "-c", "user.email=test@example.com", "commit", "-q", "-m", "sources");
+        Files.writeString(sources.resolve("Foo.java"), "class Foo { }");
+
+        var watching = new Thread(() -> {
+            try {
+                op.execute();
+            } catch (InterruptedException e) {
+                // stopped watching
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        watching.start();
+        try {
+            // the classes generated by the first run are too many to track
+            awaitRuns(tmp, 2);
+        } finally {
+            watching.interrupt();
+            watching.join(30_000);
+        }
+        assertThat(FakePitest.runs(tmp)).as("changed since").containsExactly(FOO_CLASS, FOO_CLASS);
+    }
+
+    @Test
+    void expandTargetClasses() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .expandTargetClasses(true);
+        assertThat(op.expandTargetClasses()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .expandTargetClasses(false);
+        assertThat(op.expandTargetClasses()).isFalse();
+    }
+
     @Test
     void exportLineCoverage() {
         var op = new PitestOperation()
@@ -314,6 +850,19 @@ class PitestOperationTest {
         assertThat(op.options().get("--exportLineCoverage")).isEqualTo(FALSE);
     }
 
+    @Test
+    void failFast() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .failFast(true);
+        assertThat(op.failFast()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .failFast(false);
+        assertThat(op.failFast()).isFalse();
+    }
+
     @Test
     void failWhenNoMutations() {
         var op = new PitestOperation()
@@ -364,6 +913,19 @@ class PitestOperationTest {
         assertThat(op.options().get("--historyOutputLocation")).isEqualTo(FOO);
     }
 
+    @Test
+    void inProcess() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .inProcess(true);
+        assertThat(op.inProcess()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .inProcess(false);
+        assertThat(op.inProcess()).isFalse();
+    }
+
     @Test
     void includeLaunchClasspath() {
         var op = new PitestOperation()
@@ -398,6 +960,19 @@ class PitestOperationTest {
         assertThat(op.options().get("--includedTestMethods")).isEqualTo(FOO);
     }
 
+    @Test
+    void incremental() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .incremental(true);
+        assertThat(op.incremental()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .incremental(false);
+        assertThat(op.incremental()).isFalse();
+    }
+
     @Test
     void inputEncoding() {
         var op = new PitestOperation()
@@ -427,6 +1002,25 @@ class PitestOperationTest {
         assertThat(op.options().get("--jvmPath")).isEqualTo(FOO);
     }
 
+    @Test
+    void logFile() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .logFile(FOO);
+        assertThat(op.logFile()).isEqualTo(Path.of(FOO));
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .logFile(new File(FOO));
+        assertThat(op.logFile()).isEqualTo(Path.of(new File(FOO).getAbsolutePath()));
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .logFile(Path.of(FOO))
+                .logFile("");
+        assertThat(op.logFile()).as("blank").isNull();
+    }
+
     @Test
     void maxMutationsPerClass() {
         var op = new PitestOperation()
@@ -443,6 +1037,43 @@ class PitestOperationTest {
         assertThat(op.options().get("--maxSurviving")).isEqualTo("1");
     }
 
+    @Test
+    void metrics() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .metrics(true);
+        assertThat(op.metrics()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .metrics(false);
+        assertThat(op.metrics()).isFalse();
+    }
+
+    @Test
+    void minionProfile() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .minionProfile(MinionProfile.SHORT_LIVED);
+        assertThat(op.minionProfile()).isEqualTo(MinionProfile.SHORT_LIVED);
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .minionProfile(null);
+        assertThat(op.minionProfile()).isNull();
+    }
+
+    @Test
+    void minionProfileJvmArgs() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .minionProfile(MinionProfile.THROUGHPUT)
+                .jvmArgs("-Xmx4g", "-Dfoo=bar");
+        var args = op.executeConstructProcessCommandList();
+        assertThat(args.get(args.indexOf("--jvmArgs") + 1)).isEqualTo("-XX:+UseParallelGC,-Xmx4g,-Dfoo=bar");
+        assertThat(op.options().get("--jvmArgs")).isEqualTo("-Xmx4g,-Dfoo=bar");
+    }
+
     @Test
     void mutableCodePaths() {
         var op = new PitestOperation()
@@ -527,6 +1158,19 @@ class PitestOperationTest {
         assertThat(op.options().get("--pluginConfiguration")).isEqualTo(FOO + "=" + BAR);
     }
 
+    @Test
+    void progress() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .progress(true);
+        assertThat(op.progress()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .progress(false);
+        assertThat(op.progress()).isFalse();
+    }
+
     @Test
     void projectBase() {
         var op = new PitestOperation()
@@ -543,6 +1187,93 @@ class PitestOperationTest {
         assertThat(op.options().get("--reportDir")).isEqualTo(FOO);
     }
 
+    @Test
+    void resultCache() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .resultCache(FOO);
+        assertThat(op.resultCache()).isEqualTo(Path.of(FOO));
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .resultCache(new File(FOO));
+        assertThat(op.resultCache()).isEqualTo(Path.of(new File(FOO).getAbsolutePath()));
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .resultCache(Path.of(FOO))
+                .resultCache("");
+        assertThat(op.resultCache()).as("blank").isNull();
+    }
+
+    @Test
+    void resultNotExecuted() {
+        var op = new PitestOperation().fromProject(new BaseProject());
+        assertThat(op.result()).isNull();
+    }
+
+    @Test
+    void reverify() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .reverify(true);
+        assertThat(op.reverify()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .reverify(false);
+        assertThat(op.reverify()).isFalse();
+    }
+
+    @Test
+    void shardBatches() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .shards(2)
+                .shardBatches(8);
+        assertThat(op.shardBatches()).isEqualTo(8);
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .shardBatches(-1);
+        assertThat(op.shardBatches()).as("minimum").isZero();
+    }
+
+    @Test
+    void shards() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .shards(4);
+        assertThat(op.shards()).isEqualTo(4);
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .shards(0);
+        assertThat(op.shards()).as("minimum").isEqualTo(1);
+    }
+
+    @Test
+    void shardsNoReportDir() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .targetClasses("com.example.*")
+                .shards(2);
+        assertThatCode(op::execute).isInstanceOf(ExitStatusException.class);
+    }
+
+    @Test
+    void skipUnchanged() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .skipUnchanged(true);
+        assertThat(op.skipUnchanged()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .skipUnchanged(false);
+        assertThat(op.skipUnchanged()).isFalse();
+    }
+
     @Test
     void skipFailingTests() {
         var op = new PitestOperation()
@@ -780,6 +1511,25 @@ class PitestOperationTest {
         assertThat(op.options().get("--threads")).isEqualTo("3");
     }
 
+    @Test
+    void timeBudget() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .timeBudget(Duration.ofMinutes(15));
+        assertThat(op.timeBudget()).isEqualTo(Duration.ofMinutes(15));
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .timeBudget(Duration.ofMinutes(15))
+                .timeBudget(Duration.ZERO);
+        assertThat(op.timeBudget()).as("zero").isNull();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .timeBudget(null);
+        assertThat(op.timeBudget()).as("null").isNull();
+    }
+
     @Test
     void timeoutConst() {
         var op = new PitestOperation()
@@ -809,6 +1559,33 @@ class PitestOperationTest {
         assertThat(op.options().get("--timestampedReports")).isEqualTo(FALSE);
     }
 
+    @Test
+    void useClasspathJarLauncher(@TempDir Path tmp) throws IOException {
+        var project = new BaseProject() {
+            @Override
+            public File workDirectory() {
+                return tmp.toFile();
+            }
+        };
+        Files.createDirectories(project.libTestDirectory().toPath());
+        try (var out = new JarOutputStream(Files.newOutputStream(
+                project.libTestDirectory().toPath().resolve("foo-1.0.jar")))) {
+            out.flush();
+        }
+
+        var op = new PitestOperation()
+                .fromProject(project)
+                .useClasspathJar(true);
+        var args = op.executeConstructProcessCommandList();
+        assertThat(args.get(1)).isEqualTo("-cp");
+        assertThat(args.get(2)).endsWith(".jar").doesNotContain(File.pathSeparator);
+
+        try (var jar = new JarFile(args.get(2))) {
+            assertThat(jar.getManifest().getMainAttributes().getValue("Class-Path"))
+                    .contains("foo-1.0.jar").contains("build/main");
+        }
+    }
+
     @Test
     void useClasspathJar() {
         var op = new PitestOperation()
@@ -842,4 +1619,17 @@ class PitestOperationTest {
                 .verbosity(FOO);
         assertThat(op.options().get("--verbosity")).isEqualTo(FOO);
     }
+
+    @Test
+    void watch() {
+        var op = new PitestOperation()
+                .fromProject(new BaseProject())
+                .watch(true);
+        assertThat(op.watch()).isTrue();
+
+        op = new PitestOperation()
+                .fromProject(new Project())
+                .watch(false);
+        assertThat(op.watch()).isFalse();
+    }
 }
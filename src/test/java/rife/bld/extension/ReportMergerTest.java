@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportMergerTest {
+    @Test
+    void copyHtml(@TempDir Path tmp) throws IOException {
+        var shard1 = Files.createDirectories(tmp.resolve("shard-1").resolve("com.foo"));
+        Files.writeString(shard1.resolveSibling("index.html"), "<html></html>");
+        Files.writeString(shard1.resolve("Foo.java.html"), "<html></html>");
+        var shard2 = Files.createDirectories(tmp.resolve("shard-2"));
+        var reportDir = tmp.resolve("report");
+        Files.createDirectories(reportDir.resolve("batches").resolve("shard-3"));
+
+        assertThat(ReportMerger.copyHtml(List.of(shard1.getParent(), shard2), reportDir)).isTrue();
+
+        assertThat(reportDir.resolve("batches/shard-1/com.foo/Foo.java.html")).exists();
+        assertThat(reportDir.resolve("batches/shard-2")).as("no HTML report").doesNotExist();
+        assertThat(reportDir.resolve("batches/shard-3")).as("previous run").doesNotExist();
+        assertThat(Files.readString(reportDir.resolve("index.html")))
+                .contains("<a href=\"batches/shard-1/index.html\">shard-1</a>").doesNotContain("shard-2");
+    }
+
+    @Test
+    void copyHtmlWithoutHtml(@TempDir Path tmp) throws IOException {
+        var reportDir = tmp.resolve("report");
+        assertThat(ReportMerger.copyHtml(List.of(Files.createDirectories(tmp.resolve("shard-1"))), reportDir))
+                .isFalse();
+        assertThat(reportDir.resolve("index.html")).doesNotExist();
+    }
+
+    @Test
+    void correctCsv(@TempDir Path tmp) throws IOException {
+        var report = Files.writeString(tmp.resolve("mutations.csv"), "Foo.java,com.Foo,M,foo,1,TIMED_OUT,none\n"
+                + "Foo.java,com.Foo,M,foo,2,MEMORY_ERROR,none\nFoo.java,com.Foo,M,foo,3,KILLED,T\n");
+        var corrections = Files.writeString(tmp.resolve("corrections.csv"), "Foo.java,com.Foo,M,foo,1,SURVIVED,none\n"
+                + "Foo.java,com.Foo,M,foo,2,MEMORY_ERROR,none\nFoo.java,com.Foo,M,foo,3,SURVIVED,none\n");
+
+        assertThat(ReportMerger.correctCsv(report, corrections, Set.of("TIMED_OUT", "MEMORY_ERROR"))).isEqualTo(1);
+        assertThat(Files.readAllLines(report)).containsExactly("Foo.java,com.Foo,M,foo,1,SURVIVED,none",
+                "Foo.java,com.Foo,M,foo,2,MEMORY_ERROR,none", "Foo.java,com.Foo,M,foo,3,KILLED,T");
+    }
+
+    @Test
+    void correctXml(@TempDir Path tmp) throws IOException {
+        var report = new MutationsXml().mutation("com.Foo", "TIMED_OUT").mutation("com.Bar", "TIMED_OUT")
+                .mutation("com.Baz", "KILLED").write(tmp.resolve("mutations.xml"));
+        var corrections = new MutationsXml().mutation("com.Foo", "SURVIVED").mutation("com.Baz", "SURVIVED")
+                .write(tmp.resolve("corrections.xml"));
+
+        assertThat(ReportMerger.correctXml(report, corrections, Set.of("TIMED_OUT"))).isEqualTo(1);
+        var result = MutationReportParser.parse(tmp);
+        assertThat(result.classes().get("com.Foo").count("SURVIVED")).isEqualTo(1);
+        assertThat(result.classes().get("com.Bar").count("TIMED_OUT")).as("not re-verified").isEqualTo(1);
+        assertThat(result.classes().get("com.Baz").count("KILLED")).as("not suspect").isEqualTo(1);
+    }
+
+    @Test
+    void mergeCsv(@TempDir Path tmp) throws IOException {
+        var a = Files.writeString(tmp.resolve("a.csv"), "Foo.java,com.Foo,M,foo,1,KILLED,T\n");
+        var b = Files.writeString(tmp.resolve("b.csv"), "Bar.java,com.Bar,M,bar,2,SURVIVED,none\n");
+        var out = tmp.resolve("out").resolve("mutations.csv");
+
+        ReportMerger.mergeCsv(List.of(a, tmp.resolve("missing.csv"), b), out);
+
+        assertThat(Files.readAllLines(out)).containsExactly("Foo.java,com.Foo,M,foo,1,KILLED,T",
+                "Bar.java,com.Bar,M,bar,2,SURVIVED,none");
+    }
+
+    @Test
+    void mergeXml(@TempDir Path tmp) throws IOException {
+        var a = new MutationsXml().mutation("com.Foo", "KILLED").write(tmp.resolve("a.xml"));
+        var b = new MutationsXml().partial(true).mutation("com.Bar", "SURVIVED").mutation("com.Bar", "NO_COVERAGE")
+                .write(tmp.resolve("b.xml"));
+        var out = tmp.resolve("mutations.xml");
+
+        ReportMerger.mergeXml(List.of(a, b, tmp.resolve("missing.xml")), out, false);
+
+        var merged = Files.readString(out);
+        assertThat(merged).contains("partial=\"true\"").contains("com.Foo").contains("NO_COVERAGE");
+        assertThat(merged.split("<mutation ", -1)).hasSize(4);
+    }
+
+    @Test
+    void mergeXmlEmpty(@TempDir Path tmp) throws IOException {
+        var out = tmp.resolve("mutations.xml");
+        ReportMerger.mergeXml(List.of(), out, false);
+        assertThat(Files.readString(out)).contains("<mutations partial=\"false\">").doesNotContain("<mutation ");
+    }
+}
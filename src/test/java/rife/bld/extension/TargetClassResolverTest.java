@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TargetClassResolverTest {
+    private static void createClass(Path root, String name, int size) throws IOException {
+        var file = root.resolve(name.replace('.', '/') + ".class");
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[size]);
+    }
+
+    @Test
+    void globToPattern() {
+        assertThat(TargetClassResolver.globToPattern("com.example.*").matcher("com.example.Foo").matches()).isTrue();
+        assertThat(TargetClassResolver.globToPattern("com.example.*").matcher("com.exampleFoo").matches())
+                .as("dot is literal").isFalse();
+        assertThat(TargetClassResolver.globToPattern("com.example.Fo?").matcher("com.example.Foo").matches())
+                .as("question mark").isTrue();
+        assertThat(TargetClassResolver.globToPattern("com.Foo$*").matcher("com.Foo$1").matches())
+                .as("dollar is literal").isTrue();
+    }
+
+    @Test
+    void partition() {
+        var batches = TargetClassResolver.partition(Map.of("a", 10L, "b", 7L, "c", 2L, "d", 1L), 2);
+        assertThat(batches).containsExactly(List.of("a"), List.of("b", "c", "d"));
+
+        batches = TargetClassResolver.partition(Map.of("a", 1L), 4);
+        assertThat(batches).as("more batches than classes").containsExactly(List.of("a"));
+    }
+
+    @Test
+    void queue() {
+        var batches = TargetClassResolver.queue(Map.of("a", 1L, "b", 9L, "c", 4L, "d", 2L, "e", 3L), 4);
+        assertThat(batches).containsExactly(List.of("b"), List.of("c"), List.of("e"), List.of("a", "d"));
+    }
+
+    @Test
+    void resolve(@TempDir Path tmp) throws IOException {
+        createClass(tmp, "com.example.Foo", 10);
+        createClass(tmp, "com.example.Foo$Inner", 5);
+        createClass(tmp, "com.example.Bar", 3);
+        createClass(tmp, "com.example.internal.Baz", 1);
+        createClass(tmp, "com.example.package-info", 1);
+
+        var classes = TargetClassResolver.resolve(List.of(tmp.toFile()), List.of("com.example.*"),
+                List.of("*.internal.*"));
+        assertThat(classes).containsExactly(Map.entry("com.example.Bar", 3L), Map.entry("com.example.Foo", 15L));
+
+        classes = TargetClassResolver.resolve(List.of(tmp.toFile()), List.of(), List.of());
+        assertThat(classes).as("no globs").hasSize(3);
+    }
+
+    @Test
+    void resolveRoots(@TempDir Path tmp) throws IOException {
+        var main = tmp.resolve("main");
+        var other = tmp.resolve("other");
+        for (var i = 0; i < 50; i++) {
+            createClass(main, "com.example.p" + (i % 5) + ".sub.Class" + i, 2);
+        }
+        createClass(other, "com.example.Other", 4);
+
+        var classes = TargetClassResolver.resolve(List.of(main.toFile(), other.toFile(),
+                tmp.resolve("missing").toFile()), List.of("com.example.*"), List.of());
+        assertThat(classes).hasSize(51).containsEntry("com.example.Other", 4L)
+                .containsEntry("com.example.p3.sub.Class13", 2L);
+    }
+
+    @Test
+    void targetGlobs() {
+        assertThat(TargetClassResolver.targetGlobs(List.of("com.Foo"))).containsExactly("com.Foo", "com.Foo$*");
+        assertThat(TargetClassResolver.targetGlobs(List.of("com.a.Baz", "com.a.Bar", "Main")))
+                .as("no package glob").containsExactly("Main", "Main$*", "com.a.Bar", "com.a.Bar$*", "com.a.Baz",
+                        "com.a.Baz$*");
+        assertThat(TargetClassResolver.targetGlobs(List.of())).isEmpty();
+    }
+
+    @Test
+    void topLevelName() {
+        assertThat(TargetClassResolver.topLevelName("com.Foo$Bar$1")).isEqualTo("com.Foo");
+        assertThat(TargetClassResolver.topLevelName("com.Foo")).isEqualTo("com.Foo");
+    }
+}
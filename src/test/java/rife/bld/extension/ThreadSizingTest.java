@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadSizingTest {
+    private static final long GB = 1024L * 1024 * 1024;
+    private static final long MB = 1024L * 1024;
+
+    @Test
+    void availableMemory(@TempDir Path tmp) throws IOException {
+        var meminfo = tmp.resolve("meminfo");
+        Files.writeString(meminfo, "MemTotal:       16384000 kB\nMemAvailable:    8192000 kB\n");
+        assertThat(ThreadSizing.availableMemory(List.of(tmp), meminfo)).isEqualTo(8192000L * 1024);
+
+        Files.writeString(tmp.resolve("memory.max"), String.valueOf(2 * GB));
+        assertThat(ThreadSizing.availableMemory(List.of(tmp), meminfo)).as("cgroup limit").isEqualTo(2 * GB);
+
+        Files.writeString(tmp.resolve("memory.current"), String.valueOf(GB));
+        Files.writeString(tmp.resolve("memory.stat"), "anon 1024\ninactive_file " + 256 * MB + "\n");
+        assertThat(ThreadSizing.availableMemory(List.of(tmp), meminfo)).as("cgroup usage").isEqualTo(1280 * MB);
+
+        var child = Files.createDirectories(tmp.resolve("child"));
+        Files.writeString(child.resolve("memory.max"), "max\n");
+        assertThat(ThreadSizing.availableMemory(List.of(child, tmp), meminfo)).as("parent limit")
+                .isEqualTo(1280 * MB);
+    }
+
+    @Test
+    void cgroupDirs(@TempDir Path tmp) throws IOException {
+        Files.createDirectories(tmp.resolve("cpu,cpuacct").resolve("docker/abc"));
+        Files.createDirectories(tmp.resolve("memory"));
+
+        assertThat(ThreadSizing.cgroupDirs(tmp, List.of("0::/user.slice/app"))).as("v2")
+                .containsExactly(tmp.resolve("user.slice/app"), tmp.resolve("user.slice"), tmp);
+        assertThat(ThreadSizing.cgroupDirs(tmp, List.of("0::/"))).as("v2 namespace").containsExactly(tmp);
+        assertThat(ThreadSizing.cgroupDirs(tmp, List.of("4:cpu,cpuacct:/docker/abc", "9:memory:/docker/abc",
+                "1:name=systemd:/docker/abc"))).as("v1").containsExactly(
+                tmp.resolve("cpu,cpuacct/docker/abc"), tmp.resolve("cpu,cpuacct/docker"), tmp.resolve("cpu,cpuacct"),
+                tmp.resolve("memory/docker/abc"), tmp.resolve("memory/docker"), tmp.resolve("memory"), tmp);
+    }
+
+    @Test
+    void cpuQuotaV1(@TempDir Path tmp) throws IOException {
+        var cpu = Files.createDirectories(tmp.resolve("cpu,cpuacct"));
+        Files.writeString(cpu.resolve("cpu.cfs_quota_us"), "-1\n");
+        Files.writeString(cpu.resolve("cpu.cfs_period_us"), "100000\n");
+        assertThat(ThreadSizing.cpuQuota(List.of(cpu))).as("unlimited").isEqualTo(-1);
+
+        Files.writeString(cpu.resolve("cpu.cfs_quota_us"), "400000\n");
+        assertThat(ThreadSizing.cpuQuota(List.of(cpu))).isEqualTo(4);
+    }
+
+    @Test
+    void cpuQuotaV2(@TempDir Path tmp) throws IOException {
+        var child = Files.createDirectories(tmp.resolve("child"));
+        assertThat(ThreadSizing.cpuQuota(List.of(child, tmp))).as("none").isEqualTo(-1);
+
+        Files.writeString(tmp.resolve("cpu.max"), "max 100000\n");
+        assertThat(ThreadSizing.cpuQuota(List.of(child, tmp))).as("unlimited").isEqualTo(-1);
+
+        Files.writeString(child.resolve("cpu.max"), "250000 100000\n");
+        assertThat(ThreadSizing.cpuQuota(List.of(child, tmp))).isEqualTo(2.5);
+
+        Files.writeString(child.resolve("cpu.max"), "max 100000\n");
+        Files.writeString(tmp.resolve("cpu.max"), "200000 100000\n");
+        assertThat(ThreadSizing.cpuQuota(List.of(child, tmp))).as("parent quota").isEqualTo(2);
+    }
+
+    @Test
+    void maxHeap() {
+        assertThat(ThreadSizing.maxHeap(List.of("-Xms256m", "-Xmx1g"))).isEqualTo(GB);
+        assertThat(ThreadSizing.maxHeap(List.of("-XX:MaxHeapSize=768m", "-Xmx512m"))).isEqualTo(768 * MB);
+        assertThat(ThreadSizing.maxHeap(List.of("-Dfoo=bar"))).isEqualTo(-1);
+    }
+
+    @Test
+    void memoryLimit(@TempDir Path tmp) throws IOException {
+        Files.writeString(tmp.resolve("memory.max"), "max\n");
+        assertThat(ThreadSizing.memoryLimit(List.of(tmp))).as("v2 unlimited").isEqualTo(-1);
+
+        var memory = Files.createDirectories(tmp.resolve("v1").resolve("memory"));
+        Files.writeString(memory.resolve("memory.limit_in_bytes"), "9223372036854771712\n");
+        assertThat(ThreadSizing.memoryLimit(List.of(memory))).as("v1 unlimited").isEqualTo(-1);
+
+        Files.writeString(memory.resolve("memory.limit_in_bytes"), String.valueOf(4 * GB));
+        assertThat(ThreadSizing.memoryLimit(List.of(memory))).isEqualTo(4 * GB);
+    }
+
+    @Test
+    void parseSize() {
+        assertThat(ThreadSizing.parseSize("1024")).isEqualTo(1024);
+        assertThat(ThreadSizing.parseSize("64k")).isEqualTo(64 * 1024);
+        assertThat(ThreadSizing.parseSize("512M")).isEqualTo(512 * MB);
+        assertThat(ThreadSizing.parseSize("2g")).isEqualTo(2 * GB);
+        assertThat(ThreadSizing.parseSize("foo")).isEqualTo(-1);
+        assertThat(ThreadSizing.parseSize("")).isEqualTo(-1);
+    }
+
+    @Test
+    void threads() {
+        assertThat(ThreadSizing.threads(8, -1, -1, GB, 1)).as("processors").isEqualTo(8);
+        assertThat(ThreadSizing.threads(32, 4.5, -1, GB, 1)).as("CPU quota").isEqualTo(4);
+        assertThat(ThreadSizing.threads(32, -1, 5 * GB, GB, 1)).as("memory").isEqualTo(4);
+        assertThat(ThreadSizing.threads(32, -1, 5 * GB, GB, 3)).as("processes").isEqualTo(2);
+        assertThat(ThreadSizing.threads(4, 0.5, 512 * MB, GB, 1)).as("minimum").isEqualTo(1);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThresholdTrackerTest {
+    private static PitestResult result(int killed, int survived) {
+        var result = new PitestResult();
+        for (var i = 0; i < killed + survived; i++) {
+            var status = i < killed ? PitestResult.KILLED : PitestResult.SURVIVED;
+            result.add(new PitestResult.Mutant("com.Foo", "foo", "()V", i, "M", "", status,
+                    PitestResult.Mutant.isDetected(status), List.of(), List.of(), "Foo.java"));
+        }
+        return result;
+    }
+
+    @Test
+    void maxSurviving() {
+        var tracker = new ThresholdTracker(-1, 2, -1);
+        tracker.add(result(5, 2), 7);
+        assertThat(tracker.unreachable()).isNull();
+        tracker.add(result(5, 1), 6);
+        assertThat(tracker.unreachable()).isEqualTo("Had 3 surviving mutants, but only 2 survivors allowed.");
+    }
+
+    @Test
+    void mutationThreshold() {
+        var tracker = new ThresholdTracker(80, -1, 20);
+        tracker.add(result(5, 5), 10);
+        // at most (5 + 10) / 20 = 75%
+        assertThat(tracker.unreachable()).isEqualTo("Mutation score can be at most 75, below threshold of 80.");
+
+        tracker = new ThresholdTracker(70, -1, 20);
+        tracker.add(result(5, 5), 10);
+        assertThat(tracker.unreachable()).isNull();
+    }
+
+    @Test
+    void mutationThresholdUnexpectedMutants() {
+        var tracker = new ThresholdTracker(80, -1, 20);
+        tracker.add(result(5, 6), 10);
+        assertThat(tracker.unreachable()).as("remaining no longer known").isNull();
+        tracker.add(result(0, 10), 10);
+        assertThat(tracker.unreachable()).isNull();
+    }
+
+    @Test
+    void mutationThresholdUnknownRemaining() {
+        var tracker = new ThresholdTracker(80, -1, -1);
+        tracker.add(result(0, 10), 10);
+        assertThat(tracker.unreachable()).isNull();
+    }
+}
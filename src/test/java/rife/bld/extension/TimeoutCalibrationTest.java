@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package rife.bld.extension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeoutCalibrationTest {
+    @Test
+    void loadMissing(@TempDir Path tmp) throws IOException {
+        var calibration = TimeoutCalibration.load(tmp.resolve(TimeoutCalibration.FILE_NAME));
+        assertThat(calibration.timeoutConst()).isEqualTo(TimeoutCalibration.DEFAULT_CONST);
+        assertThat(calibration.timeoutFactor()).isEqualTo(TimeoutCalibration.DEFAULT_FACTOR);
+    }
+
+    @Test
+    void saveAndLoad(@TempDir Path tmp) throws IOException {
+        var calibration = new TimeoutCalibration();
+        calibration.update(500, 1, 0);
+        calibration.update(500, 1, 1);
+        var file = tmp.resolve("reports").resolve(TimeoutCalibration.FILE_NAME);
+        calibration.save(file);
+
+        var loaded = TimeoutCalibration.load(file);
+        assertThat(loaded.timeoutConst()).isEqualTo(3000);
+        assertThat(loaded.timeoutFactor()).isEqualTo(TimeoutCalibration.DEFAULT_FACTOR);
+        loaded.update(500, 1, 0);
+        assertThat(loaded.timeoutConst()).as("floor").isEqualTo(3000);
+    }
+
+    @Test
+    void spuriousTimeouts() {
+        var previous = Map.of("a", PitestResult.KILLED, "b", PitestResult.SURVIVED, "c", PitestResult.TIMED_OUT,
+                "d", PitestResult.NO_COVERAGE);
+        var current = Map.of("a", PitestResult.TIMED_OUT, "b", PitestResult.TIMED_OUT, "c", PitestResult.TIMED_OUT,
+                "d", PitestResult.TIMED_OUT, "e", PitestResult.TIMED_OUT);
+        assertThat(TimeoutCalibration.spuriousTimeouts(previous, current)).isEqualTo(2);
+        assertThat(TimeoutCalibration.spuriousTimeouts(Map.of(), current)).as("no history").isZero();
+    }
+
+    @Test
+    void statuses(@TempDir Path tmp) throws IOException {
+        assertThat(TimeoutCalibration.statuses(tmp)).as("no report").isEmpty();
+
+        new MutationsXml().mutation("com.Foo", "KILLED").mutation("com.Foo", "TIMED_OUT").line(2)
+                .write(tmp.resolve("mutations.xml"));
+        assertThat(TimeoutCalibration.statuses(tmp)).hasSize(2)
+                .containsValues(PitestResult.KILLED, PitestResult.TIMED_OUT);
+    }
+
+    @Test
+    void update() {
+        var calibration = new TimeoutCalibration();
+        calibration.update(-1, 0, 0);
+        assertThat(calibration.timeoutConst()).as("unknown").isEqualTo(TimeoutCalibration.DEFAULT_CONST);
+
+        calibration.update(2000, 10, 0);
+        assertThat(calibration.timeoutConst()).as("minimum").isEqualTo(TimeoutCalibration.MIN_CONST);
+        calibration.update(6000, 10, 0);
+        assertThat(calibration.timeoutConst()).isEqualTo(1800);
+        calibration.update(60_000, 0, 0);
+        assertThat(calibration.timeoutConst()).as("maximum").isEqualTo(TimeoutCalibration.DEFAULT_CONST);
+
+        calibration.update(60_000, 0, 3);
+        assertThat(calibration.timeoutFactor()).as("loosened factor").isEqualTo(1.5);
+    }
+}